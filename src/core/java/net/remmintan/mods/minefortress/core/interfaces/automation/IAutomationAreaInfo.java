@@ -15,5 +15,6 @@ public interface IAutomationAreaInfo {
     ProfessionsSelectionType getAreaType();
 
     UUID getId();
+    int getVersion();
 
 }
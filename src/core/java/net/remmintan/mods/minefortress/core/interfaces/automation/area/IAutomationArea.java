@@ -12,6 +12,7 @@ public interface IAutomationArea {
     Iterator<IAutomationBlockInfo> iterator(World world);
     void update();
     LocalDateTime getUpdated();
+    IAutomationWorkQueue getWorkQueue();
     default boolean isEmpty(World world) {
         return !iterator(world).hasNext();
     }
@@ -0,0 +1,22 @@
+package net.remmintan.mods.minefortress.core.interfaces.automation.area;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IAutomationWorkQueue {
+
+    void startCycleIfExhausted(World world);
+
+    Optional<IAutomationBlockInfo> claim(World world, UUID pawnId, BlockPos pawnPos);
+
+    void release(UUID pawnId, boolean finished);
+
+    boolean hasWork();
+
+    LocalDateTime getLastClaimed();
+
+}
@@ -17,7 +17,9 @@ public interface IServerBuildingsManager extends IServerManager {
     Optional<IFortressBuilding> findNearest(BlockPos pos, String requirement);
     void addBuilding(IFortressBuilding building);
     Optional<HostileEntity> getRandomBuildingAttacker();
-    Optional<BlockPos> getFreeBed();
+    boolean hasFreeBed(UUID pawnId);
+    Optional<BlockPos> reserveBed(UUID pawnId, BlockPos pawnPos);
+    void releaseBed(UUID pawnId);
     boolean isPartOfAnyBuilding(BlockPos pos);
     boolean hasRequiredBuilding(String requirementId, int minCount);
     Optional<IFortressBuilding> getBuildingById(UUID id);
@@ -8,8 +8,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationArea;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -28,7 +28,7 @@ public interface IFortressBuilding extends IAutomationArea {
 
     BlockPos getNearestCornerXZ(BlockPos pos, World world);
 
-    Optional<BlockPos> getFreeBed(World world);
+    List<BlockPos> getFreeBeds(World world);
 
     long getBedsCount(World world);
 
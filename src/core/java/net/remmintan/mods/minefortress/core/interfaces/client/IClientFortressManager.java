@@ -16,6 +16,7 @@ import net.remmintan.mods.minefortress.core.interfaces.professions.IClientProfes
 import net.remmintan.mods.minefortress.core.interfaces.professions.IHireInfo;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IClientResourceManager;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +30,7 @@ public interface IClientFortressManager extends IFortressManager {
     void updateBuildings(List<IEssentialBuildingInfo> buildings);
 
     void setSpecialBlocks(Map<Block, List<BlockPos>> specialBlocks, Map<Block, List<BlockPos>> blueprintSpecialBlocks);
+    void updateSpecialBlocks(Map<Block, ? extends Collection<BlockPos>> added, Map<Block, ? extends Collection<BlockPos>> removed, boolean blueprint);
 
     boolean isSelectingColonist();
 
@@ -63,7 +65,7 @@ public interface IClientFortressManager extends IFortressManager {
 
     void updateRenderer(WorldRenderer worldRenderer);
 
-    List<BlockPos> getBuildingSelection(BlockPos pos);
+    Optional<IEssentialBuildingInfo> findHoveredBuilding(BlockPos pos);
 
     boolean isBuildingHovered();
 
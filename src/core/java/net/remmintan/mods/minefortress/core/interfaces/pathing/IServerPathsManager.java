@@ -0,0 +1,19 @@
+package net.remmintan.mods.minefortress.core.interfaces.pathing;
+
+import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+// the paths are shared between the pawns going from the same start region to the same goal region,
+// there are no flow fields, a hot destination is calculated once per start region
+public interface IServerPathsManager extends IServerManager {
+
+    PathRequestResult requestPath(UUID pawnId, BlockPos start, BlockPos goal);
+    List<BlockPos> getSharedPath(BlockPos start, BlockPos goal);
+    void reportPathResult(UUID pawnId, BlockPos start, BlockPos goal, @Nullable List<BlockPos> path);
+    void cancelPathRequest(UUID pawnId);
+
+}
@@ -0,0 +1,8 @@
+package net.remmintan.mods.minefortress.core.interfaces.pathing;
+
+public enum PathRequestResult {
+    CALCULATE,
+    FOLLOW,
+    WAIT,
+    UNREACHABLE
+}
@@ -16,5 +16,6 @@ public interface IClientResourceManager extends IResourceManager {
     void setItemAmount(Item item, int amount);
     int getItemAmount(Item item);
     void reset();
+    int getVersion();
 
 }
@@ -1,7 +1,13 @@
 package net.remmintan.mods.minefortress.core.interfaces.resources;
 
+import net.minecraft.item.Item;
+
+import java.util.Map;
+
 public interface IScrollableHandler {
 
     void scrollItems(float position);
+    void setRowsCount(int rowsCount);
+    void updateItemCounts(Map<Item, Integer> changedCounts);
 
 }
@@ -9,6 +9,7 @@ import java.util.UUID;
 
 public interface IServerResourceManager extends IResourceManager, IServerManager {
     void syncAll();
+    void setSyncInterval(int ticks);
 
     IItemInfo createItemInfo(Item item, int amount);
     void setItemAmount(Item item, int amount);
@@ -0,0 +1,12 @@
+package net.remmintan.mods.minefortress.core.interfaces.server;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+public interface IBlockChangeListener {
+
+    void onBlockChanged(BlockPos pos);
+    default void onChunkLoaded(ChunkPos pos) {}
+    default void onChunkUnloaded(ChunkPos pos) {}
+
+}
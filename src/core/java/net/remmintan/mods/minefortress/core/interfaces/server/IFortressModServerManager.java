@@ -3,6 +3,7 @@ package net.remmintan.mods.minefortress.core.interfaces.server;
 import net.minecraft.server.PlayerManager;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -15,8 +16,13 @@ public interface IFortressModServerManager {
     boolean isCampfireEnabled();
     boolean isBorderEnabled();
     void save();
+    void close();
     void load();
     void load(boolean campfire, boolean border);
     void tick(PlayerManager manager);
+    void onBlockChanged(BlockPos pos);
+    void onChunkLoaded(ChunkPos pos);
+    void onChunkUnloaded(ChunkPos pos);
     Optional<IServerManagersProvider> findReachableFortress(BlockPos pos, double reachRange);
+    IFortressTickProfiler getTickProfiler();
 }
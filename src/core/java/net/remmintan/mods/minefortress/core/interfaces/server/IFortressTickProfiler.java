@@ -0,0 +1,22 @@
+package net.remmintan.mods.minefortress.core.interfaces.server;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+public interface IFortressTickProfiler {
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    void reset();
+    List<ManagerTickStats> getStats();
+    Path dumpToCsv() throws IOException;
+
+    record ManagerTickStats(UUID fortressId, String manager, long calls, long totalNanos, long maxNanos) {
+        public long averageNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+    }
+
+}
@@ -11,9 +11,11 @@ import net.remmintan.mods.minefortress.core.ScreenType;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationArea;
 import net.remmintan.mods.minefortress.core.interfaces.entities.IPawnNameGenerator;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IFortressAwareEntity;
+import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IProfessional;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.ITargetedPawn;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IWorkerPawn;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,8 +43,10 @@ public interface IServerFortressManager {
     boolean isCreative();
     Optional<BlockPos> getRandomPosWithinFortress();
 
-    List<IWorkerPawn> getFreeColonists();
-    List<ITargetedPawn> getAllTargetedPawns();
+    Collection<IWorkerPawn> getFreeColonists();
+    Collection<ITargetedPawn> getAllTargetedPawns();
+    void updatePawnProfession(IProfessional pawn);
+    void updatePawnTaskState(IWorkerPawn pawn);
 
     void increaseMaxColonistsCount();
 
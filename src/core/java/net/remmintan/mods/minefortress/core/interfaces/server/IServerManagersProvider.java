@@ -5,8 +5,11 @@ import net.remmintan.mods.minefortress.core.interfaces.automation.server.IServer
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.buildings.IServerBuildingsManager;
 import net.remmintan.mods.minefortress.core.interfaces.combat.IServerFightManager;
 import net.remmintan.mods.minefortress.core.interfaces.infuence.IServerInfluenceManager;
+import net.remmintan.mods.minefortress.core.interfaces.pathing.IServerPathsManager;
 import net.remmintan.mods.minefortress.core.interfaces.professions.IServerProfessionsManager;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IServerResourceManager;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerBlocksRemovalManager;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerScaffoldsManager;
 import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerTaskManager;
 
 import java.util.Optional;
@@ -36,6 +39,15 @@ public interface IServerManagersProvider {
     default IServerFightManager getFightManager() {
         return getManager(IServerFightManager.class);
     }
+    default IServerPathsManager getPathsManager() {
+        return getManager(IServerPathsManager.class);
+    }
+    default IServerScaffoldsManager getScaffoldsManager() {
+        return getManager(IServerScaffoldsManager.class);
+    }
+    default IServerBlocksRemovalManager getBlocksRemovalManager() {
+        return getManager(IServerBlocksRemovalManager.class);
+    }
 
     <T> T getManager(Class<T> managerClass);
 
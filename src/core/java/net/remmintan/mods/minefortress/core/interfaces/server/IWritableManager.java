@@ -5,4 +5,6 @@ import net.minecraft.nbt.NbtCompound;
 public interface IWritableManager {
     void write(NbtCompound tag);
     void read(NbtCompound tag);
+    // true when the state changed since the last write, the fortress is saved only when something is dirty
+    boolean isDirty();
 }
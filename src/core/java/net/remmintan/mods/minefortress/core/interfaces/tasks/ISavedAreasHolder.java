@@ -5,9 +5,11 @@ import net.remmintan.mods.minefortress.core.interfaces.automation.IAutomationAre
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ISavedAreasHolder extends ITasksRenderInfoProvider, ITasksModelBuilderInfoProvider {
     void setSavedAreas(List<IAutomationAreaInfo> savedAreas);
+    void updateSavedAreas(List<IAutomationAreaInfo> changedAreas, List<UUID> removedAreas);
 
     Optional<IAutomationAreaInfo> getHovered(BlockPos pos);
 
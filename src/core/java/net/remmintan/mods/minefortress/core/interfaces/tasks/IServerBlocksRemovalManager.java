@@ -0,0 +1,13 @@
+package net.remmintan.mods.minefortress.core.interfaces.tasks;
+
+import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManager;
+
+import java.util.Collection;
+
+public interface IServerBlocksRemovalManager extends IServerManager {
+
+    void scheduleLogsRemoval(Collection<BlockPos> positions);
+    void scheduleLeavesRemoval(Collection<BlockPos> positions);
+
+}
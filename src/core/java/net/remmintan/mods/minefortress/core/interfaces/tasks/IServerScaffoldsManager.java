@@ -0,0 +1,14 @@
+package net.remmintan.mods.minefortress.core.interfaces.tasks;
+
+import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManager;
+
+import java.util.UUID;
+
+public interface IServerScaffoldsManager extends IServerManager {
+
+    void addScaffold(UUID ownerId, BlockPos pos);
+    void addTemporaryScaffold(BlockPos pos);
+    void releaseScaffolds(UUID ownerId);
+
+}
@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 public class ModPathUtils {
@@ -93,6 +94,34 @@ public class ModPathUtils {
         }
     }
 
+    public static void saveNbtAtomically(NbtCompound nbt, String fileName, LevelStorage.Session session) {
+        final var path = getWorldSaveDir(session).resolve(fileName);
+        final var tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            NbtIo.writeCompressed(nbt, tempPath.toFile());
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static Map<String, NbtCompound> readAllTagsByName(String folderName, LevelStorage.Session session) {
+        final var files = Optional.ofNullable(
+                getWorldSaveDir(session)
+                .resolve(folderName)
+                .toFile()
+                .listFiles()
+        ).orElse(new File[]{});
+        final var tags = new HashMap<String, NbtCompound>();
+        for (File file : files) {
+            final var name = file.getName();
+            if(file.isDirectory() || !name.endsWith(".nbt")) continue;
+            tags.put(name.substring(0, name.length() - ".nbt".length()), readNbt(file));
+        }
+        return tags;
+    }
+
     public static NbtCompound readNbt(String fileName, LevelStorage.Session session) {
         final var file = getWorldSaveDir(session).resolve(fileName).toFile();
         return readNbt(file);
@@ -7,12 +7,12 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IFortressAwareEntity;
 
+import java.util.List;
+
 public class ResourceUtils {
 
     public static void addDropToTheResourceManager(ServerWorld w, BlockPos g, IFortressAwareEntity c) {
-        final var blockState = w.getBlockState(g);
-        final var blockEntity = blockState instanceof BlockEntityProvider provider ? provider.createBlockEntity(g, blockState) : null;
-        final var drop = Block.getDroppedStacks(blockState, w, g, blockEntity);
+        final var drop = getDrops(w, g);
 
         final var provider = c.getManagersProvider().orElseThrow();
         final var manager = c.getServerFortressManager().orElseThrow();
@@ -26,4 +26,10 @@ public class ResourceUtils {
         }
     }
 
+    public static List<ItemStack> getDrops(ServerWorld w, BlockPos g) {
+        final var blockState = w.getBlockState(g);
+        final var blockEntity = blockState instanceof BlockEntityProvider provider ? provider.createBlockEntity(g, blockState) : null;
+        return Block.getDroppedStacks(blockState, w, g, blockEntity);
+    }
+
 }
@@ -0,0 +1,55 @@
+package net.remmintan.gobi.helpers;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.minefortress.benchmarks.BenchmarkBootstrap;
+import org.minefortress.benchmarks.SyntheticBlockView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeHelperBenchmark {
+
+    private static final int GROUND_LEVEL = 64;
+    private static final int TREES_GAP = 8;
+    private static final int FOREST_SIZE = 3;
+
+    @Param({"6", "24"})
+    public int treeHeight;
+
+    private SyntheticBlockView world;
+    private BlockPos root;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        world = new SyntheticBlockView();
+        final var groundSize = FOREST_SIZE * TREES_GAP;
+        world.fill(new BlockPos(-groundSize, GROUND_LEVEL - 1, -groundSize), new BlockPos(groundSize, GROUND_LEVEL - 1, groundSize), Blocks.GRASS_BLOCK.getDefaultState());
+
+        // the measured tree is surrounded by the other trees with touching canopies
+        for(int x = -FOREST_SIZE; x <= FOREST_SIZE; x++) {
+            for(int z = -FOREST_SIZE; z <= FOREST_SIZE; z++) {
+                plantTree(new BlockPos(x * TREES_GAP, GROUND_LEVEL, z * TREES_GAP));
+            }
+        }
+        root = new BlockPos(0, GROUND_LEVEL, 0);
+    }
+
+    private void plantTree(BlockPos root) {
+        final var canopyStart = root.getY() + treeHeight / 2;
+        final var top = root.getY() + treeHeight;
+        world.fill(root.add(-4, canopyStart - root.getY(), -4), new BlockPos(root.getX() + 4, top + 1, root.getZ() + 4), Blocks.OAK_LEAVES.getDefaultState());
+        world.fill(root, root.withY(top), Blocks.OAK_LOG.getDefaultState());
+    }
+
+    @Benchmark
+    public Optional<TreeBlocks> detectTree() {
+        return TreeHelper.detectTreeBlocks(root, world);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.minefortress.benchmarks;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.registry.tag.TagKey;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class BenchmarkBootstrap {
+
+    private static boolean initialized = false;
+
+    private BenchmarkBootstrap() {}
+
+    public static synchronized void initialize() {
+        if(initialized) return;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        // there are no data packs without a server, so the tags used by the benchmarked code are bound by hand
+        final var blockTags = new HashMap<TagKey<Block>, List<RegistryEntry<Block>>>();
+        bindBlocks(blockTags, BlockTags.LOGS, Blocks.OAK_LOG, Blocks.BIRCH_LOG, Blocks.SPRUCE_LOG, Blocks.JUNGLE_LOG);
+        bindBlocks(blockTags, BlockTags.LEAVES, Blocks.OAK_LEAVES, Blocks.BIRCH_LEAVES, Blocks.SPRUCE_LEAVES, Blocks.JUNGLE_LEAVES);
+        bindBlocks(blockTags, BlockTags.DIRT, Blocks.DIRT, Blocks.GRASS_BLOCK, Blocks.COARSE_DIRT);
+        bindBlocks(blockTags, BlockTags.SAND, Blocks.SAND, Blocks.RED_SAND);
+        bindBlocks(blockTags, BlockTags.BEDS, Blocks.WHITE_BED, Blocks.RED_BED);
+        Registries.BLOCK.populateTags(blockTags);
+
+        final var itemTags = new HashMap<TagKey<Item>, List<RegistryEntry<Item>>>();
+        bindItems(itemTags, ItemTags.LOGS, Items.OAK_LOG, Items.BIRCH_LOG, Items.SPRUCE_LOG, Items.JUNGLE_LOG);
+        bindItems(itemTags, ItemTags.PLANKS, Items.OAK_PLANKS, Items.BIRCH_PLANKS, Items.SPRUCE_PLANKS);
+        Registries.ITEM.populateTags(itemTags);
+
+        initialized = true;
+    }
+
+    private static void bindBlocks(Map<TagKey<Block>, List<RegistryEntry<Block>>> tags, TagKey<Block> tag, Block... blocks) {
+        tags.put(tag, Arrays.stream(blocks).map(Registries.BLOCK::getEntry).toList());
+    }
+
+    private static void bindItems(Map<TagKey<Item>, List<RegistryEntry<Item>>> tags, TagKey<Item> tag, Item... items) {
+        tags.put(tag, Arrays.stream(items).map(Registries.ITEM::getEntry).toList());
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.minefortress.benchmarks;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+
+public final class SyntheticBlockView implements BlockView {
+
+    private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+
+    public SyntheticBlockView() {
+        states.defaultReturnValue(Blocks.AIR.getDefaultState());
+    }
+
+    public void setBlockState(BlockPos pos, BlockState state) {
+        if(state.isAir()) {
+            states.remove(pos.asLong());
+        } else {
+            states.put(pos.asLong(), state);
+        }
+    }
+
+    public void fill(BlockPos from, BlockPos to, BlockState state) {
+        for(BlockPos pos : BlockPos.iterate(from, to)) {
+            setBlockState(pos, state);
+        }
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return states.get(pos.asLong());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return 384;
+    }
+
+    @Override
+    public int getBottomY() {
+        return -64;
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.minefortress.fortress.buildings;
+
+import net.minecraft.block.BedBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.enums.BedPart;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.minefortress.benchmarks.BenchmarkBootstrap;
+import org.minefortress.benchmarks.SyntheticBlockView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FortressBuildingBlockDataBenchmark {
+
+    private static final int FLOOR_LEVEL = 64;
+    private static final int HEIGHT = 10;
+    // the same amount of blocks as FortressBuilding checks per update
+    private static final int BLOCKS_PER_UPDATE = 10;
+
+    @Param({"16", "48"})
+    public int size;
+
+    private FortressBuildingBlockData blockData;
+    private SyntheticBlockView world;
+    private int blocksCount;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+
+        final var building = new HashMap<BlockPos, BlockState>();
+        for(BlockPos pos : BlockPos.iterate(0, FLOOR_LEVEL - 1, 0, size - 1, FLOOR_LEVEL + HEIGHT - 1, size - 1)) {
+            final var isWall = pos.getX() == 0 || pos.getZ() == 0 || pos.getX() == size - 1 || pos.getZ() == size - 1;
+            final var isFloor = pos.getY() == FLOOR_LEVEL;
+            if(pos.getY() < FLOOR_LEVEL) {
+                building.put(pos.toImmutable(), Blocks.DIRT.getDefaultState());
+            } else if(isWall || isFloor) {
+                building.put(pos.toImmutable(), Blocks.OAK_PLANKS.getDefaultState());
+            }
+        }
+        final var bedHead = Blocks.RED_BED.getDefaultState()
+                .with(BedBlock.FACING, Direction.NORTH)
+                .with(BedBlock.PART, BedPart.HEAD);
+        for(int x = 2; x < size - 2; x += 3) {
+            building.put(new BlockPos(x, FLOOR_LEVEL + 1, 2), bedHead);
+            building.put(new BlockPos(x, FLOOR_LEVEL + 1, 3), bedHead.with(BedBlock.PART, BedPart.FOOT));
+        }
+        blockData = new FortressBuildingBlockData(building, FLOOR_LEVEL);
+
+        world = new SyntheticBlockView();
+        final var random = new Random(42);
+        for(Map.Entry<BlockPos, BlockState> entry : building.entrySet()) {
+            // a partially destroyed building, so the repair queries have something to return
+            if(random.nextInt(10) == 0) continue;
+            world.setBlockState(entry.getKey(), entry.getValue());
+        }
+
+        blocksCount = building.size();
+        blockData.checkTheNextBlocksState(blocksCount, world);
+    }
+
+    @Benchmark
+    public boolean checkTheNextBlocksState() {
+        return blockData.checkTheNextBlocksState(BLOCKS_PER_UPDATE, world);
+    }
+
+    @Benchmark
+    public boolean checkAllBlocksState() {
+        return blockData.checkTheNextBlocksState(blocksCount, world);
+    }
+
+    @Benchmark
+    public void healthAndBeds(Blackhole blackhole) {
+        blackhole.consume(blockData.getHealth());
+        blackhole.consume(blockData.getBedsCount());
+        blackhole.consume(blockData.getFreeBeds(world));
+    }
+
+    @Benchmark
+    public Map<BlockPos, BlockState> blocksToRepair() {
+        return blockData.getAllBlockStatesToRepairTheBuilding();
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.minefortress.fortress.resources.server;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.remmintan.mods.minefortress.core.interfaces.resources.IItemInfo;
+import org.minefortress.benchmarks.BenchmarkBootstrap;
+import org.minefortress.fortress.resources.ItemInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServerResourceManagerBenchmark {
+
+    private static final UUID TASK_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private ServerResourceManager resourceManager;
+    private List<IItemInfo> exactItems;
+    private List<IItemInfo> similarItems;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        resourceManager = new ServerResourceManager();
+
+        final Item[] stock = {
+                Items.COBBLESTONE, Items.STONE, Items.GLASS, Items.TORCH, Items.DIRT,
+                Items.BIRCH_PLANKS, Items.SPRUCE_PLANKS, Items.BIRCH_LOG, Items.SPRUCE_LOG
+        };
+        for(Item item : stock) {
+            resourceManager.setItemAmount(item, 100_000);
+        }
+        // not enough of these, the rest is taken from the similar items
+        resourceManager.setItemAmount(Items.OAK_PLANKS, 16);
+        resourceManager.setItemAmount(Items.OAK_LOG, 8);
+
+        exactItems = new ArrayList<>();
+        for(Item item : new Item[] {Items.COBBLESTONE, Items.STONE, Items.GLASS, Items.TORCH, Items.DIRT}) {
+            exactItems.add(new ItemInfo(item, 64));
+        }
+
+        similarItems = new ArrayList<>(exactItems);
+        similarItems.add(new ItemInfo(Items.OAK_PLANKS, 256));
+        similarItems.add(new ItemInfo(Items.OAK_LOG, 64));
+    }
+
+    @Benchmark
+    public void reserveExactItems() {
+        resourceManager.reserveItems(TASK_ID, exactItems);
+        resourceManager.returnReservedItems(TASK_ID);
+    }
+
+    @Benchmark
+    public void reserveWithSimilarItems() {
+        resourceManager.reserveItems(TASK_ID, similarItems);
+        resourceManager.returnReservedItems(TASK_ID);
+    }
+
+}
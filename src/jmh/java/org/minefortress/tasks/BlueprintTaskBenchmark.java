@@ -0,0 +1,64 @@
+package org.minefortress.tasks;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.minefortress.benchmarks.BenchmarkBootstrap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlueprintTaskBenchmark {
+
+    private static final UUID TASK_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final int FLOOR_LEVEL = 2;
+    private static final int HEIGHT = 12;
+
+    @Param({"16", "48"})
+    public int size;
+
+    private final BlockPos start = new BlockPos(100, 64, 100);
+    private BlockPos end;
+    private Map<BlockPos, BlockState> blueprintData;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        end = start.add(size - 1, HEIGHT - 1, size - 1);
+
+        final BlockState[] palette = {
+                Blocks.OAK_PLANKS.getDefaultState(),
+                Blocks.COBBLESTONE.getDefaultState(),
+                Blocks.OAK_LOG.getDefaultState(),
+                Blocks.GLASS.getDefaultState()
+        };
+        final var random = new Random(42);
+        blueprintData = new HashMap<>();
+        for(BlockPos pos : BlockPos.iterate(BlockPos.ORIGIN, new BlockPos(size - 1, HEIGHT - 1, size - 1))) {
+            // roughly a hollow building: walls, floor and some inner details
+            final var isWall = pos.getX() == 0 || pos.getZ() == 0 || pos.getX() == size - 1 || pos.getZ() == size - 1;
+            final var isFloor = pos.getY() == FLOOR_LEVEL;
+            if(isWall || isFloor || random.nextInt(10) == 0) {
+                blueprintData.put(pos.toImmutable(), palette[random.nextInt(palette.length)]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void prepareAllParts(Blackhole blackhole) {
+        final var task = new BlueprintTask(TASK_ID, start, end, blueprintData, null, null, FLOOR_LEVEL, "benchmark", "benchmark");
+        task.prepareTask();
+        while(task.hasAvailableParts()) {
+            blackhole.consume(task.getTaskBlockInfos(task.parts.pollNearest(start)));
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.minefortress.utils;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AreasUtilsBenchmark {
+
+    private static final int BASE_HEIGHT = 64;
+
+    @Param({"16", "64"})
+    public int size;
+
+    private List<BlockPos> flatBlocks;
+    private int[] heightmap;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(42);
+        flatBlocks = new ArrayList<>(size * size);
+        heightmap = new int[size * size];
+        for(int x = 0; x < size; x++) {
+            for(int z = 0; z < size; z++) {
+                flatBlocks.add(new BlockPos(x, BASE_HEIGHT, z));
+                heightmap[x * size + z] = BASE_HEIGHT + random.nextInt(7) - 3;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BlockPos> buildAreaOnSurface() {
+        return AreasUtils.buildAnAreaOnSurfaceWithinBlocks(flatBlocks, (x, z) -> heightmap[x * size + z]);
+    }
+
+}
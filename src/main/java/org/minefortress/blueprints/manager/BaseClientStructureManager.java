@@ -5,11 +5,13 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.border.WorldBorder;
 import net.remmintan.mods.minefortress.building.BuildingHelper;
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.*;
 import net.remmintan.mods.minefortress.core.interfaces.client.IClientManagersProvider;
 import net.remmintan.mods.minefortress.core.interfaces.tasks.ITasksInformationHolder;
 import org.jetbrains.annotations.Nullable;
+import org.minefortress.fortress.FortressBorder;
 import org.minefortress.utils.ModUtils;
 
 import java.util.*;
@@ -23,6 +25,11 @@ public abstract class BaseClientStructureManager implements IStructureRenderInfo
 
     private BlockPos structureBuildPos = null;
 
+    private BlueprintFootprint footprint = null;
+    private ResourcesCheck lastResourcesCheck = null;
+    private PlacementCheck lastPlacementCheck = null;
+    private boolean placementBlocked = false;
+
     protected BaseClientStructureManager(MinecraftClient client) {
         this.client = client;
     }
@@ -33,17 +40,23 @@ public abstract class BaseClientStructureManager implements IStructureRenderInfo
         if(!isSelecting()) return;
         structureBuildPos = getSelectedPos();
         if(structureBuildPos == null) return;
-        checkNotEnoughResources();
-        checkCantBuild();
+        final var blockData = getBlockData();
+        checkNotEnoughResources(blockData);
+        checkCantBuild(blockData);
     }
     protected BlockPos getStructureBuildPos() {
         return structureBuildPos;
     }
-    private void checkNotEnoughResources() {
+    private void checkNotEnoughResources(IStructureBlockData blockData) {
         final var fortressClientManager = ((IClientManagersProvider)client).get_ClientFortressManager();
-        if(fortressClientManager.isSurvival()) {
-            final var resourceManager = fortressClientManager.getResourceManager();
-            final var stacks = getBlockData().getStacks();
+        final var survival = fortressClientManager.isSurvival();
+        final var resourceManager = fortressClientManager.getResourceManager();
+        final var check = new ResourcesCheck(blockData, survival, resourceManager.getVersion());
+        if(check.equals(lastResourcesCheck)) return;
+        lastResourcesCheck = check;
+
+        if(survival) {
+            final var stacks = blockData.getStacks();
             enoughResources = resourceManager.hasItems(stacks);
         } else {
             enoughResources = true;
@@ -54,38 +67,31 @@ public abstract class BaseClientStructureManager implements IStructureRenderInfo
         return enoughResources;
     }
 
-    private void checkCantBuild() {
+    private void checkCantBuild(IStructureBlockData blockData) {
         if(!enoughResources) {
             cantBuild = true;
             return;
         }
-        final IStructureBlockData blockData = getBlockData();
-        final Set<BlockPos> blueprintDataPositions = blockData.getLayer(BlueprintDataLayer.GENERAL)
-                .entrySet()
-                .stream()
-                .filter(entry -> !entry.getValue().isAir())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
         final int floorLevel = getSelectedStructure().getFloorLevel();
+        if(footprint == null || !footprint.matches(blockData, floorLevel)) {
+            footprint = BlueprintFootprint.of(blockData, floorLevel);
+        }
 
-        final var fortressBorder = ModUtils.getInfluenceManager().getFortressBorder();
-
-        final boolean blueprintPartInTheSurface = blueprintDataPositions.stream()
-                .filter(blockPos -> blockPos.getY() >= floorLevel)
-                .map(pos -> pos.add(structureBuildPos.down(floorLevel)))
-                .anyMatch(pos -> !BuildingHelper.canPlaceBlock(client.world, pos) ||
-                        fortressBorder.map(border -> !border.contains(pos)).orElse(false));
-
-        final boolean blueprintPartInTheAir = blueprintDataPositions.stream()
-                .filter(blockPos -> {
-                    final int y = blockPos.getY();
-                    return y<=floorLevel;
-                })
-                .map(pos -> pos.add(structureBuildPos.down(floorLevel)))
-                .anyMatch(pos -> BuildingHelper.canPlaceBlock(client.world, pos.down()) ||
-                        fortressBorder.map(border -> !border.contains(pos)).orElse(false));
+        final var fortressBorder = ModUtils.getInfluenceManager().getFortressBorder().orElse(null);
+        final var borderVersion = fortressBorder instanceof FortressBorder fb ? fb.getVersion() : 0;
+        final var check = new PlacementCheck(
+                structureBuildPos,
+                footprint,
+                fortressBorder,
+                borderVersion,
+                footprint.getChunksVersion(structureBuildPos)
+        );
+        if(!check.equals(lastPlacementCheck)) {
+            lastPlacementCheck = check;
+            placementBlocked = footprint.isBlocked(client.world, structureBuildPos, fortressBorder);
+        }
 
-        cantBuild = blueprintPartInTheSurface || blueprintPartInTheAir;
+        cantBuild = placementBlocked;
     }
 
     private IStructureBlockData getBlockData() {
@@ -150,7 +156,15 @@ public abstract class BaseClientStructureManager implements IStructureRenderInfo
         structureBuildPos = null;
         cantBuild = false;
         enoughResources = true;
+        footprint = null;
+        lastResourcesCheck = null;
+        lastPlacementCheck = null;
+        placementBlocked = false;
         getBlockDataProvider().reset();
     }
 
+    private record ResourcesCheck(IStructureBlockData blockData, boolean survival, int resourcesVersion) {}
+
+    private record PlacementCheck(BlockPos buildPos, BlueprintFootprint footprint, @Nullable WorldBorder border, int borderVersion, long chunksVersion) {}
+
 }
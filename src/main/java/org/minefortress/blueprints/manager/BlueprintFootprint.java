@@ -0,0 +1,91 @@
+package org.minefortress.blueprints.manager;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.border.WorldBorder;
+import net.remmintan.mods.minefortress.building.BuildingHelper;
+import net.remmintan.mods.minefortress.core.interfaces.blueprints.BlueprintDataLayer;
+import net.remmintan.mods.minefortress.core.interfaces.blueprints.IStructureBlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+final class BlueprintFootprint {
+
+    private final IStructureBlockData blockData;
+    private final int floorLevel;
+    private final long[] surfaceCells;
+    private final long[] floorCells;
+    private final int minX, minZ, maxX, maxZ;
+
+    private BlueprintFootprint(IStructureBlockData blockData, int floorLevel) {
+        this.blockData = blockData;
+        this.floorLevel = floorLevel;
+
+        final var surface = new LongArrayList();
+        final var floor = new LongArrayList();
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for(Map.Entry<BlockPos, BlockState> entry : blockData.getLayer(BlueprintDataLayer.GENERAL).entrySet()) {
+            final var state = entry.getValue();
+            if(state == null || state.isAir()) continue;
+            final var pos = entry.getKey();
+            final var offset = BlockPos.asLong(pos.getX(), pos.getY() - floorLevel, pos.getZ());
+            if(pos.getY() >= floorLevel) surface.add(offset);
+            if(pos.getY() <= floorLevel) floor.add(offset);
+            minX = Math.min(minX, pos.getX());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+        this.surfaceCells = surface.toLongArray();
+        this.floorCells = floor.toLongArray();
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+    }
+
+    static BlueprintFootprint of(IStructureBlockData blockData, int floorLevel) {
+        return new BlueprintFootprint(blockData, floorLevel);
+    }
+
+    boolean matches(IStructureBlockData blockData, int floorLevel) {
+        return this.blockData == blockData && this.floorLevel == floorLevel;
+    }
+
+    boolean isBlocked(World world, BlockPos buildPos, @Nullable WorldBorder border) {
+        final var pos = new BlockPos.Mutable();
+        for(long cell : surfaceCells) {
+            setWorldPos(pos, cell, buildPos);
+            if(!BuildingHelper.canPlaceBlock(world, pos) || border != null && !border.contains(pos)) return true;
+        }
+        for(long cell : floorCells) {
+            setWorldPos(pos, cell, buildPos);
+            if(border != null && !border.contains(pos)) return true;
+            if(BuildingHelper.canPlaceBlock(world, pos.move(0, -1, 0))) return true;
+        }
+        return false;
+    }
+
+    long getChunksVersion(BlockPos buildPos) {
+        if(surfaceCells.length == 0 && floorCells.length == 0) return 0;
+        return ClientChunkVersions.getMaxVersion(
+                ChunkSectionPos.getSectionCoord(buildPos.getX() + minX),
+                ChunkSectionPos.getSectionCoord(buildPos.getZ() + minZ),
+                ChunkSectionPos.getSectionCoord(buildPos.getX() + maxX),
+                ChunkSectionPos.getSectionCoord(buildPos.getZ() + maxZ)
+        );
+    }
+
+    private static void setWorldPos(BlockPos.Mutable pos, long cell, BlockPos buildPos) {
+        pos.set(
+                buildPos.getX() + BlockPos.unpackLongX(cell),
+                buildPos.getY() + BlockPos.unpackLongY(cell),
+                buildPos.getZ() + BlockPos.unpackLongZ(cell)
+        );
+    }
+
+}
@@ -173,7 +173,7 @@ public final class ClientBlueprintManager extends BaseClientStructureManager imp
         blockDataManager.setBlueprint(fileName, tag);
         blockDataManager.invalidateBlueprint(fileName);
         if(client instanceof IFortressMinecraftClient fortressClient) {
-            fortressClient.get_BlueprintRenderer().getBlueprintsModelBuilder().invalidateBlueprint(fileName);
+            fortressClient.get_BlueprintRenderer().getBlueprintsModelBuilder().updateBlueprint(fileName);
         }
     }
 
@@ -0,0 +1,42 @@
+package org.minefortress.blueprints.manager;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+public final class ClientChunkVersions {
+
+    private static final Long2LongOpenHashMap VERSIONS = new Long2LongOpenHashMap();
+    private static long lastVersion = 0;
+
+    private ClientChunkVersions() {}
+
+    public static void onBlockChanged(BlockPos pos) {
+        VERSIONS.put(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ())), ++lastVersion);
+    }
+
+    public static void onChunkLoaded(ChunkPos pos) {
+        VERSIONS.put(pos.toLong(), ++lastVersion);
+    }
+
+    public static void onChunkUnloaded(ChunkPos pos) {
+        VERSIONS.remove(pos.toLong());
+    }
+
+    public static void reset() {
+        VERSIONS.clear();
+    }
+
+    // every change gets a new highest version, so the max over an area changes whenever any chunk in it changes
+    static long getMaxVersion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        long max = 0;
+        for(int x = minChunkX; x <= maxChunkX; x++) {
+            for(int z = minChunkZ; z <= maxChunkZ; z++) {
+                max = Math.max(max, VERSIONS.get(ChunkPos.toLong(x, z)));
+            }
+        }
+        return max;
+    }
+
+}
@@ -13,7 +13,9 @@ public class CommandsManager {
             new CampfireToggleCommand(),
             new BorderToggleCommand(),
             new SpawnPawnsCommand(),
-            new WarriorsCommand()
+            new WarriorsCommand(),
+            new ResourcesSyncIntervalCommand(),
+            new FortressProfilerCommand()
     );
 
     private CommandsManager(){}
@@ -0,0 +1,84 @@
+package org.minefortress.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.remmintan.mods.minefortress.core.interfaces.server.IFortressServer;
+import net.remmintan.mods.minefortress.core.interfaces.server.IFortressTickProfiler;
+
+import java.io.IOException;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class FortressProfilerCommand extends MineFortressCommand {
+
+    private static final int MAX_SHOWN_ROWS = 10;
+
+    @Override
+    public void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+            literal("fortress").then(
+                literal("profiler")
+                    .requires(source -> source.hasPermissionLevel(2))
+                    .then(literal("start").executes(context -> {
+                        getProfiler(context).setEnabled(true);
+                        sendFeedback(context, "Fortress tick profiler started");
+                        return 1;
+                    }))
+                    .then(literal("stop").executes(context -> {
+                        getProfiler(context).setEnabled(false);
+                        sendFeedback(context, "Fortress tick profiler stopped");
+                        return 1;
+                    }))
+                    .then(literal("reset").executes(context -> {
+                        getProfiler(context).reset();
+                        sendFeedback(context, "Fortress tick profiler reset");
+                        return 1;
+                    }))
+                    .then(literal("show").executes(context -> {
+                        final var stats = getProfiler(context).getStats();
+                        if(stats.isEmpty()) {
+                            sendFeedback(context, "No fortress tick stats collected");
+                            return 0;
+                        }
+                        stats.stream().limit(MAX_SHOWN_ROWS).forEach(it -> sendFeedback(context, String.format(
+                                "%s %s: calls %d, avg %.3f ms, max %.3f ms, total %.1f ms",
+                                it.fortressId().toString().substring(0, 8),
+                                it.manager(),
+                                it.calls(),
+                                it.averageNanos() / 1_000_000.0,
+                                it.maxNanos() / 1_000_000.0,
+                                it.totalNanos() / 1_000_000.0
+                        )));
+                        return stats.size();
+                    }))
+                    .then(literal("dump").executes(context -> {
+                        try {
+                            final var file = getProfiler(context).dumpToCsv();
+                            sendFeedback(context, "Fortress tick stats saved to " + file);
+                            return 1;
+                        } catch (IOException e) {
+                            context.getSource().sendError(Text.literal("Can't save fortress tick stats: " + e.getMessage()));
+                            return 0;
+                        }
+                    }))
+            )
+        );
+    }
+
+    @Override
+    public boolean clientSided() {
+        return false;
+    }
+
+    private static IFortressTickProfiler getProfiler(CommandContext<ServerCommandSource> context) {
+        final var server = (IFortressServer) context.getSource().getServer();
+        return server.get_FortressModServerManager().getTickProfiler();
+    }
+
+    private static void sendFeedback(CommandContext<ServerCommandSource> context, String message) {
+        context.getSource().sendFeedback(() -> Text.literal(message), false);
+    }
+
+}
@@ -0,0 +1,28 @@
+package org.minefortress.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.server.command.ServerCommandSource;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class ResourcesSyncIntervalCommand extends MineFortressCommand {
+    @Override
+    public void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+            literal("fortress").then(
+                literal("resources").then(
+                    literal("syncInterval").then(argument("ticks", IntegerArgumentType.integer(1, 200))
+                        .executes(context -> {
+                            final var ticks = IntegerArgumentType.getInteger(context, "ticks");
+                            getServerManagersProvider(context).getResourceManager().setSyncInterval(ticks);
+                            return 1;
+                        })
+                    )
+                )
+            )
+        );
+    }
+
+}
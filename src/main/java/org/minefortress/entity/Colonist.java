@@ -371,6 +371,7 @@ public final class Colonist extends NamedPawnEntity implements IMinefortressEnti
             final var type = spm.getEntityTypeForProfession(professionId);
             if(type == FortressEntities.COLONIST_ENTITY_TYPE) {
                 this.dataTracker.set(PROFESSION_ID, professionId);
+                getServerFortressManager().ifPresent(m -> m.updatePawnProfession(this));
             } else if (type == FortressEntities.WARRIOR_PAWN_ENTITY_TYPE || type == FortressEntities.ARCHER_PAWN_ENTITY_TYPE) {
                 getServerFortressManager().ifPresent(m -> m.replaceColonistWithTypedPawn(this, professionId, type));
             }
@@ -87,6 +87,7 @@ public final class WarriorPawn extends TargetedPawn implements IProfessional, IW
     public void readCustomDataFromNbt(NbtCompound nbt) {
         super.readCustomDataFromNbt(nbt);
         this.dataTracker.set(WARRIOR_PROFESSION_KEY, nbt.getString(ServerProfessionManager.PROFESSION_NBT_TAG));
+        getServerFortressManager().ifPresent(it -> it.updatePawnProfession(this));
     }
 
     @Override
@@ -8,9 +8,19 @@ import baritone.api.pathing.calc.IPath;
 import baritone.api.pathing.goals.GoalNear;
 import baritone.api.utils.BetterBlockPos;
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.ai.pathing.Path;
+import net.minecraft.entity.ai.pathing.PathNode;
+import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.pathing.IServerPathsManager;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManagersProvider;
+import org.jetbrains.annotations.Nullable;
 import org.minefortress.entity.Colonist;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 import static net.remmintan.mods.minefortress.core.ModLogger.LOGGER;
 
 public class MovementHelper {
@@ -22,6 +32,10 @@ public class MovementHelper {
     private boolean stuck = false;
     private BlockPos lastPos = null;
 
+    private BlockPos pathStart = null;
+    private boolean followingSharedPath = false;
+    private boolean waitingForSharedPath = false;
+
     public MovementHelper(Colonist colonist) {
         this.colonist = colonist;
         this.baritone = colonist.getBaritone();
@@ -36,6 +50,10 @@ public class MovementHelper {
         this.lastPos = null;
         this.stuckTicks = 0;
         this.stuck = false;
+        this.pathStart = null;
+        this.followingSharedPath = false;
+        this.waitingForSharedPath = false;
+        getPathsManager().ifPresent(it -> it.cancelPathRequest(colonist.getUuid()));
         this.colonist.getNavigation().stop();
         this.baritone.getPathingBehavior().cancelEverything();
         this.baritone.getFollowProcess().cancel();
@@ -70,9 +88,96 @@ public class MovementHelper {
         if(colonist.isSleeping()) {
             colonist.wakeUp();
         }
+        startPathing();
+    }
+
+    private void startPathing() {
+        final var pathsManager = getPathsManager();
+        if(pathsManager.isEmpty()) {
+            setGoalAndPath();
+            return;
+        }
+
+        pathStart = colonist.getBlockPos();
+        requestPath(pathsManager.get());
+    }
+
+    private void requestPath(IServerPathsManager pathsManager) {
+        waitingForSharedPath = false;
+        final var result = pathsManager.requestPath(colonist.getUuid(), pathStart, workGoal);
+        switch (result) {
+            case CALCULATE -> setGoalAndPath();
+            case FOLLOW -> {
+                final var sharedPath = pathsManager.getSharedPath(pathStart, workGoal);
+                if(followSharedPath(sharedPath)) {
+                    LOGGER.debug("{} following the path to {} calculated by another pawn", getColonistName(), workGoal);
+                } else {
+                    setGoalAndPath();
+                }
+            }
+            // another pawn is calculating the path, the request is repeated in the next tick
+            case WAIT -> waitingForSharedPath = true;
+            case UNREACHABLE -> {
+                LOGGER.debug("{} the goal {} is known to be unreachable", getColonistName(), workGoal);
+                colonist.setAllowToPlaceBlockFromFarAway(true);
+            }
+        }
+    }
+
+    private boolean followSharedPath(List<BlockPos> sharedPath) {
+        if(sharedPath.isEmpty()) return false;
+        // the path starts somewhere near, so the pawn joins it at the closest position
+        final var currentPos = colonist.getBlockPos();
+        var joinIndex = -1;
+        var joinDistance = Double.MAX_VALUE;
+        for(int i = 0; i < sharedPath.size(); i++) {
+            final var distance = sharedPath.get(i).getSquaredDistance(currentPos);
+            if(distance < joinDistance) {
+                joinDistance = distance;
+                joinIndex = i;
+            }
+        }
+        if(joinDistance > 3) return false;
+
+        final var nodes = new ArrayList<PathNode>();
+        var previous = currentPos;
+        for(BlockPos pos : sharedPath.subList(joinIndex, sharedPath.size())) {
+            if(!isWalkableStep(previous, pos)) return false;
+            nodes.add(new PathNode(pos.getX(), pos.getY(), pos.getZ()));
+            previous = pos;
+        }
+
+        final var attributeSpeed = colonist.getAttributeValue(EntityAttributes.GENERIC_MOVEMENT_SPEED);
+        final var speed = attributeSpeed > 0 ? colonist.getMovementSpeed() / attributeSpeed : 1.0;
+        followingSharedPath = colonist.getNavigation().startMovingAlong(new Path(nodes, workGoal, false), speed);
+        return followingSharedPath;
+    }
+
+    // the vanilla navigation can't break or place blocks, parkour or pillar like baritone does
+    private boolean isWalkableStep(BlockPos from, BlockPos to) {
+        final var dy = to.getY() - from.getY();
+        if(Math.abs(to.getX() - from.getX()) > 1 || Math.abs(to.getZ() - from.getZ()) > 1 || dy > 1 || dy < -3)
+            return false;
+        final var world = colonist.getWorld();
+        final var below = to.down();
+        return world.getBlockState(to).getCollisionShape(world, to).isEmpty()
+                && world.getBlockState(to.up()).getCollisionShape(world, to.up()).isEmpty()
+                && !world.getBlockState(below).getCollisionShape(world, below).isEmpty();
+    }
+
+    private void setGoalAndPath() {
         baritone.getCustomGoalProcess().setGoalAndPath(new GoalNear(workGoal, (int)Colonist.WORK_REACH_DISTANCE-1));
     }
 
+    private void reportPathResult(@Nullable List<BlockPos> path) {
+        if(pathStart == null || workGoal == null) return;
+        getPathsManager().ifPresent(it -> it.reportPathResult(colonist.getUuid(), pathStart, workGoal, path));
+    }
+
+    private Optional<IServerPathsManager> getPathsManager() {
+        return colonist.getManagersProvider().map(IServerManagersProvider::getPathsManager);
+    }
+
     public void follow(LivingEntity entity, float speed) {
         this.reset();
         baritone.settings().followRadius.set(1);
@@ -92,6 +197,26 @@ public class MovementHelper {
 
     public void tick() {
         if(workGoal == null) return;
+        if(waitingForSharedPath) {
+            final var pathsManager = getPathsManager();
+            if(pathsManager.isPresent()) {
+                requestPath(pathsManager.get());
+            } else {
+                waitingForSharedPath = false;
+                setGoalAndPath();
+            }
+            if(waitingForSharedPath) return;
+        }
+        if(followingSharedPath) {
+            if(hasReachedWorkGoal()) {
+                followingSharedPath = false;
+                colonist.getNavigation().stop();
+            } else if(colonist.getNavigation().isIdle()) {
+                followingSharedPath = false;
+                // the shared path can be only the first segment of the way, baritone calculates the rest
+                setGoalAndPath();
+            }
+        }
 
         final var currentPos = colonist.getBlockPos();
         if(!hasReachedWorkGoal() && currentPos.equals(lastPos)) {
@@ -110,7 +235,7 @@ public class MovementHelper {
     }
 
     public boolean stillTryingToReachGoal() {
-        return baritone.getPathingBehavior().isPathing();
+        return waitingForSharedPath || (followingSharedPath && !colonist.getNavigation().isIdle()) || baritone.getPathingBehavior().isPathing();
     }
 
     public boolean isStuck() {
@@ -130,7 +255,9 @@ public class MovementHelper {
             }
 
             if(pathEvent == PathEvent.CALC_FINISHED_NOW_EXECUTING){
-                final var dest = baritone.getPathingBehavior().getPath().map(IPath::getDest).orElse(BetterBlockPos.ORIGIN);
+                final var path = baritone.getPathingBehavior().getPath();
+                path.ifPresent(it -> reportPathResult(List.copyOf(it.positions())));
+                final var dest = path.map(IPath::getDest).orElse(BetterBlockPos.ORIGIN);
                 if(lastDestination != null) {
                     if (dest.equals(lastDestination)) {
                         stuckCounter++;
@@ -151,6 +278,7 @@ public class MovementHelper {
 
             if(pathEvent == PathEvent.CALC_FAILED) {
                 LOGGER.debug("{} can't find path to {}", getColonistName(), workGoal);
+                reportPathResult(null);
                 MovementHelper.this.colonist.setAllowToPlaceBlockFromFarAway(true);
             }
         }
@@ -50,6 +50,11 @@ public class TaskControl implements ITaskControl {
         this.onTaskFailed = onTaskFailed;
         this.cancelled = cancelled;
         this.updateCurrentTaskDesription();
+        this.updateTaskState();
+    }
+
+    private void updateTaskState() {
+        colonist.getServerFortressManager().ifPresent(it -> it.updatePawnTaskState(colonist));
     }
 
     private void updateCurrentTaskDesription() {
@@ -75,6 +80,7 @@ public class TaskControl implements ITaskControl {
         this.blocks = null;
         this.onTaskFailed = null;
         this.cancelled = null;
+        this.updateTaskState();
     }
 
     @Override
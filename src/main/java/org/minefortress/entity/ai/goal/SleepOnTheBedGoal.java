@@ -26,12 +26,13 @@ public class SleepOnTheBedGoal extends AbstractFortressGoal {
         if(!isNight() || colonist.getTaskControl().hasTask()) return false;
         final var target = colonist.getTarget();
         if(target != null && target.isAlive()) return false;
-        getFreeBed().ifPresent(it -> bedPos = it);
-        return bedPos != null;
+        return getBuildingsManager().map(it -> it.hasFreeBed(colonist.getUuid())).orElse(false);
     }
 
     @Override
     public void start() {
+        // the bed is reserved only when the goal really starts, so stop() always releases it
+        bedPos = reserveBed().orElse(null);
         colonist.setCurrentTaskDesc("Going to sleep");
         moveToBed();
     }
@@ -68,6 +69,7 @@ public class SleepOnTheBedGoal extends AbstractFortressGoal {
     @Override
     public void stop() {
         bedPos = null;
+        getBuildingsManager().ifPresent(it -> it.releaseBed(colonist.getUuid()));
         colonist.getMovementHelper().reset();
         if(colonist.isSleeping()) {
             colonist.wakeUp();
@@ -75,11 +77,15 @@ public class SleepOnTheBedGoal extends AbstractFortressGoal {
     }
 
     @NotNull
-    private Optional<BlockPos> getFreeBed() {
+    private Optional<BlockPos> reserveBed() {
+        return getBuildingsManager().flatMap(it -> it.reserveBed(colonist.getUuid(), colonist.getBlockPos()));
+    }
+
+    @NotNull
+    private Optional<IServerBuildingsManager> getBuildingsManager() {
         return colonist
                 .getManagersProvider()
-                .map(IServerManagersProvider::getBuildingsManager)
-                .flatMap(IServerBuildingsManager::getFreeBed);
+                .map(IServerManagersProvider::getBuildingsManager);
     }
 
     private boolean isNight() {
@@ -0,0 +1,181 @@
+package org.minefortress.entity.ai.pathing;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.pathing.IServerPathsManager;
+import net.remmintan.mods.minefortress.core.interfaces.pathing.PathRequestResult;
+import net.remmintan.mods.minefortress.core.interfaces.server.IBlockChangeListener;
+import net.remmintan.mods.minefortress.core.interfaces.server.ITickableManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+public class ServerPathsManager implements IServerPathsManager, ITickableManager, IBlockChangeListener {
+
+    private static final int START_REGION_BITS = 3;
+    // the pawns sent to the same site share the path, each of them walks the last few blocks on its own
+    private static final int GOAL_REGION_BITS = 3;
+    private static final int REGION_MARGIN = 8;
+    private static final int MAX_ENTRIES = 256;
+    private static final int RESULT_TTL_TICKS = 20 * 30;
+    private static final int CALCULATION_TIMEOUT_TICKS = 20 * 5;
+
+    private final Map<PathKey, PathEntry> entries = new LinkedHashMap<>();
+    private final Map<UUID, PathKey> calculationsByPawn = new HashMap<>();
+    private int minX, minY, minZ, maxX, maxY, maxZ;
+    private long ticks = 0;
+
+    public ServerPathsManager() {
+        recalculateCoveredArea();
+    }
+
+    @Override
+    public PathRequestResult requestPath(UUID pawnId, BlockPos start, BlockPos goal) {
+        cancelPathRequest(pawnId);
+        final var key = PathKey.of(start, goal);
+        final var entry = entries.get(key);
+        // the other blocks of the goal region can still be reachable
+        final var unreachableOtherGoal = entry != null && entry.state == PathState.UNREACHABLE && !entry.goal.equals(goal);
+        if(entry != null && !entry.isExpired(ticks) && !unreachableOtherGoal) {
+            if(entry.state == PathState.UNREACHABLE) return PathRequestResult.UNREACHABLE;
+            if(entry.state == PathState.REACHABLE) return PathRequestResult.FOLLOW;
+            // only one pawn calculates the path, the others wait for its result
+            return PathRequestResult.WAIT;
+        }
+
+        if(entries.size() >= MAX_ENTRIES) {
+            final var eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        final var region = BlockBox.create(start, goal).expand(REGION_MARGIN);
+        entries.remove(key);
+        entries.put(key, new PathEntry(goal.toImmutable(), region, ticks));
+        calculationsByPawn.put(pawnId, key);
+        encompass(region);
+        return PathRequestResult.CALCULATE;
+    }
+
+    @Override
+    public List<BlockPos> getSharedPath(BlockPos start, BlockPos goal) {
+        final var entry = entries.get(PathKey.of(start, goal));
+        if(entry == null || entry.state != PathState.REACHABLE || entry.isExpired(ticks)) return Collections.emptyList();
+        return entry.path;
+    }
+
+    @Override
+    public void reportPathResult(UUID pawnId, BlockPos start, BlockPos goal, @Nullable List<BlockPos> path) {
+        final var key = calculationsByPawn.remove(pawnId);
+        if(key == null || !key.equals(PathKey.of(start, goal))) return;
+        final var entry = entries.get(key);
+        if(entry == null || entry.state != PathState.CALCULATING) return;
+        if(path == null || path.isEmpty()) {
+            entry.state = PathState.UNREACHABLE;
+        } else {
+            entry.state = PathState.REACHABLE;
+            entry.path = List.copyOf(path);
+            // the path can leave the box between the start and the goal, any change along it makes it stale
+            entry.region = encompassPath(entry.region, entry.path);
+            encompass(entry.region);
+        }
+        entry.updatedAt = ticks;
+    }
+
+    @Override
+    public void cancelPathRequest(UUID pawnId) {
+        final var key = calculationsByPawn.remove(pawnId);
+        if(key == null) return;
+        final var entry = entries.get(key);
+        // the calculation is dropped only when nobody else is calculating the same path
+        if(entry != null && entry.state == PathState.CALCULATING && !calculationsByPawn.containsValue(key)) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void tick(@Nullable ServerPlayerEntity player) {
+        ticks++;
+        if(ticks % 20 != 0) return;
+        entries.values().removeIf(it -> it.isExpired(ticks));
+        calculationsByPawn.values().removeIf(it -> !entries.containsKey(it));
+        recalculateCoveredArea();
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos pos) {
+        if(entries.isEmpty()) return;
+        if(pos.getX() < minX || pos.getY() < minY || pos.getZ() < minZ || pos.getX() > maxX || pos.getY() > maxY || pos.getZ() > maxZ) return;
+        // a calculation in progress is kept, the calculating pawns will report the new result
+        entries.values().removeIf(it -> it.state != PathState.CALCULATING && it.region.contains(pos));
+    }
+
+    private static BlockBox encompassPath(BlockBox region, List<BlockPos> path) {
+        int minX = region.getMinX(), minY = region.getMinY(), minZ = region.getMinZ();
+        int maxX = region.getMaxX(), maxY = region.getMaxY(), maxZ = region.getMaxZ();
+        for(BlockPos pos : path) {
+            minX = Math.min(minX, pos.getX() - 1);
+            minY = Math.min(minY, pos.getY() - 1);
+            minZ = Math.min(minZ, pos.getZ() - 1);
+            maxX = Math.max(maxX, pos.getX() + 1);
+            maxY = Math.max(maxY, pos.getY() + 2);
+            maxZ = Math.max(maxZ, pos.getZ() + 1);
+        }
+        return new BlockBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    private void recalculateCoveredArea() {
+        minX = minY = minZ = Integer.MAX_VALUE;
+        maxX = maxY = maxZ = Integer.MIN_VALUE;
+        for(PathEntry entry : entries.values()) {
+            encompass(entry.region);
+        }
+    }
+
+    private void encompass(BlockBox region) {
+        minX = Math.min(minX, region.getMinX());
+        minY = Math.min(minY, region.getMinY());
+        minZ = Math.min(minZ, region.getMinZ());
+        maxX = Math.max(maxX, region.getMaxX());
+        maxY = Math.max(maxY, region.getMaxY());
+        maxZ = Math.max(maxZ, region.getMaxZ());
+    }
+
+    private record PathKey(long startRegion, long goalRegion) {
+        static PathKey of(BlockPos start, BlockPos goal) {
+            return new PathKey(toRegion(start, START_REGION_BITS), toRegion(goal, GOAL_REGION_BITS));
+        }
+
+        private static long toRegion(BlockPos pos, int bits) {
+            return BlockPos.asLong(pos.getX() >> bits, pos.getY() >> bits, pos.getZ() >> bits);
+        }
+    }
+
+    private enum PathState {
+        CALCULATING,
+        REACHABLE,
+        UNREACHABLE
+    }
+
+    private static final class PathEntry {
+
+        private final BlockPos goal;
+        private BlockBox region;
+        private PathState state = PathState.CALCULATING;
+        private List<BlockPos> path = Collections.emptyList();
+        private long updatedAt;
+
+        private PathEntry(BlockPos goal, BlockBox region, long updatedAt) {
+            this.goal = goal;
+            this.region = region;
+            this.updatedAt = updatedAt;
+        }
+
+        private boolean isExpired(long ticks) {
+            final var ttl = state == PathState.CALCULATING ? CALCULATION_TIMEOUT_TICKS : RESULT_TTL_TICKS;
+            return ticks - updatedAt > ttl;
+        }
+
+    }
+
+}
@@ -1,18 +1,15 @@
 package org.minefortress.entity.ai.professions;
 
-import net.minecraft.world.World;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationArea;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
 import org.minefortress.entity.Colonist;
 
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.Optional;
 
 abstract class AbstractAutomationAreaTask implements ProfessionDailyTask{
 
     protected IAutomationArea area;
-    protected Iterator<IAutomationBlockInfo> iterator;
+    protected IAutomationBlockInfo goal;
     private long stopTime = 0L;
 
     @Override
@@ -25,17 +22,32 @@ abstract class AbstractAutomationAreaTask implements ProfessionDailyTask{
         colonist.resetControls();
         colonist.setCurrentTaskDesc(getTaskDesc());
         getArea(colonist).ifPresent(f -> this.area = f);
-        initIterator(colonist.getWorld());
+        if(this.area != null)
+            this.area.getWorkQueue().startCycleIfExhausted(colonist.getWorld());
     }
 
     @Override
     public void stop(Colonist colonist) {
         this.stopTime = colonist.getWorld().getTime();
+        if(this.area != null)
+            this.area.getWorkQueue().release(colonist.getUuid(), this.goal == null);
         this.area = null;
-        this.iterator = Collections.emptyIterator();
+        this.goal = null;
         colonist.resetControls();
     }
 
+    protected boolean claimGoal(Colonist colonist) {
+        this.goal = area
+                .getWorkQueue()
+                .claim(colonist.getWorld(), colonist.getUuid(), colonist.getBlockPos())
+                .orElse(null);
+        return this.goal != null;
+    }
+
+    protected boolean hasWork() {
+        return this.goal != null || this.area != null && this.area.getWorkQueue().hasWork();
+    }
+
     protected abstract String getAreaId();
 
     protected abstract String getTaskDesc();
@@ -44,15 +56,6 @@ abstract class AbstractAutomationAreaTask implements ProfessionDailyTask{
         return colonist.getWorld().getTime() - stopTime > 100;
     }
 
-    private void initIterator(World world) {
-        if(this.area == null) {
-            this.iterator = Collections.emptyIterator();
-        } else {
-            this.area.update();
-            this.iterator = this.area.iterator(world);
-        }
-    }
-
     private Optional<IAutomationArea> getArea(Colonist colonist) {
         return colonist
                 .getServerFortressManager()
@@ -11,7 +11,6 @@ import net.minecraft.registry.tag.FluidTags;
 import net.minecraft.util.Hand;
 import net.minecraft.world.event.GameEvent;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.AutomationActionType;
-import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
 import net.remmintan.mods.minefortress.core.utils.CoreModUtils;
 import org.minefortress.entity.Colonist;
 import org.minefortress.fortress.automation.iterators.FarmAreaIterator;
@@ -34,8 +33,6 @@ public class FarmerDailyTask extends AbstractAutomationAreaTask {
             Items.POTATO
     );
 
-    private IAutomationBlockInfo goal;
-
     @Override
     public void start(Colonist colonist) {
         super.start(colonist);
@@ -49,8 +46,7 @@ public class FarmerDailyTask extends AbstractAutomationAreaTask {
         final var movementHelper = colonist.getMovementHelper();
         if(this.goal == null) {
             do {
-                if(!this.iterator.hasNext()) return;
-                this.goal = this.iterator.next();
+                if(!claimGoal(colonist)) return;
             } while(goalAlreadyInCorrectState(colonist));
             movementHelper.goTo(goal.pos().up(), Colonist.FAST_MOVEMENT_SPEED);
         }
@@ -148,7 +144,7 @@ public class FarmerDailyTask extends AbstractAutomationAreaTask {
 
     @Override
     public boolean shouldContinue(Colonist colonist) {
-        return colonist.getWorld().isDay() && (iterator.hasNext() || this.goal != null);
+        return colonist.getWorld().isDay() && hasWork();
     }
 
     @Override
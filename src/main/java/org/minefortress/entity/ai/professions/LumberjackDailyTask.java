@@ -4,11 +4,9 @@ import net.minecraft.item.BlockItem;
 import net.minecraft.item.Items;
 import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.registry.tag.ItemTags;
-import net.minecraft.server.world.ServerWorld;
 import net.remmintan.gobi.helpers.TreeBlocks;
 import net.remmintan.gobi.helpers.TreeHelper;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.AutomationActionType;
-import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
 import net.remmintan.mods.minefortress.core.utils.CoreModUtils;
 import org.minefortress.entity.Colonist;
 import org.minefortress.fortress.resources.ItemInfo;
@@ -20,7 +18,6 @@ import java.util.Optional;
 
 public class LumberjackDailyTask extends AbstractAutomationAreaTask {
 
-    private IAutomationBlockInfo goal;
     private TreeBlocks blocks;
 
     @Override
@@ -38,10 +35,7 @@ public class LumberjackDailyTask extends AbstractAutomationAreaTask {
         if(area == null) return;
         final var movementHelper = colonist.getMovementHelper();
 
-        if(goal == null) {
-            if(!iterator.hasNext()) return;
-            goal = iterator.next();
-        }
+        if(goal == null && !claimGoal(colonist)) return;
 
         if (goal != null && movementHelper.getWorkGoal() == null) {
             movementHelper.goTo(goal.pos().up(), Colonist.FAST_MOVEMENT_SPEED);
@@ -80,14 +74,14 @@ public class LumberjackDailyTask extends AbstractAutomationAreaTask {
         final var world = colonist.getWorld();
         final var blockState = world.getBlockState(pos);
         if(blockState.isIn(BlockTags.AXE_MINEABLE)) {
-            TreeHelper.getTreeBlocks(pos, world).ifPresent(it -> this.blocks = it);
+            TreeHelper.getTreeBlocks(pos, colonist).ifPresent(it -> this.blocks = it);
             colonist.setGoal(new DigTaskBlockInfo(pos));
         } else {
             if(blocks == null) {
                 this.goal = null;
                 colonist.getMovementHelper().reset();
             } else {
-               TreeHelper.removeTheRestOfATree(colonist, blocks, (ServerWorld) world);
+               TreeHelper.removeTheRestOfATree(colonist, blocks);
                blocks = null;
             }
         }
@@ -119,12 +113,6 @@ public class LumberjackDailyTask extends AbstractAutomationAreaTask {
 
     @Override
     public boolean shouldContinue(Colonist colonist) {
-        return colonist.getWorld().isDay() && (iterator.hasNext() || this.goal != null);
-    }
-
-    @Override
-    public void stop(Colonist colonist) {
-        super.stop(colonist);
-        this.goal = null;
+        return colonist.getWorld().isDay() && hasWork();
     }
 }
@@ -1,23 +1,17 @@
 package org.minefortress.entity.ai.professions;
 
 import net.minecraft.registry.tag.FluidTags;
-import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
 import org.minefortress.entity.Colonist;
 import org.minefortress.tasks.block.info.DigTaskBlockInfo;
 
 public class MinerDailyTask extends AbstractAutomationAreaTask{
 
-    private IAutomationBlockInfo goal;
-
     @Override
     public void tick(Colonist colonist) {
         if (area == null) return;
         final var movementHelper = colonist.getMovementHelper();
 
-        if(goal == null) {
-            if(!iterator.hasNext()) return;
-            goal = iterator.next();
-        }
+        if(goal == null && !claimGoal(colonist)) return;
 
         if (goal != null && movementHelper.getWorkGoal() == null) {
             movementHelper.goTo(goal.pos().up(), Colonist.FAST_MOVEMENT_SPEED);
@@ -44,12 +38,6 @@ public class MinerDailyTask extends AbstractAutomationAreaTask{
         }
     }
 
-    @Override
-    public void stop(Colonist colonist) {
-        super.stop(colonist);
-        this.goal = null;
-    }
-
     @Override
     protected String getAreaId() {
         return "miner";
@@ -62,6 +50,6 @@ public class MinerDailyTask extends AbstractAutomationAreaTask{
 
     @Override
     public boolean shouldContinue(Colonist colonist) {
-        return colonist.getWorld().isDay() && (iterator.hasNext() || this.goal != null);
+        return colonist.getWorld().isDay() && hasWork();
     }
 }
@@ -1,8 +1,7 @@
 package org.minefortress.entity.ai.professions.fishing
 
-import net.minecraft.block.Blocks
 import net.minecraft.util.math.BlockPos
-import net.minecraft.world.Heightmap
+import net.minecraft.util.math.ChunkSectionPos
 import org.minefortress.entity.Colonist
 import java.util.*
 
@@ -11,35 +10,35 @@ const val SEARCH_RADIUS = 20
 
 fun getFisherGoal(pawn: Colonist, pivotBlock: BlockPos, predicate: (BlockPos) -> Boolean): Optional<FisherGoal> {
     val world = pawn.world
+    val cache = pawn.managersProvider.map { it.getManager(FishingSpotsCache::class.java) }.orElse(null)
+        ?: return Optional.empty()
     val randomBlock = BlockPos.iterateRandomly(world.random, SEARCH_RADIUS, pivotBlock, 1).first()
 
-    return BlockPos
-            .findClosest(randomBlock, SEARCH_RADIUS, SEARCH_RADIUS) {
-                val topY = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, it.x, it.z)
-                val newPos = BlockPos(it.x, topY-1, it.z)
-                predicate(newPos)
-            }
-            .map {
-                val topY = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, it.x, it.z)
-                BlockPos(it.x, topY-1, it.z)
-            }
-            .flatMap {
-                getFisherGoalFromWaterPos(it, pawn)
-            }
+    val minChunkX = ChunkSectionPos.getSectionCoord(randomBlock.x - SEARCH_RADIUS)
+    val maxChunkX = ChunkSectionPos.getSectionCoord(randomBlock.x + SEARCH_RADIUS)
+    val minChunkZ = ChunkSectionPos.getSectionCoord(randomBlock.z - SEARCH_RADIUS)
+    val maxChunkZ = ChunkSectionPos.getSectionCoord(randomBlock.z + SEARCH_RADIUS)
+
+    val spots = ArrayList<FisherGoal>()
+    for(chunkX in minChunkX..maxChunkX) {
+        for(chunkZ in minChunkZ..maxChunkZ) {
+            cache.getSpots(world, chunkX, chunkZ)
+                .filterTo(spots) {
+                    Math.abs(it.waterPos.x - randomBlock.x) <= SEARCH_RADIUS &&
+                            Math.abs(it.waterPos.z - randomBlock.z) <= SEARCH_RADIUS
+                }
+        }
+    }
+
+    return Optional.ofNullable(
+        spots
+            .sortedBy { horizontalSquaredDistance(it.waterPos, randomBlock) }
+            .firstOrNull { predicate(it.waterPos) }
+    )
 }
 
-private fun getFisherGoalFromWaterPos(waterPos: BlockPos, pawn: Colonist): Optional<FisherGoal> {
-    val world = pawn.world
-    return BlockPos
-            .findClosest(waterPos, SEARCH_RADIUS, SEARCH_RADIUS) {
-                val immutablePos = it.toImmutable()
-                val state = world.getBlockState(immutablePos)
-                val aboveState = world.getBlockState(immutablePos.up())
-                val aboveState2 = world.getBlockState(immutablePos.up(2))
-
-                !state.isAir && aboveState.isAir && aboveState2.isAir&& !state.isOf(Blocks.WATER)
-            }
-            .map {
-                FisherGoal(waterPos, it)
-            }
-}
\ No newline at end of file
+private fun horizontalSquaredDistance(a: BlockPos, b: BlockPos): Int {
+    val dx = a.x - b.x
+    val dz = a.z - b.z
+    return dx * dx + dz * dz
+}
@@ -0,0 +1,96 @@
+package org.minefortress.entity.ai.professions.fishing
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
+import net.minecraft.block.Blocks
+import net.minecraft.util.math.BlockPos
+import net.minecraft.util.math.ChunkPos
+import net.minecraft.util.math.ChunkSectionPos
+import net.minecraft.world.Heightmap
+import net.minecraft.world.World
+import net.remmintan.mods.minefortress.core.interfaces.server.IBlockChangeListener
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManager
+
+class FishingSpotsCache : IServerManager, IBlockChangeListener {
+
+    private val spotsByChunk = Long2ObjectOpenHashMap<List<FisherGoal>>()
+
+    fun getSpots(world: World, chunkX: Int, chunkZ: Int): List<FisherGoal> {
+        if(!world.isChunkLoaded(chunkX, chunkZ)) return emptyList()
+        val chunkKey = ChunkPos.toLong(chunkX, chunkZ)
+        spotsByChunk[chunkKey]?.let { return it }
+
+        if(spotsByChunk.size >= MAX_CACHED_CHUNKS) spotsByChunk.clear()
+        val spots = findSpots(world, chunkX, chunkZ)
+        spotsByChunk[chunkKey] = spots
+        return spots
+    }
+
+    override fun onBlockChanged(pos: BlockPos) {
+        if(spotsByChunk.isEmpty()) return
+        // the spots of a chunk depend on the columns around its water
+        val minChunkX = ChunkSectionPos.getSectionCoord(pos.x - SHORE_DISTANCE)
+        val maxChunkX = ChunkSectionPos.getSectionCoord(pos.x + SHORE_DISTANCE)
+        val minChunkZ = ChunkSectionPos.getSectionCoord(pos.z - SHORE_DISTANCE)
+        val maxChunkZ = ChunkSectionPos.getSectionCoord(pos.z + SHORE_DISTANCE)
+        for(x in minChunkX..maxChunkX)
+            for(z in minChunkZ..maxChunkZ)
+                spotsByChunk.remove(ChunkPos.toLong(x, z))
+    }
+
+    override fun onChunkLoaded(pos: ChunkPos) {
+        if(spotsByChunk.isEmpty()) return
+        // the neighbours were searched without the shore in this chunk
+        for(x in pos.x - 1..pos.x + 1)
+            for(z in pos.z - 1..pos.z + 1)
+                spotsByChunk.remove(ChunkPos.toLong(x, z))
+    }
+
+    override fun onChunkUnloaded(pos: ChunkPos) {
+        spotsByChunk.remove(pos.toLong())
+    }
+
+    private fun findSpots(world: World, chunkX: Int, chunkZ: Int): List<FisherGoal> {
+        val spots = ArrayList<FisherGoal>()
+        val startX = ChunkSectionPos.getBlockCoord(chunkX)
+        val startZ = ChunkSectionPos.getBlockCoord(chunkZ)
+        for(x in startX until startX + 16) {
+            for(z in startZ until startZ + 16) {
+                val waterPos = getSurface(world, x, z)
+                if(!world.getBlockState(waterPos).isOf(Blocks.WATER)) continue
+                findStandingGround(world, x, z)?.let { spots.add(FisherGoal(waterPos, it)) }
+            }
+        }
+        return spots
+    }
+
+    private fun findStandingGround(world: World, waterX: Int, waterZ: Int): BlockPos? {
+        for((offsetX, offsetZ) in SHORE_OFFSETS) {
+            val x = waterX + offsetX
+            val z = waterZ + offsetZ
+            if(!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z))) continue
+            val pos = getSurface(world, x, z)
+            val state = world.getBlockState(pos)
+            if(state.isAir || state.isOf(Blocks.WATER)) continue
+            if(world.getBlockState(pos.up()).isAir && world.getBlockState(pos.up(2)).isAir)
+                return pos
+        }
+        return null
+    }
+
+    private fun getSurface(world: World, x: Int, z: Int): BlockPos {
+        val topY = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z)
+        return BlockPos(x, topY - 1, z)
+    }
+
+    private companion object {
+        // how far from the water the fisher is allowed to stand
+        const val SHORE_DISTANCE = 2
+        const val MAX_CACHED_CHUNKS = 1024
+
+        val SHORE_OFFSETS = (-SHORE_DISTANCE..SHORE_DISTANCE)
+            .flatMap { x -> (-SHORE_DISTANCE..SHORE_DISTANCE).map { z -> Pair(x, z) } }
+            .filter { it.first != 0 || it.second != 0 }
+            .sortedBy { it.first * it.first + it.second * it.second }
+    }
+
+}
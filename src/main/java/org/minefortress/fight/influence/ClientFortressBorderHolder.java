@@ -1,8 +1,8 @@
 package org.minefortress.fight.influence;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.border.WorldBorder;
-import org.jetbrains.annotations.NotNull;
 import org.minefortress.fortress.FortressBorder;
 import org.minefortress.utils.ModUtils;
 
@@ -10,18 +10,32 @@ import java.util.*;
 
 public class ClientFortressBorderHolder extends BaseFortressBorderHolder {
     private final ClientInfluenceManager clientInfluenceManager;
-    private final List<BlockPos> allInfluencePositions = new ArrayList<>();
 
-    private WorldBorder fortressBorder;
+    private final FortressBorder fortressBorder = new FortressBorder();
+    private FortressBorder previewBorder;
+    private long previewCell;
 
     public ClientFortressBorderHolder(ClientInfluenceManager clientInfluenceManager) {
         this.clientInfluenceManager = clientInfluenceManager;
     }
 
     public void syncInfluencePositions(List<BlockPos> positions) {
-        allInfluencePositions.clear();
-        allInfluencePositions.addAll(positions);
-        rebuildFortressBorder();
+        final var newCells = new LongOpenHashSet();
+        for(BlockPos pos : positions) {
+            newCells.add(getCellKey(pos));
+        }
+
+        final var currentCells = fortressBorder.getCells();
+        if(currentCells.equals(newCells)) return;
+
+        for(long cell : currentCells) {
+            if(!newCells.contains(cell))
+                fortressBorder.removeCell(FortressBorder.getCellX(cell), FortressBorder.getCellZ(cell));
+        }
+        for(long cell : newCells) {
+            if(!currentCells.contains(cell))
+                fortressBorder.addCell(FortressBorder.getCellX(cell), FortressBorder.getCellZ(cell));
+        }
     }
 
     public Optional<WorldBorder> getFortressBorder() {
@@ -31,58 +45,33 @@ public class ClientFortressBorderHolder extends BaseFortressBorderHolder {
             if(posAppropriateForCenter == null) {
                 return Optional.empty();
             }
-            return getWorldBorder(Collections.singletonList(posAppropriateForCenter), true);
+            return Optional.of(getPreviewBorder(posAppropriateForCenter));
         }
         final var selecting = clientInfluenceManager.isSelecting();
         if(selecting) {
             return clientInfluenceManager
                     .getStructureRenderPos()
-                    .flatMap(it -> getWorldBorder(Collections.singletonList(it), true));
+                    .map(this::getPreviewBorder);
         }
-        return Optional.ofNullable(fortressBorder);
-    }
-
-    private void rebuildFortressBorder() {
-        final var positionsForBorder = new ArrayList<>(allInfluencePositions);
-        fortressBorder = getWorldBorder(positionsForBorder).orElse(null);
-    }
-
-    @NotNull
-    private static Optional<WorldBorder> getWorldBorder(List<BlockPos> pos) {
-        return getWorldBorder(pos, false);
+        return fortressBorder.isEmpty() ? Optional.empty() : Optional.of(fortressBorder);
     }
 
-    @NotNull
-    private static Optional<WorldBorder> getWorldBorder(List<BlockPos> positions, boolean dynamicState) {
-        if(positions != null && !positions.isEmpty()) {
-            final var posQueue = new ArrayDeque<>(positions);
-
-            BlockPos mainPos = posQueue.poll();
-            if(mainPos == null) {
-                return Optional.empty();
-            }
-            final var border = new FortressBorder();
-            createBorder(border, mainPos);
-            if (dynamicState) {
-                border.enableDynamicStage();
-            }
-            posQueue.forEach(pos -> border.addAdditionalBorder(createBorder(pos)));
-
-            return Optional.of(border);
-        } else {
-            return Optional.empty();
+    private WorldBorder getPreviewBorder(BlockPos pos) {
+        final var cell = getCellKey(pos);
+        if(previewBorder == null || previewCell != cell) {
+            previewBorder = new FortressBorder();
+            previewBorder.addCell(FortressBorder.getCellX(cell), FortressBorder.getCellZ(cell));
+            previewBorder.enableDynamicStage();
+            previewCell = cell;
         }
+        return previewBorder;
     }
 
-    private static WorldBorder createBorder(BlockPos center) {
-        final var border = new WorldBorder();
-        createBorder(border, center);
-        return border;
-    }
-
-    private static void createBorder(WorldBorder border, BlockPos center) {
-        final BlockPos adjustedPos = alignToAGrid(center);
-        border.setCenter(adjustedPos.getX(), adjustedPos.getZ());
-        border.setSize(FORTRESS_BORDER_SIZE);
+    private static long getCellKey(BlockPos pos) {
+        final BlockPos adjustedPos = alignToAGrid(pos);
+        return FortressBorder.getCellKey(
+                Math.floorDiv(adjustedPos.getX(), FORTRESS_BORDER_SIZE),
+                Math.floorDiv(adjustedPos.getZ(), FORTRESS_BORDER_SIZE)
+        );
     }
 }
@@ -35,6 +35,7 @@ public class ServerInfluenceManager implements IServerInfluenceManager, ITickabl
     private final ServerFortressBorderHolder fortressBorderHolder = new ServerFortressBorderHolder();
 
     private final ServerFortressManager serverFortressManager;
+    private boolean dirty = false;
 
     public ServerInfluenceManager(ServerFortressManager serverFortressManager) {
         this.serverFortressManager = serverFortressManager;
@@ -72,6 +73,7 @@ public class ServerInfluenceManager implements IServerInfluenceManager, ITickabl
 
     public void addInfluencePosition(BlockPos pos) {
         allInfluencePositions.add(pos);
+        dirty = true;
         synchronizer.scheduleSync();
     }
 
@@ -97,6 +99,12 @@ public class ServerInfluenceManager implements IServerInfluenceManager, ITickabl
         nbt.put("positions", list);
 
         tag.put("influenceManager", nbt);
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
     }
 
     @Override
@@ -0,0 +1,46 @@
+package org.minefortress.fortress;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.remmintan.mods.minefortress.core.interfaces.buildings.IEssentialBuildingInfo;
+import org.jetbrains.annotations.Nullable;
+import org.minefortress.utils.BlockUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BuildingsSpatialIndex {
+
+    private final Long2ObjectMap<List<IEssentialBuildingInfo>> buildingsByChunk = new Long2ObjectOpenHashMap<>();
+
+    BuildingsSpatialIndex(List<IEssentialBuildingInfo> buildings) {
+        for(IEssentialBuildingInfo building : buildings) {
+            final var start = building.getStart();
+            final var end = building.getEnd();
+            final var minChunkX = Math.min(start.getX(), end.getX()) >> 4;
+            final var maxChunkX = Math.max(start.getX(), end.getX()) >> 4;
+            final var minChunkZ = Math.min(start.getZ(), end.getZ()) >> 4;
+            final var maxChunkZ = Math.max(start.getZ(), end.getZ()) >> 4;
+            for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for(int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    buildingsByChunk
+                            .computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ), k -> new ArrayList<>())
+                            .add(building);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    IEssentialBuildingInfo find(BlockPos pos) {
+        final var candidates = buildingsByChunk.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if(candidates == null) return null;
+        for(IEssentialBuildingInfo building : candidates) {
+            if(BlockUtils.isPosBetween(pos, building.getStart(), building.getEnd())) return building;
+        }
+        return null;
+    }
+
+}
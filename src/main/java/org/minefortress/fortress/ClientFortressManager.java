@@ -33,12 +33,9 @@ import org.minefortress.professions.ClientProfessionManager;
 import org.minefortress.professions.hire.ClientHireHandler;
 import org.minefortress.renderer.gui.fortress.RepairBuildingScreen;
 import org.minefortress.renderer.gui.hire.HirePawnScreen;
-import org.minefortress.utils.BlockUtils;
 import org.minefortress.utils.ModUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 public final class ClientFortressManager implements IClientFortressManager {
 
@@ -64,6 +61,7 @@ public final class ClientFortressManager implements IClientFortressManager {
     private LivingEntity selectedPawn;
 
     private List<IEssentialBuildingInfo> buildings = new ArrayList<>();
+    private BuildingsSpatialIndex buildingsIndex = new BuildingsSpatialIndex(Collections.emptyList());
     private Map<Block, List<BlockPos>> specialBlocks = new HashMap<>();
     private Map<Block, List<BlockPos>> blueprintsSpecialBlocks = new HashMap<>();
 
@@ -107,6 +105,7 @@ public final class ClientFortressManager implements IClientFortressManager {
     @Override
     public void updateBuildings(List<IEssentialBuildingInfo> buildings) {
         this.buildings = buildings;
+        this.buildingsIndex = new BuildingsSpatialIndex(buildings);
     }
 
     @Override
@@ -115,6 +114,23 @@ public final class ClientFortressManager implements IClientFortressManager {
         this.blueprintsSpecialBlocks = blueprintSpecialBlocks;
     }
 
+    @Override
+    public void updateSpecialBlocks(Map<Block, ? extends Collection<BlockPos>> added, Map<Block, ? extends Collection<BlockPos>> removed, boolean blueprint) {
+        final var blocks = blueprint ? blueprintsSpecialBlocks : specialBlocks;
+        removed.forEach((block, positions) -> {
+            final var existing = blocks.get(block);
+            if(existing == null) return;
+            existing.removeAll(positions);
+            if(existing.isEmpty()) blocks.remove(block);
+        });
+        added.forEach((block, positions) -> {
+            final var existing = blocks.computeIfAbsent(block, k -> new ArrayList<>());
+            for(BlockPos pos : positions) {
+                if(!existing.contains(pos)) existing.add(pos);
+            }
+        });
+    }
+
     @Override
     public boolean isSelectingColonist() {
         return selectedPawn != null && state == FortressState.BUILD;
@@ -263,20 +279,9 @@ public final class ClientFortressManager implements IClientFortressManager {
     }
 
     @Override
-    public List<BlockPos> getBuildingSelection(BlockPos pos) {
-        for(IEssentialBuildingInfo building : buildings){
-            final BlockPos start = building.getStart();
-            final BlockPos end = building.getEnd();
-            if(BlockUtils.isPosBetween(pos, start, end)){
-                hoveredBuilding = building;
-                return StreamSupport
-                        .stream(BlockPos.iterate(start, end).spliterator(), false)
-                        .map(BlockPos::toImmutable)
-                        .collect(Collectors.toList());
-            }
-        }
-        hoveredBuilding = null;
-        return Collections.emptyList();
+    public Optional<IEssentialBuildingInfo> findHoveredBuilding(BlockPos pos) {
+        hoveredBuilding = buildingsIndex.find(pos);
+        return Optional.ofNullable(hoveredBuilding);
     }
 
     @Override
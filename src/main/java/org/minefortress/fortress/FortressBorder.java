@@ -1,50 +1,116 @@
 package org.minefortress.fortress;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.world.border.WorldBorder;
 import net.minecraft.world.border.WorldBorderStage;
-import org.jetbrains.annotations.Nullable;
 import org.minefortress.utils.ModUtils;
 
 import java.util.*;
 
+import static org.minefortress.fight.influence.BaseFortressBorderHolder.FORTRESS_BORDER_SIZE;
+
 public final class FortressBorder extends WorldBorder {
 
+    private static final Direction[] HORIZONTAL_DIRECTIONS = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
+
     private boolean hasDynamicStage = false;
-    private final Set<WorldBorder> additionalBorders = new HashSet<>();
-    private final List<BoundPosition> uniqueBorders = new ArrayList<>();
-
-    public void addAdditionalBorder(WorldBorder worldBorder) {
-        additionalBorders.add(worldBorder);
-        recalculateUniqueBorders();
-    }
-
-    private void recalculateUniqueBorders() {
-        uniqueBorders.clear();
-        final var thisBorderPositions = Arrays.asList(
-                new BoundPosition(getBoundWest(), getCenterZ()),
-                new BoundPosition(getBoundEast(), getCenterZ()),
-                new BoundPosition(getCenterX(), getBoundNorth()),
-                new BoundPosition(getCenterX(), getBoundSouth())
-        );
-        final var nonUniqueBorders = new ArrayList<>(thisBorderPositions);
-
-        for (WorldBorder additionalBorder : additionalBorders) {
-            nonUniqueBorders.add(new BoundPosition(additionalBorder.getBoundWest(), additionalBorder.getCenterZ()));
-            nonUniqueBorders.add(new BoundPosition(additionalBorder.getBoundEast(), additionalBorder.getCenterZ()));
-            nonUniqueBorders.add(new BoundPosition(additionalBorder.getCenterX(), additionalBorder.getBoundNorth()));
-            nonUniqueBorders.add(new BoundPosition(additionalBorder.getCenterX(), additionalBorder.getBoundSouth()));
+
+    private BitSet cells = new BitSet();
+    private int minCellX = 0;
+    private int minCellZ = 0;
+    private int width = 0;
+    private int depth = 0;
+    private int cellsCount = 0;
+    private int version = 0;
+
+    private int boundsMinCellX = Integer.MAX_VALUE;
+    private int boundsMinCellZ = Integer.MAX_VALUE;
+    private int boundsMaxCellX = Integer.MIN_VALUE;
+    private int boundsMaxCellZ = Integer.MIN_VALUE;
+
+    private final Set<BorderEdge> outline = new LinkedHashSet<>();
+
+    public static int getCell(int blockCoordinate) {
+        return Math.floorDiv(blockCoordinate, FORTRESS_BORDER_SIZE);
+    }
+
+    public boolean addCell(int cellX, int cellZ) {
+        if(containsCell(cellX, cellZ)) return false;
+        ensureCapacity(cellX, cellZ);
+        cells.set(getIndex(cellX, cellZ));
+        cellsCount++;
+        version++;
+        for(Direction direction : HORIZONTAL_DIRECTIONS) {
+            final var neighbourX = cellX + direction.getOffsetX();
+            final var neighbourZ = cellZ + direction.getOffsetZ();
+            if(containsCell(neighbourX, neighbourZ)) {
+                outline.remove(new BorderEdge(neighbourX, neighbourZ, direction.getOpposite()));
+            } else {
+                outline.add(new BorderEdge(cellX, cellZ, direction));
+            }
         }
+        updateBounds();
+        return true;
+    }
 
-        nonUniqueBorders.removeIf(it -> Collections.frequency(nonUniqueBorders, it) > 1);
+    public boolean removeCell(int cellX, int cellZ) {
+        if(!containsCell(cellX, cellZ)) return false;
+        cells.clear(getIndex(cellX, cellZ));
+        cellsCount--;
+        version++;
+        for(Direction direction : HORIZONTAL_DIRECTIONS) {
+            final var neighbourX = cellX + direction.getOffsetX();
+            final var neighbourZ = cellZ + direction.getOffsetZ();
+            if(containsCell(neighbourX, neighbourZ)) {
+                outline.add(new BorderEdge(neighbourX, neighbourZ, direction.getOpposite()));
+            } else {
+                outline.remove(new BorderEdge(cellX, cellZ, direction));
+            }
+        }
+        updateBounds();
+        return true;
+    }
 
-        uniqueBorders.addAll(nonUniqueBorders);
+    public boolean containsCell(int cellX, int cellZ) {
+        final var localX = cellX - minCellX;
+        final var localZ = cellZ - minCellZ;
+        if(localX < 0 || localZ < 0 || localX >= width || localZ >= depth) return false;
+        return cells.get(localX * depth + localZ);
     }
 
-    public boolean shouldRenderBound(@Nullable Double boundX, @Nullable Double boundZ) {
-        return additionalBorders.isEmpty() ||
-                boundX != null && boundZ != null &&
-                uniqueBorders.contains(new BoundPosition(boundX, boundZ));
+    public LongSet getCells() {
+        final var cellKeys = new LongOpenHashSet(cellsCount);
+        for(int index = cells.nextSetBit(0); index >= 0; index = cells.nextSetBit(index + 1)) {
+            cellKeys.add(getCellKey(minCellX + index / depth, minCellZ + index % depth));
+        }
+        return cellKeys;
+    }
+
+    public static long getCellKey(int cellX, int cellZ) {
+        return (long) cellX & 0xFFFFFFFFL | ((long) cellZ & 0xFFFFFFFFL) << 32;
+    }
+
+    public static int getCellX(long cellKey) {
+        return (int) (cellKey & 0xFFFFFFFFL);
+    }
+
+    public static int getCellZ(long cellKey) {
+        return (int) (cellKey >>> 32 & 0xFFFFFFFFL);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return cellsCount == 0;
+    }
+
+    public Collection<BorderEdge> getOutline() {
+        return Collections.unmodifiableSet(outline);
     }
 
     @Override
@@ -62,25 +128,94 @@ public final class FortressBorder extends WorldBorder {
 
     @Override
     public boolean contains(BlockPos pos) {
-        if(super.contains(pos)) {
-            return true;
-        }
-        final var ab = this.getAdditionalBorders();
-        for (WorldBorder additionalBorder : ab) {
-            if(additionalBorder.contains(pos)) {
-                return true;
-            }
-        }
-        return false;
+        return containsCell(getCell(pos.getX()), getCell(pos.getZ()));
+    }
+
+    @Override
+    public double getBoundWest() {
+        return cellsCount == 0 ? super.getBoundWest() : (double) boundsMinCellX * FORTRESS_BORDER_SIZE;
+    }
+
+    @Override
+    public double getBoundEast() {
+        return cellsCount == 0 ? super.getBoundEast() : (double) (boundsMaxCellX + 1) * FORTRESS_BORDER_SIZE;
+    }
+
+    @Override
+    public double getBoundNorth() {
+        return cellsCount == 0 ? super.getBoundNorth() : (double) boundsMinCellZ * FORTRESS_BORDER_SIZE;
+    }
+
+    @Override
+    public double getBoundSouth() {
+        return cellsCount == 0 ? super.getBoundSouth() : (double) (boundsMaxCellZ + 1) * FORTRESS_BORDER_SIZE;
     }
 
     public void enableDynamicStage() {
         this.hasDynamicStage = true;
     }
 
-    public Set<WorldBorder> getAdditionalBorders() {
-        return Collections.unmodifiableSet(additionalBorders);
+    private int getIndex(int cellX, int cellZ) {
+        return (cellX - minCellX) * depth + (cellZ - minCellZ);
     }
 
-    private record BoundPosition(double x, double z) {}
+    private void ensureCapacity(int cellX, int cellZ) {
+        if(width > 0 && cellX >= minCellX && cellZ >= minCellZ && cellX < minCellX + width && cellZ < minCellZ + depth) return;
+
+        final var newMinCellX = width == 0 ? cellX : Math.min(minCellX, cellX);
+        final var newMinCellZ = depth == 0 ? cellZ : Math.min(minCellZ, cellZ);
+        final var newMaxCellX = width == 0 ? cellX : Math.max(minCellX + width - 1, cellX);
+        final var newMaxCellZ = depth == 0 ? cellZ : Math.max(minCellZ + depth - 1, cellZ);
+        final var newWidth = newMaxCellX - newMinCellX + 1;
+        final var newDepth = newMaxCellZ - newMinCellZ + 1;
+
+        final var newCells = new BitSet(newWidth * newDepth);
+        for(int index = cells.nextSetBit(0); index >= 0; index = cells.nextSetBit(index + 1)) {
+            final var x = minCellX + index / depth;
+            final var z = minCellZ + index % depth;
+            newCells.set((x - newMinCellX) * newDepth + (z - newMinCellZ));
+        }
+
+        this.cells = newCells;
+        this.minCellX = newMinCellX;
+        this.minCellZ = newMinCellZ;
+        this.width = newWidth;
+        this.depth = newDepth;
+    }
+
+    private void updateBounds() {
+        boundsMinCellX = Integer.MAX_VALUE;
+        boundsMinCellZ = Integer.MAX_VALUE;
+        boundsMaxCellX = Integer.MIN_VALUE;
+        boundsMaxCellZ = Integer.MIN_VALUE;
+        for(int index = cells.nextSetBit(0); index >= 0; index = cells.nextSetBit(index + 1)) {
+            final var x = minCellX + index / depth;
+            final var z = minCellZ + index % depth;
+            boundsMinCellX = Math.min(boundsMinCellX, x);
+            boundsMinCellZ = Math.min(boundsMinCellZ, z);
+            boundsMaxCellX = Math.max(boundsMaxCellX, x);
+            boundsMaxCellZ = Math.max(boundsMaxCellZ, z);
+        }
+    }
+
+    public record BorderEdge(int cellX, int cellZ, Direction side) {
+
+        public double getBound() {
+            return switch (side) {
+                case WEST -> (double) cellX * FORTRESS_BORDER_SIZE;
+                case EAST -> (double) (cellX + 1) * FORTRESS_BORDER_SIZE;
+                case NORTH -> (double) cellZ * FORTRESS_BORDER_SIZE;
+                default -> (double) (cellZ + 1) * FORTRESS_BORDER_SIZE;
+            };
+        }
+
+        public double getFrom() {
+            return side.getAxis() == Direction.Axis.X ? (double) cellZ * FORTRESS_BORDER_SIZE : (double) cellX * FORTRESS_BORDER_SIZE;
+        }
+
+        public double getTo() {
+            return getFrom() + FORTRESS_BORDER_SIZE;
+        }
+
+    }
 }
@@ -0,0 +1,224 @@
+package org.minefortress.fortress;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.remmintan.mods.minefortress.core.interfaces.server.IBlockChangeListener;
+import net.remmintan.mods.minefortress.networking.helpers.FortressChannelNames;
+import net.remmintan.mods.minefortress.networking.helpers.FortressServerNetworkHelper;
+import net.remmintan.mods.minefortress.networking.s2c.ClientboundSyncSpecialBlocksPacket;
+import net.remmintan.mods.minefortress.networking.s2c.S2CUpdateSpecialBlocksPacket;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+public final class FortressSpecialBlocks implements IBlockChangeListener {
+
+    private static final int AUDIT_INTERVAL_TICKS = 20;
+    private static final int AUDIT_BLOCKS_PER_RUN = 16;
+
+    private final Supplier<World> overworldSupplier;
+    private final TrackedBlocks basic = new TrackedBlocks();
+    private final TrackedBlocks blueprints = new TrackedBlocks();
+
+    private boolean needFullSync = true;
+    private boolean dirty = false;
+    private long ticks = 0;
+    private long[] auditQueue = new long[0];
+    private int auditIndex = 0;
+
+    FortressSpecialBlocks(Supplier<World> overworldSupplier) {
+        this.overworldSupplier = overworldSupplier;
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos pos) {
+        final var world = overworldSupplier.get();
+        if(world != null) validate(world, pos);
+    }
+
+    void add(Block block, BlockPos pos, boolean blueprint) {
+        getBlocks(blueprint).add(block, pos.toImmutable());
+        dirty = true;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    List<BlockPos> get(Block block, boolean blueprint) {
+        return getBlocks(blueprint).positionsByBlock.getOrDefault(block, Collections.emptyList());
+    }
+
+    void scheduleFullSync() {
+        needFullSync = true;
+    }
+
+    void tick(@Nullable World world) {
+        // block changes are tracked from the world events, this is only a safety net for the changes we didn't see
+        if(++ticks % AUDIT_INTERVAL_TICKS != 0 || world == null || world.getRegistryKey() != World.OVERWORLD) return;
+        if(auditIndex >= auditQueue.length) {
+            final var positions = new LongArrayList(basic.blocksByPos.keySet());
+            positions.addAll(blueprints.blocksByPos.keySet());
+            auditQueue = positions.toLongArray();
+            auditIndex = 0;
+        }
+
+        final var end = Math.min(auditQueue.length, auditIndex + AUDIT_BLOCKS_PER_RUN);
+        final var pos = new BlockPos.Mutable();
+        for(; auditIndex < end; auditIndex++) {
+            pos.set(auditQueue[auditIndex]);
+            if(!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ())))
+                continue;
+            validate(world, pos);
+        }
+    }
+
+    void sync(ServerPlayerEntity player) {
+        if(needFullSync) {
+            final var packet = new ClientboundSyncSpecialBlocksPacket(basic.copyPositions(), blueprints.copyPositions());
+            FortressServerNetworkHelper.send(player, FortressChannelNames.FORTRESS_SPECIAL_BLOCKS_SYNC, packet);
+            basic.clearChanges();
+            blueprints.clearChanges();
+            needFullSync = false;
+            return;
+        }
+
+        if(!basic.hasChanges() && !blueprints.hasChanges()) return;
+        final var packet = new S2CUpdateSpecialBlocksPacket(basic.added, basic.removed, blueprints.added, blueprints.removed);
+        FortressServerNetworkHelper.send(player, S2CUpdateSpecialBlocksPacket.CHANNEL, packet);
+        basic.clearChanges();
+        blueprints.clearChanges();
+    }
+
+    void write(NbtCompound tag) {
+        if(!basic.positionsByBlock.isEmpty())
+            tag.put("specialBlocks", basic.toNbt());
+        if(!blueprints.positionsByBlock.isEmpty())
+            tag.put("blueprintsSpecialBlocks", blueprints.toNbt());
+        dirty = false;
+    }
+
+    void read(NbtCompound tag) {
+        if(tag.contains("specialBlocks"))
+            basic.readNbt(tag.getCompound("specialBlocks"));
+        if(tag.contains("blueprintsSpecialBlocks"))
+            blueprints.readNbt(tag.getCompound("blueprintsSpecialBlocks"));
+        scheduleFullSync();
+    }
+
+    private void validate(World world, BlockPos pos) {
+        final var key = pos.asLong();
+        final var basicBlock = basic.blocksByPos.get(key);
+        final var blueprintBlock = blueprints.blocksByPos.get(key);
+        if(basicBlock == null && blueprintBlock == null) return;
+
+        final var actualBlock = world.getBlockState(pos).getBlock();
+        if(basicBlock != null && basicBlock != actualBlock) {
+            basic.remove(key);
+            dirty = true;
+        }
+        if(blueprintBlock != null && blueprintBlock != actualBlock) {
+            blueprints.remove(key);
+            dirty = true;
+        }
+    }
+
+    private TrackedBlocks getBlocks(boolean blueprint) {
+        return blueprint ? blueprints : basic;
+    }
+
+    private static final class TrackedBlocks {
+
+        private final Map<Block, List<BlockPos>> positionsByBlock = new HashMap<>();
+        private final Long2ObjectMap<Block> blocksByPos = new Long2ObjectOpenHashMap<>();
+
+        private final Map<Block, Set<BlockPos>> added = new HashMap<>();
+        private final Map<Block, Set<BlockPos>> removed = new HashMap<>();
+
+        private void add(Block block, BlockPos pos) {
+            final var key = pos.asLong();
+            final var previousBlock = blocksByPos.get(key);
+            if(previousBlock == block) return;
+            if(previousBlock != null) remove(key);
+
+            blocksByPos.put(key, block);
+            positionsByBlock.computeIfAbsent(block, k -> new ArrayList<>()).add(pos);
+            if(!removeChange(removed, block, pos))
+                added.computeIfAbsent(block, k -> new HashSet<>()).add(pos);
+        }
+
+        private void remove(long key) {
+            final var block = blocksByPos.remove(key);
+            if(block == null) return;
+
+            final var pos = BlockPos.fromLong(key);
+            final var positions = positionsByBlock.get(block);
+            if(positions != null) {
+                positions.remove(pos);
+                if(positions.isEmpty()) positionsByBlock.remove(block);
+            }
+            if(!removeChange(added, block, pos))
+                removed.computeIfAbsent(block, k -> new HashSet<>()).add(pos);
+        }
+
+        private static boolean removeChange(Map<Block, Set<BlockPos>> changes, Block block, BlockPos pos) {
+            final var positions = changes.get(block);
+            if(positions == null || !positions.remove(pos)) return false;
+            if(positions.isEmpty()) changes.remove(block);
+            return true;
+        }
+
+        private boolean hasChanges() {
+            return !added.isEmpty() || !removed.isEmpty();
+        }
+
+        private void clearChanges() {
+            added.clear();
+            removed.clear();
+        }
+
+        private Map<Block, List<BlockPos>> copyPositions() {
+            final var copy = new HashMap<Block, List<BlockPos>>();
+            positionsByBlock.forEach((block, positions) -> copy.put(block, new ArrayList<>(positions)));
+            return copy;
+        }
+
+        private NbtCompound toNbt() {
+            final var tag = new NbtCompound();
+            for (var entry : positionsByBlock.entrySet()) {
+                final var blockId = Registries.BLOCK.getId(entry.getKey()).toString();
+                final var posList = new NbtList();
+                for (BlockPos pos : entry.getValue()) {
+                    posList.add(NbtHelper.fromBlockPos(pos));
+                }
+                tag.put(blockId, posList);
+            }
+            return tag;
+        }
+
+        private void readNbt(NbtCompound tag) {
+            for (String blockId : tag.getKeys()) {
+                final var block = Registries.BLOCK.get(new Identifier(blockId));
+                final var posList = tag.getList(blockId, NbtElement.COMPOUND_TYPE);
+                for (int i = 0; i < posList.size(); i++) {
+                    add(block, NbtHelper.toBlockPos(posList.getCompound(i)));
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.minefortress.fortress;
+
+import net.minecraft.entity.LivingEntity;
+import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IProfessional;
+import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.ITargetedPawn;
+import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IWorkerPawn;
+
+import java.util.*;
+
+public final class PawnsRegistry {
+
+    private final Set<LivingEntity> pawns = new LinkedHashSet<>();
+    private final Set<IWorkerPawn> workers = new LinkedHashSet<>();
+    private final Set<IWorkerPawn> freeWorkers = new LinkedHashSet<>();
+    private final Set<ITargetedPawn> targetedPawns = new LinkedHashSet<>();
+    private final Set<IProfessional> professionals = new LinkedHashSet<>();
+    private final Map<IProfessional, String> professionIds = new HashMap<>();
+    private final Map<String, Set<IProfessional>> professionalsById = new HashMap<>();
+
+    public boolean add(LivingEntity pawn) {
+        if(!pawns.add(pawn)) return false;
+        if(pawn instanceof IWorkerPawn worker) {
+            workers.add(worker);
+            updateTaskState(worker);
+        }
+        if(pawn instanceof ITargetedPawn targeted) {
+            targetedPawns.add(targeted);
+        }
+        if(pawn instanceof IProfessional professional) {
+            professionals.add(professional);
+            updateProfession(professional);
+        }
+        return true;
+    }
+
+    public boolean remove(LivingEntity pawn) {
+        if(!pawns.remove(pawn)) return false;
+        if(pawn instanceof IWorkerPawn worker) {
+            workers.remove(worker);
+            freeWorkers.remove(worker);
+        }
+        if(pawn instanceof ITargetedPawn targeted) {
+            targetedPawns.remove(targeted);
+        }
+        if(pawn instanceof IProfessional professional) {
+            professionals.remove(professional);
+            removeFromProfessionIndex(professional);
+        }
+        return true;
+    }
+
+    public void updateProfession(IProfessional professional) {
+        if(!professionals.contains(professional)) return;
+        final var newProfessionId = professional.getProfessionId();
+        final var oldProfessionId = professionIds.get(professional);
+        if(Objects.equals(newProfessionId, oldProfessionId)) return;
+
+        removeFromProfessionIndex(professional);
+        professionIds.put(professional, newProfessionId);
+        professionalsById.computeIfAbsent(newProfessionId, k -> new LinkedHashSet<>()).add(professional);
+    }
+
+    public void updateTaskState(IWorkerPawn worker) {
+        if(!workers.contains(worker)) return;
+        final var taskControl = worker.getTaskControl();
+        if(taskControl == null) return;
+        if(taskControl.hasTask()) {
+            freeWorkers.remove(worker);
+        } else {
+            freeWorkers.add(worker);
+        }
+    }
+
+    public Set<LivingEntity> getAll() {
+        return Collections.unmodifiableSet(pawns);
+    }
+
+    public int size() {
+        return pawns.size();
+    }
+
+    public Set<IWorkerPawn> getWorkers() {
+        return Collections.unmodifiableSet(workers);
+    }
+
+    public Set<IWorkerPawn> getFreeWorkers() {
+        return Collections.unmodifiableSet(freeWorkers);
+    }
+
+    public boolean allWorkersAreFree() {
+        return freeWorkers.size() == workers.size();
+    }
+
+    public Set<ITargetedPawn> getTargetedPawns() {
+        return Collections.unmodifiableSet(targetedPawns);
+    }
+
+    public Set<IProfessional> getProfessionals() {
+        return Collections.unmodifiableSet(professionals);
+    }
+
+    public Set<IProfessional> getProfessionals(String professionId) {
+        final var withProfession = professionalsById.get(professionId);
+        return withProfession == null ? Collections.emptySet() : Collections.unmodifiableSet(withProfession);
+    }
+
+    public int countProfessionals(String professionId) {
+        final var withProfession = professionalsById.get(professionId);
+        return withProfession == null ? 0 : withProfession.size();
+    }
+
+    private void removeFromProfessionIndex(IProfessional professional) {
+        final var oldProfessionId = professionIds.remove(professional);
+        if(oldProfessionId == null) return;
+        final var withProfession = professionalsById.get(oldProfessionId);
+        if(withProfession == null) return;
+        withProfession.remove(professional);
+        if(withProfession.isEmpty()) professionalsById.remove(oldProfessionId);
+    }
+
+}
@@ -11,20 +11,17 @@ import net.minecraft.entity.SpawnReason;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.item.Items;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtElement;
-import net.minecraft.nbt.NbtHelper;
-import net.minecraft.nbt.NbtList;
-import net.minecraft.registry.Registries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.Heightmap;
 import net.minecraft.world.World;
 import net.minecraft.world.event.GameEvent;
+import net.remmintan.gobi.helpers.TreesCache;
 import net.remmintan.mods.minefortress.core.FortressGamemode;
 import net.remmintan.mods.minefortress.core.ScreenType;
 import net.remmintan.mods.minefortress.core.interfaces.IFortressManager;
@@ -39,21 +36,25 @@ import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IProfessio
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.ITargetedPawn;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IWorkerPawn;
 import net.remmintan.mods.minefortress.core.interfaces.infuence.IServerInfluenceManager;
+import net.remmintan.mods.minefortress.core.interfaces.pathing.IServerPathsManager;
 import net.remmintan.mods.minefortress.core.interfaces.professions.IServerProfessionsManager;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IItemInfo;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IServerResourceManager;
 import net.remmintan.mods.minefortress.core.interfaces.server.*;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerBlocksRemovalManager;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerScaffoldsManager;
 import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerTaskManager;
 import net.remmintan.mods.minefortress.networking.helpers.FortressChannelNames;
 import net.remmintan.mods.minefortress.networking.helpers.FortressServerNetworkHelper;
 import net.remmintan.mods.minefortress.networking.s2c.ClientboundSyncFortressManagerPacket;
-import net.remmintan.mods.minefortress.networking.s2c.ClientboundSyncSpecialBlocksPacket;
 import net.remmintan.mods.minefortress.networking.s2c.ClientboundTaskExecutedPacket;
 import org.apache.logging.log4j.LogManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.minefortress.entity.BasePawnEntity;
 import org.minefortress.entity.Colonist;
+import org.minefortress.entity.ai.pathing.ServerPathsManager;
+import org.minefortress.entity.ai.professions.fishing.FishingSpotsCache;
 import org.minefortress.entity.colonist.ColonistNameGenerator;
 import org.minefortress.fight.ServerFightManager;
 import org.minefortress.fight.influence.ServerInfluenceManager;
@@ -64,14 +65,16 @@ import org.minefortress.fortress.resources.ItemInfo;
 import org.minefortress.fortress.resources.gui.craft.FortressCraftingScreenHandlerFactory;
 import org.minefortress.fortress.resources.gui.smelt.FurnaceScreenHandlerFactory;
 import org.minefortress.fortress.resources.server.ServerResourceManager;
+import org.minefortress.fortress.server.FortressTickProfiler;
 import org.minefortress.professions.ServerProfessionManager;
 import org.minefortress.registries.FortressEntities;
 import org.minefortress.tasks.RepairBuildingTask;
+import org.minefortress.tasks.ServerBlocksRemovalManager;
+import org.minefortress.tasks.ServerScaffoldsManager;
 import org.minefortress.tasks.ServerTaskManager;
 import org.minefortress.utils.BlockInfoUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static net.remmintan.mods.minefortress.core.interfaces.automation.ProfessionsSelectionType.QUARRY;
@@ -83,10 +86,10 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     public static final BlockState CAMPFIRE_DEFAULT_STATE = Blocks.CAMPFIRE.getDefaultState();
 
     private final MinecraftServer server;
-    private final Set<LivingEntity> pawns = new HashSet<>();
-    private final Map<Block, List<BlockPos>> specialBlocks = new HashMap<>();
-    private final Map<Block, List<BlockPos>> blueprintsSpecialBlocks = new HashMap<>();
+    private final PawnsRegistry pawns = new PawnsRegistry();
+    private final FortressSpecialBlocks specialBlocks = new FortressSpecialBlocks(this::getWorld);
     private final Map<Class<? extends IServerManager>, IServerManager> managers = new HashMap<>();
+    private final List<IBlockChangeListener> blockChangeListeners = new ArrayList<>();
     
     private IPawnNameGenerator nameGenerator = new ColonistNameGenerator();
 
@@ -98,7 +101,8 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     private FortressGamemode gamemode = FortressGamemode.NONE;
 
     private boolean needSync = true;
-    private boolean needSyncSpecialBlocks = true;
+    // a new fortress is saved at least once
+    private boolean dirty = true;
 
     private BlockPos fortressCenter = null;
     private int maxColonistsCount = -1;
@@ -117,6 +121,12 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         registerManager(IServerAutomationAreaManager.class, new AreasServerManager());
         registerManager(IServerInfluenceManager.class, new ServerInfluenceManager(this));
         registerManager(IServerFightManager.class, new ServerFightManager(this));
+        registerManager(IServerPathsManager.class, new ServerPathsManager());
+        registerManager(IServerScaffoldsManager.class, new ServerScaffoldsManager(() -> server.getWorld(World.OVERWORLD)));
+        registerManager(IServerBlocksRemovalManager.class, new ServerBlocksRemovalManager(() -> server.getWorld(World.OVERWORLD), this, this));
+        registerManager(TreesCache.class, new TreesCache());
+        registerManager(FishingSpotsCache.class, new FishingSpotsCache());
+        blockChangeListeners.add(specialBlocks);
 
         if(FabricLoader.getInstance().getEnvironmentType() == EnvType.SERVER) {
             this.gamemode = FortressGamemode.SURVIVAL;
@@ -125,6 +135,26 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
     private void registerManager(Class<? extends IServerManager> managerInterface, IServerManager manager) {
         managers.put(managerInterface, manager);
+        if(manager instanceof IBlockChangeListener listener)
+            blockChangeListeners.add(listener);
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        for(IBlockChangeListener listener : blockChangeListeners) {
+            listener.onBlockChanged(pos);
+        }
+    }
+
+    public void onChunkLoaded(ChunkPos pos) {
+        for(IBlockChangeListener listener : blockChangeListeners) {
+            listener.onChunkLoaded(pos);
+        }
+    }
+
+    public void onChunkUnloaded(ChunkPos pos) {
+        for(IBlockChangeListener listener : blockChangeListeners) {
+            listener.onChunkUnloaded(pos);
+        }
     }
 
     public void addColonist(LivingEntity colonist) {
@@ -135,6 +165,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     @Override
     public void setSpawnPawns(boolean spawnPawns) {
         this.spawnPawns = spawnPawns;
+        this.dirty = true;
     }
 
     @Override
@@ -156,18 +187,27 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
             if(pawn instanceof LivingEntity le)
                 pawns.add(le);
         }
+        this.dirty = true;
         getFightManager().sync();
     }
 
-    public void tick(@Nullable final ServerPlayerEntity player) {
+    public void tick(@Nullable final ServerPlayerEntity player, @Nullable FortressTickProfiler.FortressStats profilerStats) {
+        final var fortressTickStart = profilerStats == null ? 0L : System.nanoTime();
         tickFortress(player);
+        if(profilerStats != null) profilerStats.record(ServerFortressManager.class, System.nanoTime() - fortressTickStart);
 
-        for (IServerManager it : managers.values()) {
-            if(it instanceof ITickableManager tickableManager)
+        for (Map.Entry<Class<? extends IServerManager>, IServerManager> entry : managers.entrySet()) {
+            if(entry.getValue() instanceof ITickableManager tickableManager) {
+                final var start = profilerStats == null ? 0L : System.nanoTime();
                 tickableManager.tick(player);
+                if(profilerStats != null) profilerStats.record(entry.getKey(), System.nanoTime() - start);
+            }
         }
 
-        if(!needSync || player == null) return;
+        if(player == null) return;
+        specialBlocks.sync(player);
+
+        if(!needSync) return;
         final var isServer = FabricLoader.getInstance().getEnvironmentType() == EnvType.SERVER;
         final var syncFortressPacket = new ClientboundSyncFortressManagerPacket(pawns.size(),
                 fortressCenter,
@@ -178,11 +218,6 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
                 campfireEnabled,
                 borderEnabled);
         FortressServerNetworkHelper.send(player, FortressChannelNames.FORTRESS_MANAGER_SYNC, syncFortressPacket);
-        if(needSyncSpecialBlocks){
-            final var syncBlocks = new ClientboundSyncSpecialBlocksPacket(specialBlocks, blueprintsSpecialBlocks);
-            FortressServerNetworkHelper.send(player, FortressChannelNames.FORTRESS_SPECIAL_BLOCKS_SYNC, syncBlocks);
-            needSyncSpecialBlocks = false;
-        }
         needSync = false;
     }
 
@@ -198,13 +233,15 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         pawns.remove(colonist);
         final var typedReplacement = entityType.spawn(world, infoTag, (it) -> {}, pos, SpawnReason.EVENT, true, false);
         pawns.add(typedReplacement);
+        this.dirty = true;
         getFightManager().sync();
     }
 
     public void tickFortress(@Nullable ServerPlayerEntity player) {
         keepColonistsBelowMax();
 
-        final var deadPawns = pawns.stream()
+        final var deadPawns = pawns.getAll()
+                .stream()
                 .filter(is -> !is.isAlive()).toList();
         if(!deadPawns.isEmpty()) {
             for(LivingEntity pawn : deadPawns) {
@@ -212,6 +249,8 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
                     final String professionId = professional.getProfessionId();
                     getProfessionsManager().decreaseAmount(professionId, true);
                 }
+                getScaffoldsManager().releaseScaffolds(pawn.getUuid());
+                getBuildingsManager().releaseBed(pawn.getUuid());
                 pawns.remove(pawn);
             }
             scheduleSync();
@@ -219,28 +258,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
         giveThePlayerCraftingTableInCaseItWasLost();
 
-        if(!(specialBlocks.isEmpty() || blueprintsSpecialBlocks.isEmpty())  && getWorld() != null && getWorld().getRegistryKey() == World.OVERWORLD) {
-            boolean needSync = false;
-            for(var entry : new HashSet<>(specialBlocks.entrySet())) {
-                final var block = entry.getKey();
-                final var positions = entry.getValue();
-                needSync = needSync || positions.removeIf(pos -> getWorld().getBlockState(pos).getBlock() != block);
-                if (positions.isEmpty()) {
-                    specialBlocks.remove(block);
-                }
-            }
-            for (var entry : new HashSet<>(blueprintsSpecialBlocks.entrySet())) {
-                final var block = entry.getKey();
-                final var positions = entry.getValue();
-                needSync = needSync || positions.removeIf(pos -> getWorld().getBlockState(pos).getBlock() != block);
-                if (positions.isEmpty()) {
-                    blueprintsSpecialBlocks.remove(block);
-                }
-            }
-            if(needSync) {
-                scheduleSyncSpecialBlocks();
-            }
-        }
+        specialBlocks.tick(getWorld());
 
         if(this.fortressCenter != null) {
             if(this.campfireEnabled)
@@ -265,7 +283,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     }
 
     private void giveThePlayerCraftingTableInCaseItWasLost() {
-        if(allPawnsAreFree() && (!specialBlocks.containsKey(Blocks.CRAFTING_TABLE) || specialBlocks.get(Blocks.CRAFTING_TABLE).isEmpty())) {
+        if(allPawnsAreFree() && specialBlocks.get(Blocks.CRAFTING_TABLE, false).isEmpty()) {
             final var ii = new ItemInfo(Items.CRAFTING_TABLE, 1);
             final var resourceManager = getResourceManager();
             if(!resourceManager.hasItems(Collections.singletonList(ii))) {
@@ -276,9 +294,10 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
     private void keepColonistsBelowMax() {
         if(maxColonistsCount != -1 && getTotalColonistsCount() > maxColonistsCount) {
-            final var deltaColonists = Math.max( pawns.stream().filter(LivingEntity::isAlive).count() - maxColonistsCount, 0);
+            final var deltaColonists = Math.max( pawns.getAll().stream().filter(LivingEntity::isAlive).count() - maxColonistsCount, 0);
 
-            pawns.stream()
+            pawns.getAll()
+                    .stream()
                     .filter(LivingEntity::isAlive)
                     .limit(deltaColonists)
                     .forEach(it -> it.damage(getOutOfWorldDamageSource(), Integer.MAX_VALUE));
@@ -318,15 +337,12 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     }
 
     public int getReservedPawnsCount() {
-        return (int) getProfessionals()
-                .stream()
-                .filter(it -> it.getProfessionId().equals(Colonist.RESERVE_PROFESSION_ID))
-                .count();
+        return pawns.countProfessionals(Colonist.RESERVE_PROFESSION_ID);
     }
 
     public void killAllPawns() {
         final var outOfWorldDamageSource = getOutOfWorldDamageSource();
-        pawns.forEach(it -> it.damage(outOfWorldDamageSource, 40f));
+        List.copyOf(pawns.getAll()).forEach(it -> it.damage(outOfWorldDamageSource, 40f));
     }
 
     private DamageSource getOutOfWorldDamageSource() {
@@ -336,15 +352,8 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         return world.getDamageSources().outOfWorld();
     }
 
-    private Stream<IWorkerPawn> getWorkersStream() {
-        return pawns
-                .stream()
-                .filter(IWorkerPawn.class::isInstance)
-                .map(IWorkerPawn.class::cast);
-    }
-
     private boolean allPawnsAreFree() {
-        return getWorkersStream().noneMatch(it -> it.getTaskControl().hasTask());
+        return pawns.allWorkersAreFree();
     }
 
     public Optional<LivingEntity> spawnPawnNearCampfire(UUID masterPlayerId) {
@@ -431,7 +440,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         this.campfireEnabled = campfireEnabled;
         this.borderEnabled = borderEnabled;
         this.needSync = true;
-        this.needSyncSpecialBlocks = true;
+        this.specialBlocks.scheduleFullSync();
         getAutomationAreaManager().sync();
         getInfluenceManager().sync();
         getFightManager().sync();
@@ -449,19 +458,30 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
     public void scheduleSync() {
         needSync = true;
+        // everything the client sees about the fortress itself is also saved
+        dirty = true;
     }
 
-    private void scheduleSyncSpecialBlocks() {
-        needSyncSpecialBlocks = true;
-        this.scheduleSync();
+    public Set<IProfessional> getProfessionals() {
+        return pawns.getProfessionals();
     }
 
-    public Set<IProfessional> getProfessionals() {
-        return pawns
-                .stream()
-                .filter(IProfessional.class::isInstance)
-                .map(IProfessional.class::cast)
-                .collect(Collectors.toUnmodifiableSet());
+    public Set<IProfessional> getProfessionals(String professionId) {
+        return pawns.getProfessionals(professionId);
+    }
+
+    public int countProfessionals(String professionId) {
+        return pawns.countProfessionals(professionId);
+    }
+
+    @Override
+    public void updatePawnProfession(IProfessional pawn) {
+        pawns.updateProfession(pawn);
+    }
+
+    @Override
+    public void updatePawnTaskState(IWorkerPawn pawn) {
+        pawns.updateTaskState(pawn);
     }
 
     public void writeToNbt(NbtCompound tag) {
@@ -480,31 +500,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         this.nameGenerator.write(nameGeneratorTag);
         tag.put("nameGenerator", nameGeneratorTag);
 
-        if(!specialBlocks.isEmpty()) {
-            final NbtCompound specialBlocksTag = new NbtCompound();
-            for (var specialBlock : this.specialBlocks.entrySet()) {
-                final String blockId = Registries.BLOCK.getId(specialBlock.getKey()).toString();
-                final NbtList posList = new NbtList();
-                for (BlockPos pos : specialBlock.getValue()) {
-                    posList.add(NbtHelper.fromBlockPos(pos));
-                }
-                specialBlocksTag.put(blockId, posList);
-            }
-            tag.put("specialBlocks", specialBlocksTag);
-        }
-
-        if(!blueprintsSpecialBlocks.isEmpty()) {
-            final NbtCompound blueprintsSpecialBlocksTag = new NbtCompound();
-            for (var specialBlock : this.blueprintsSpecialBlocks.entrySet()) {
-                final String blockId = Registries.BLOCK.getId(specialBlock.getKey()).toString();
-                final NbtList posList = new NbtList();
-                for (BlockPos pos : specialBlock.getValue()) {
-                    posList.add(NbtHelper.fromBlockPos(pos));
-                }
-                blueprintsSpecialBlocksTag.put(blockId, posList);
-            }
-            tag.put("blueprintsSpecialBlocks", blueprintsSpecialBlocksTag);
-        }
+        specialBlocks.write(tag);
         tag.putString("gamemode", this.gamemode.name());
 
         if(maxColonistsCount != -1) {
@@ -518,6 +514,15 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         }
 
         tag.putBoolean("spawnPawns", spawnPawns);
+        this.dirty = false;
+    }
+
+    public boolean isDirty() {
+        if(dirty || specialBlocks.isDirty()) return true;
+        for (IServerManager value : managers.values()) {
+            if(value instanceof IWritableManager wm && wm.isDirty()) return true;
+        }
+        return false;
     }
 
     public void readFromNbt(NbtCompound tag) {
@@ -538,33 +543,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
             this.nameGenerator = new ColonistNameGenerator(nameGeneratorTag);
         }
 
-        if (tag.contains("specialBlocks")) {
-            final NbtCompound specialBlocksTag = tag.getCompound("specialBlocks");
-            for (String blockId : specialBlocksTag.getKeys()) {
-                final Block block = Registries.BLOCK.get(new Identifier(blockId));
-                final NbtList posList = specialBlocksTag.getList(blockId, NbtElement.COMPOUND_TYPE);
-                final var positions = new ArrayList<BlockPos>();
-                for (int j = 0; j < posList.size(); j++) {
-                    positions.add(NbtHelper.toBlockPos(posList.getCompound(j)));
-                }
-                this.specialBlocks.put(block, positions);
-            }
-            this.scheduleSyncSpecialBlocks();
-        }
-
-        if (tag.contains("blueprintsSpecialBlocks")) {
-            final NbtCompound blueprintsSpecialBlocksTag = tag.getCompound("blueprintsSpecialBlocks");
-            for (String blockId : blueprintsSpecialBlocksTag.getKeys()) {
-                final Block block = Registries.BLOCK.get(new Identifier(blockId));
-                final NbtList posList = blueprintsSpecialBlocksTag.getList(blockId, NbtElement.COMPOUND_TYPE);
-                final var positions = new ArrayList<BlockPos>();
-                for (int j = 0; j < posList.size(); j++) {
-                    positions.add(NbtHelper.toBlockPos(posList.getCompound(j)));
-                }
-                this.blueprintsSpecialBlocks.put(block, positions);
-            }
-            this.scheduleSyncSpecialBlocks();
-        }
+        specialBlocks.read(tag);
 
         if(tag.contains("gamemode")) {
             final String gamemodeName = tag.getString("gamemode");
@@ -601,7 +580,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
             final var areaOpt = Stream
                     .concat(buildings, areas)
-                    .min(Comparator.comparing(IAutomationArea::getUpdated));
+                    .min(Comparator.comparing(it -> it.getWorkQueue().getLastClaimed()));
 
             if(areaOpt.isPresent()) {
                 final var area = areaOpt.get();
@@ -684,10 +663,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
 
     @Override
     public boolean hasRequiredBlock(Block block, boolean blueprint, int minCount) {
-        if(blueprint)
-            return blueprintsSpecialBlocks.getOrDefault(block, Collections.emptyList()).size() > minCount;
-        else
-            return this.specialBlocks.getOrDefault(block, Collections.emptyList()).size() > minCount;
+        return specialBlocks.get(block, blueprint).size() > minCount;
     }
 
     public boolean isBlockSpecial(Block block) {
@@ -695,12 +671,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     }
 
     public void addSpecialBlocks(Block block, BlockPos blockPos, boolean blueprint) {
-        final var blocks = blueprint ?
-                blueprintsSpecialBlocks.computeIfAbsent(block, k -> new ArrayList<>())
-                :
-                specialBlocks.computeIfAbsent(block, k -> new ArrayList<>());
-        if(!blocks.contains(blockPos)) blocks.add(blockPos);
-        scheduleSyncSpecialBlocks();
+        specialBlocks.add(block, blockPos, blueprint);
     }
 
     @Override
@@ -709,33 +680,25 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
     }
 
     public Optional<Colonist> getPawnWithoutAProfession() {
-        return pawns
+        return pawns.getProfessionals(Colonist.DEFAULT_PROFESSION_ID)
                 .stream()
                 .filter(Colonist.class::isInstance)
                 .map(Colonist.class::cast)
-                .filter(it -> it.getProfessionId().equals(Colonist.DEFAULT_PROFESSION_ID))
                 .findAny();
     }
 
     @Override
-    public List<IWorkerPawn> getFreeColonists() {
-        return getWorkersStream().filter(c -> !c.getTaskControl().hasTask()).collect(Collectors.toList());
+    public Collection<IWorkerPawn> getFreeColonists() {
+        return pawns.getFreeWorkers();
     }
 
     @Override
-    public List<ITargetedPawn> getAllTargetedPawns() {
-        return pawns
-                .stream()
-                .filter(ITargetedPawn.class::isInstance)
-                .map(ITargetedPawn.class::cast)
-                .toList();
+    public Collection<ITargetedPawn> getAllTargetedPawns() {
+        return pawns.getTargetedPawns();
     }
 
     public List<BlockPos> getSpecialBlocksByType(Block block, boolean blueprint) {
-        if(blueprint)
-            return blueprintsSpecialBlocks.getOrDefault(block, Collections.emptyList());
-        else
-            return specialBlocks.getOrDefault(block, Collections.emptyList());
+        return specialBlocks.get(block, blueprint);
     }
 
     @Override
@@ -783,6 +746,7 @@ public final class ServerFortressManager implements IFortressManager, IServerMan
         if(minX > pos.getX()) minX = pos.getX();
         if(maxZ < pos.getZ()) maxZ = pos.getZ();
         if(minZ > pos.getZ()) minZ = pos.getZ();
+        this.dirty = true;
     }
 
     public double getVillageRadius() {
@@ -0,0 +1,112 @@
+package org.minefortress.fortress.automation;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationArea;
+import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
+import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationWorkQueue;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public final class AutomationWorkQueue implements IAutomationWorkQueue {
+
+    private static final int LOOKAHEAD_SIZE = 16;
+    private static final int CLAIM_TTL_TICKS = 20 * 60 * 2;
+
+    private final IAutomationArea area;
+
+    private final List<IAutomationBlockInfo> lookahead = new ArrayList<>();
+    private final Map<UUID, Claim> claims = new HashMap<>();
+    private final LongSet claimedPositions = new LongOpenHashSet();
+    private Iterator<IAutomationBlockInfo> source = Collections.emptyIterator();
+    private LocalDateTime lastClaimed = LocalDateTime.MIN;
+
+    public AutomationWorkQueue(IAutomationArea area) {
+        this.area = area;
+    }
+
+    @Override
+    public void startCycleIfExhausted(World world) {
+        if(hasWork()) return;
+        area.update();
+        this.source = area.iterator(world);
+    }
+
+    @Override
+    public Optional<IAutomationBlockInfo> claim(World world, UUID pawnId, BlockPos pawnPos) {
+        // the previous goal of the pawn is done if it asks for the next one
+        release(pawnId, true);
+        // the pawns are spread over the areas by the last claim, the cycle is restarted only when the area runs dry
+        this.lastClaimed = LocalDateTime.now();
+        expireClaims(world.getTime());
+        fillLookahead();
+        if(lookahead.isEmpty()) return Optional.empty();
+
+        // the lookahead is a short window of the area order, so the pawns are still working through the area layer by layer
+        var nearestIndex = 0;
+        var nearestDistance = Double.MAX_VALUE;
+        for(int i = 0; i < lookahead.size(); i++) {
+            final var distance = lookahead.get(i).pos().getSquaredDistance(pawnPos);
+            if(distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestIndex = i;
+            }
+        }
+
+        final var goal = lookahead.remove(nearestIndex);
+        claims.put(pawnId, new Claim(goal, world.getTime()));
+        claimedPositions.add(goal.pos().asLong());
+        return Optional.of(goal);
+    }
+
+    @Override
+    public void release(UUID pawnId, boolean finished) {
+        final var claim = claims.remove(pawnId);
+        if(claim == null) return;
+        claimedPositions.remove(claim.goal().pos().asLong());
+        if(!finished)
+            lookahead.add(claim.goal());
+    }
+
+    @Override
+    public boolean hasWork() {
+        return !lookahead.isEmpty() || source.hasNext();
+    }
+
+    @Override
+    public LocalDateTime getLastClaimed() {
+        return lastClaimed;
+    }
+
+    public void clear() {
+        lookahead.clear();
+        claims.clear();
+        claimedPositions.clear();
+        source = Collections.emptyIterator();
+    }
+
+    private void fillLookahead() {
+        while(lookahead.size() < LOOKAHEAD_SIZE && source.hasNext()) {
+            final var goal = source.next();
+            // the block can still be claimed from the previous cycle
+            if(claimedPositions.contains(goal.pos().asLong())) continue;
+            lookahead.add(goal);
+        }
+    }
+
+    private void expireClaims(long time) {
+        if(claims.isEmpty()) return;
+        // claims of the pawns which died or were removed without stopping the task
+        claims.values().removeIf(it -> {
+            if(time - it.claimedAt() <= CLAIM_TTL_TICKS) return false;
+            claimedPositions.remove(it.goal().pos().asLong());
+            return true;
+        });
+    }
+
+    private record Claim(IAutomationBlockInfo goal, long claimedAt) {}
+
+}
@@ -0,0 +1,101 @@
+package org.minefortress.fortress.automation.areas;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+final class AreaFootprintCodec {
+
+    private AreaFootprintCodec() {}
+
+    static void write(PacketByteBuf buf, List<BlockPos> area) {
+        buf.writeVarInt(area.size());
+        if(area.isEmpty()) return;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : area) {
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+        final var sizeX = maxX - minX + 1;
+        final var sizeZ = maxZ - minZ + 1;
+
+        final var columns = new BitSet(sizeX * sizeZ);
+        final var heights = new Int2ObjectOpenHashMap<IntArrayList>();
+        for (BlockPos pos : area) {
+            final var column = (pos.getX() - minX) * sizeZ + (pos.getZ() - minZ);
+            columns.set(column);
+            heights.computeIfAbsent(column, k -> new IntArrayList()).add(pos.getY() - minY);
+        }
+
+        buf.writeInt(minX);
+        buf.writeInt(minY);
+        buf.writeInt(minZ);
+        buf.writeVarInt(sizeX);
+        buf.writeVarInt(sizeZ);
+        buf.writeBitSet(columns);
+
+        for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+            final var ys = heights.get(column);
+            ys.sort(null);
+            final var runs = new IntArrayList();
+            int runStart = ys.getInt(0);
+            int previous = runStart;
+            for (int i = 1; i < ys.size(); i++) {
+                final var y = ys.getInt(i);
+                if(y == previous) continue;
+                if(y != previous + 1) {
+                    runs.add(runStart);
+                    runs.add(previous - runStart + 1);
+                    runStart = y;
+                }
+                previous = y;
+            }
+            runs.add(runStart);
+            runs.add(previous - runStart + 1);
+
+            buf.writeVarInt(runs.size() / 2);
+            for (int i = 0; i < runs.size(); i++) {
+                buf.writeVarInt(runs.getInt(i));
+            }
+        }
+    }
+
+    static List<BlockPos> read(PacketByteBuf buf) {
+        final var size = buf.readVarInt();
+        if(size == 0) return Collections.emptyList();
+
+        final var minX = buf.readInt();
+        final var minY = buf.readInt();
+        final var minZ = buf.readInt();
+        buf.readVarInt();
+        final var sizeZ = buf.readVarInt();
+        final var columns = buf.readBitSet();
+
+        final var area = new ArrayList<BlockPos>(size);
+        for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+            final var x = minX + column / sizeZ;
+            final var z = minZ + column % sizeZ;
+            final var runsCount = buf.readVarInt();
+            for (int i = 0; i < runsCount; i++) {
+                final var runStart = buf.readVarInt();
+                final var runLength = buf.readVarInt();
+                for (int y = runStart; y < runStart + runLength; y++) {
+                    area.add(new BlockPos(x, minY + y, z));
+                }
+            }
+        }
+        return area;
+    }
+
+}
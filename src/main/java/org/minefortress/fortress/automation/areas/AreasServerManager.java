@@ -12,44 +12,67 @@ import net.remmintan.mods.minefortress.networking.s2c.S2CSyncAreasPacket;
 import net.remmintan.mods.minefortress.networking.helpers.FortressServerNetworkHelper;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 public final class AreasServerManager implements IServerAutomationAreaManager, ITickableManager, IWritableManager {
 
-    private boolean needSync = false;
+    private boolean needFullSync = false;
+    private boolean dirty = false;
     private final List<ServerAutomationAreaInfo> areas = new ArrayList<>();
+    private final Set<UUID> changedAreas = new LinkedHashSet<>();
+    private final Set<UUID> removedAreas = new LinkedHashSet<>();
 
     private int tickCounter = 0;
     private int refreshPointer = 0;
 
     public void addArea(IAutomationAreaInfo area) {
-        areas.add(new ServerAutomationAreaInfo(area));
-        sync();
+        final var serverArea = new ServerAutomationAreaInfo(area);
+        areas.add(serverArea);
+        removedAreas.remove(serverArea.getId());
+        changedAreas.add(serverArea.getId());
+        dirty = true;
     }
 
     public void removeArea(UUID id) {
         final var areasToRemove = areas.stream().filter(it -> it.getId().equals(id)).toList();
         areasToRemove.forEach(ServerAutomationAreaInfo::reset);
         areas.removeAll(areasToRemove);
-        sync();
+        changedAreas.remove(id);
+        removedAreas.add(id);
+        dirty = true;
     }
 
     public void tick(ServerPlayerEntity serverPlayer) {
         if(serverPlayer == null) return;
 
-        if(tickCounter++ % 20 == 0) {
-            if(areas.isEmpty()) return;
+        if(tickCounter++ % 20 == 0 && !areas.isEmpty()) {
             if(refreshPointer >= areas.size()) refreshPointer = 0;
-            areas.get(refreshPointer++).refresh(serverPlayer.getWorld());
-            sync();
+            final var area = areas.get(refreshPointer++);
+            if(area.refresh(serverPlayer.getWorld())) {
+                changedAreas.add(area.getId());
+                dirty = true;
+            }
         }
 
-        if(needSync) {
+        if(needFullSync) {
             final var automationAreaInfos = areas.stream().map(IAutomationAreaInfo.class::cast).toList();
             FortressServerNetworkHelper.send(serverPlayer, S2CSyncAreasPacket.CHANNEL, new S2CSyncAreasPacket(automationAreaInfos));
-            needSync = false;
+            needFullSync = false;
+            changedAreas.clear();
+            removedAreas.clear();
+        } else if(!changedAreas.isEmpty() || !removedAreas.isEmpty()) {
+            final var changedInfos = areas.stream()
+                    .filter(it -> changedAreas.contains(it.getId()))
+                    .map(IAutomationAreaInfo.class::cast)
+                    .toList();
+            final var packet = new S2CSyncAreasPacket(changedInfos, new ArrayList<>(removedAreas));
+            FortressServerNetworkHelper.send(serverPlayer, S2CSyncAreasPacket.CHANNEL, packet);
+            changedAreas.clear();
+            removedAreas.clear();
         }
     }
 
@@ -60,7 +83,7 @@ public final class AreasServerManager implements IServerAutomationAreaManager, I
     }
 
     public void sync() {
-        needSync = true;
+        needFullSync = true;
     }
 
     @Override
@@ -72,6 +95,12 @@ public final class AreasServerManager implements IServerAutomationAreaManager, I
         }
         areas.put("areas", nbtElements);
         tag.put("areaManager", areas);
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
     }
 
     @Override
@@ -13,20 +13,24 @@ public class AutomationAreaInfo implements IAutomationAreaInfo {
     protected List<BlockPos> area;
     private final ProfessionsSelectionType areaType;
     private final UUID id;
+    protected int version;
 
     public AutomationAreaInfo(List<BlockPos> area, ProfessionsSelectionType areaType, UUID id) {
+        this(area, areaType, id, 0);
+    }
+
+    public AutomationAreaInfo(List<BlockPos> area, ProfessionsSelectionType areaType, UUID id, int version) {
         this.area = area;
         this.areaType = areaType;
         this.id = id;
+        this.version = version;
     }
 
     public void writeToBuffer(PacketByteBuf buf) {
-        buf.writeVarInt(area.size());
-        for(BlockPos pos: area) {
-            buf.writeBlockPos(pos);
-        }
+        AreaFootprintCodec.write(buf, area);
         buf.writeEnumConstant(areaType);
         buf.writeUuid(id);
+        buf.writeVarInt(version);
     }
 
     public boolean contains(BlockPos pos) {
@@ -44,4 +48,9 @@ public class AutomationAreaInfo implements IAutomationAreaInfo {
     public UUID getId() {
         return id;
     }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
 }
@@ -6,21 +6,17 @@ import net.remmintan.mods.minefortress.core.interfaces.automation.IAutomationAre
 import net.remmintan.mods.minefortress.core.interfaces.automation.ProfessionsSelectionType;
 import net.remmintan.mods.minefortress.core.interfaces.networking.INetworkingReader;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 public class AutomationAreaInfoReader implements INetworkingReader<IAutomationAreaInfo> {
     @Override
     public IAutomationAreaInfo readBuffer(PacketByteBuf buf) {
-        int size = buf.readVarInt();
-        List<BlockPos> area = new ArrayList<>(size);
-        for(int i = 0; i < size; i++) {
-            area.add(buf.readBlockPos());
-        }
+        List<BlockPos> area = AreaFootprintCodec.read(buf);
         ProfessionsSelectionType name = buf.readEnumConstant(ProfessionsSelectionType.class);
         UUID id = buf.readUuid();
-        return new AutomationAreaInfo(area, name, id);
+        int version = buf.readVarInt();
+        return new AutomationAreaInfo(area, name, id, version);
     }
 
     @Override
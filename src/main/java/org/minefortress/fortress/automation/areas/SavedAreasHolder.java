@@ -9,23 +9,43 @@ import net.remmintan.mods.minefortress.core.interfaces.tasks.ITasksModelBuilderI
 import net.remmintan.mods.minefortress.core.interfaces.tasks.ITasksRenderInfoProvider;
 import net.remmintan.mods.minefortress.building.BuildingHelper;
 
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public final class SavedAreasHolder implements ITasksModelBuilderInfoProvider, ITasksRenderInfoProvider, ISavedAreasHolder {
 
     private boolean needsUpdate = true;
-    private List<IAutomationAreaInfo> savedAreas = Collections.emptyList();
+    private final Map<UUID, IAutomationAreaInfo> savedAreas = new LinkedHashMap<>();
 
     @Override
     public void setSavedAreas(List<IAutomationAreaInfo> savedAreas) {
-        this.savedAreas = Collections.unmodifiableList(savedAreas);
+        this.savedAreas.clear();
+        for (IAutomationAreaInfo area : savedAreas) {
+            this.savedAreas.put(area.getId(), area);
+        }
         this.setNeedRebuild(true);
     }
 
+    @Override
+    public void updateSavedAreas(List<IAutomationAreaInfo> changedAreas, List<UUID> removedAreas) {
+        boolean changed = false;
+        for (UUID id : removedAreas) {
+            changed |= savedAreas.remove(id) != null;
+        }
+        for (IAutomationAreaInfo area : changedAreas) {
+            final var existing = savedAreas.get(area.getId());
+            if(existing != null && existing.getVersion() > area.getVersion()) continue;
+            savedAreas.put(area.getId(), area);
+            changed = true;
+        }
+        if(changed) this.setNeedRebuild(true);
+    }
+
     @Override
     public boolean isNeedRebuild() {
         return needsUpdate;
@@ -38,14 +58,14 @@ public final class SavedAreasHolder implements ITasksModelBuilderInfoProvider, I
 
     @Override
     public Set<IClientTask> getAllSelections() {
-        return savedAreas.stream()
+        return savedAreas.values().stream()
                 .map(this::toClientSelection)
                 .collect(Collectors.toSet());
     }
 
     @Override
     public Optional<IAutomationAreaInfo> getHovered(BlockPos pos) {
-        return savedAreas.stream().filter(it -> it.contains(pos)).findAny();
+        return savedAreas.values().stream().filter(it -> it.contains(pos)).findAny();
     }
 
     @Override
@@ -10,6 +10,8 @@ import net.remmintan.mods.minefortress.core.interfaces.automation.IAutomationAre
 import net.remmintan.mods.minefortress.core.interfaces.automation.ProfessionsSelectionType;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationArea;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
+import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationWorkQueue;
+import org.minefortress.fortress.automation.AutomationWorkQueue;
 import org.minefortress.fortress.automation.iterators.FarmAreaIterator;
 import org.minefortress.fortress.automation.iterators.LoggingAreaIterator;
 import org.minefortress.fortress.automation.iterators.MineAreaIterator;
@@ -25,6 +27,7 @@ public final class ServerAutomationAreaInfo extends AutomationAreaInfo implement
     private LocalDateTime updated;
     private ResetableIterator<IAutomationBlockInfo> currentIterator;
     private boolean reset = false;
+    private final AutomationWorkQueue workQueue = new AutomationWorkQueue(this);
 
     public ServerAutomationAreaInfo(IAutomationAreaInfo info) {
         this(info.getClientArea(), info.getAreaType(), info.getId(), LocalDateTime.MIN);
@@ -69,9 +72,13 @@ public final class ServerAutomationAreaInfo extends AutomationAreaInfo implement
         }
     }
 
-    public void refresh(World world) {
+    public boolean refresh(World world) {
         final var area = this.getClientArea();
-        super.area = getRefreshedArea(world, area);
+        final var refreshedArea = getRefreshedArea(world, area);
+        if(refreshedArea.equals(area)) return false;
+        super.area = refreshedArea;
+        super.version++;
+        return true;
     }
 
     private List<BlockPos> getRefreshedArea(World world, List<BlockPos> area) {
@@ -96,9 +103,15 @@ public final class ServerAutomationAreaInfo extends AutomationAreaInfo implement
         return updated;
     }
 
+    @Override
+    public IAutomationWorkQueue getWorkQueue() {
+        return workQueue;
+    }
+
     public void reset() {
         if(this.currentIterator != null)
             this.currentIterator.reset();
+        this.workQueue.clear();
         this.reset = true;
     }
 
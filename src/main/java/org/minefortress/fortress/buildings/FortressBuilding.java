@@ -12,10 +12,12 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.Heightmap;
 import net.minecraft.world.World;
 import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationBlockInfo;
+import net.remmintan.mods.minefortress.core.interfaces.automation.area.IAutomationWorkQueue;
 import net.remmintan.mods.minefortress.core.interfaces.buildings.IEssentialBuildingInfo;
 import net.remmintan.mods.minefortress.core.interfaces.buildings.IFortressBuilding;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.minefortress.fortress.automation.AutomationWorkQueue;
 import org.minefortress.fortress.automation.iterators.FarmBuildingIterator;
 
 import java.time.LocalDateTime;
@@ -39,6 +41,7 @@ public class FortressBuilding implements IFortressBuilding {
     private FortressBuildingBlockData buildingBlockData;
     private LocalDateTime lastUpdated;
     private Iterator<IAutomationBlockInfo> currentIterator;
+    private final AutomationWorkQueue workQueue = new AutomationWorkQueue(this);
 
     private Set<HostileEntity> attackers = new HashSet<>();
 
@@ -163,10 +166,13 @@ public class FortressBuilding implements IFortressBuilding {
     }
 
     @Override
-    public Optional<BlockPos> getFreeBed(World world) {
+    public List<BlockPos> getFreeBeds(World world) {
+        if(buildingBlockData != null)
+            return buildingBlockData.getFreeBeds(world);
+
         return streamBeds(world)
                 .filter(pos -> !world.getBlockState(pos).get(BedBlock.OCCUPIED))
-                .findFirst();
+                .toList();
     }
 
     @NotNull
@@ -179,6 +185,9 @@ public class FortressBuilding implements IFortressBuilding {
 
     @Override
     public long getBedsCount(World world) {
+        if(buildingBlockData != null)
+            return buildingBlockData.getBedsCount();
+
         return streamBeds(world).count();
     }
 
@@ -232,6 +241,11 @@ public class FortressBuilding implements IFortressBuilding {
         return lastUpdated;
     }
 
+    @Override
+    public IAutomationWorkQueue getWorkQueue() {
+        return workQueue;
+    }
+
     @Override
     public void attack(HostileEntity attacker) {
         if(buildingBlockData != null)
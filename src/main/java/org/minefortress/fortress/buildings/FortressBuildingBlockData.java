@@ -1,9 +1,16 @@
 package org.minefortress.fortress.buildings;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.block.BedBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
+import net.minecraft.block.enums.BedPart;
 import net.minecraft.entity.mob.HostileEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtHelper;
@@ -15,6 +22,7 @@ import net.minecraft.registry.tag.TagKey;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldEvents;
 import net.minecraft.world.event.GameEvent;
@@ -31,23 +39,32 @@ class FortressBuildingBlockData {
     );
 
     private int blockPointer = 0;
-    private final List<PositionedState> referenceState = new ArrayList<>();
-    private final Map<BlockPos, BuildingBlockState> actualState = new HashMap<>();
-    private List<BlockPos> preservedPositions;
+
+    private final long[] positions;
+    private final int[] states;
+    private final List<BlockState> palette;
+    private final BitSet destroyed;
+    private final int[] beds;
+    private int preservedCount;
+    private int preservedBedsCount;
 
     FortressBuildingBlockData(Map<BlockPos, BlockState> preservedState, int floorYLevel) {
+        final var builder = new Builder();
         for (Map.Entry<BlockPos, BlockState> entry : preservedState.entrySet()) {
             final var pos = entry.getKey();
             final var state = entry.getValue();
             if(shouldSkipBlock(pos, state, floorYLevel) || shouldSkipState(state))
                 continue;
-            final var positionedState = new PositionedState(pos, state);
-            this.referenceState.add(positionedState);
-            this.actualState.put(pos, BuildingBlockState.PRESERVED);
+            builder.add(pos.asLong(), state);
         }
-    }
-
 
+        this.positions = builder.positions.toLongArray();
+        this.states = builder.states.toIntArray();
+        this.palette = builder.palette;
+        this.destroyed = new BitSet(positions.length);
+        this.beds = builder.beds.toIntArray();
+        recalculatePreservedCounts();
+    }
 
     private static boolean shouldSkipState(BlockState state) {
         for (Block ignoredBlock : IGNORED_BLOCKS) {
@@ -77,12 +94,76 @@ class FortressBuildingBlockData {
         if(tag.contains("pointer", NbtType.NUMBER))
             blockPointer = tag.getInt("pointer");
 
-        final var skippedPositions = new ArrayList<BlockPos>();
+        if(tag.contains("positions", NbtType.LONG_ARRAY)) {
+            final var savedPositions = tag.getLongArray("positions");
+            final var savedStates = tag.getIntArray("states");
+            if(savedStates.length != savedPositions.length)
+                throw new IllegalArgumentException("Invalid building block data: positions and states sizes differ");
+
+            final var savedPalette = new ArrayList<BlockState>();
+            final var paletteTag = tag.getList("palette", NbtType.COMPOUND);
+            for (int i = 0; i < paletteTag.size(); i++) {
+                savedPalette.add(NbtHelper.toBlockState(Registries.BLOCK.getReadOnlyWrapper(), paletteTag.getCompound(i)));
+            }
+            final var savedDestroyed = BitSet.valueOf(tag.getLongArray("destroyed"));
+
+            if(hasOnlyValidStates(savedStates, savedPalette.size())) {
+                this.positions = savedPositions;
+                this.states = savedStates;
+                this.palette = savedPalette;
+                this.destroyed = savedDestroyed;
+                final var bedsList = new IntArrayList();
+                for (int i = 0; i < states.length; i++) {
+                    if(isBedHead(palette.get(states[i])))
+                        bedsList.add(i);
+                }
+                this.beds = bedsList.toIntArray();
+            } else {
+                // a corrupted save, the blocks pointing outside the palette are dropped from the building
+                LogManager.getLogger().warn("Invalid building block data: states point outside the palette of size {}", savedPalette.size());
+                final var builder = new Builder();
+                for (int i = 0; i < savedStates.length; i++) {
+                    final var state = savedStates[i];
+                    if(state < 0 || state >= savedPalette.size())
+                        continue;
+                    if(savedDestroyed.get(i))
+                        builder.destroyed.set(builder.positions.size());
+                    builder.add(savedPositions[i], savedPalette.get(state));
+                }
+                this.positions = builder.positions.toLongArray();
+                this.states = builder.states.toIntArray();
+                this.palette = builder.palette;
+                this.destroyed = builder.destroyed;
+                this.beds = builder.beds.toIntArray();
+            }
+        } else {
+            final var builder = new Builder();
+            readLegacyFormat(tag, builder);
+            this.positions = builder.positions.toLongArray();
+            this.states = builder.states.toIntArray();
+            this.palette = builder.palette;
+            this.destroyed = builder.destroyed;
+            this.beds = builder.beds.toIntArray();
+        }
+
+        recalculatePreservedCounts();
+    }
+
+    private static boolean hasOnlyValidStates(int[] states, int paletteSize) {
+        for (int state : states) {
+            if(state < 0 || state >= paletteSize)
+                return false;
+        }
+        return true;
+    }
+
+    private static void readLegacyFormat(NbtCompound tag, Builder builder) {
+        final var skippedPositions = new LongOpenHashSet();
         if(tag.contains("referenceState", NbtType.LIST)) {
             final var list = tag.getList("referenceState", NbtType.COMPOUND);
             for (int i = 0; i < list.size(); i++) {
                 final var compound = list.getCompound(i);
-                final var pos = BlockPos.fromLong(compound.getLong("pos"));
+                final var pos = compound.getLong("pos");
                 final var blockStateTag = compound.get("blockState");
                 if(blockStateTag != null) {
                     final BlockState blockState;
@@ -103,24 +184,30 @@ class FortressBuildingBlockData {
                         continue;
                     }
 
-
-                    final var positionedState = new PositionedState(pos, blockState);
-                    referenceState.add(positionedState);
+                    builder.add(pos, blockState);
                 }
             }
         }
 
         if(tag.contains("actualState", NbtType.LIST)) {
+            final var indices = new Long2IntOpenHashMap();
+            indices.defaultReturnValue(-1);
+            for (int i = 0; i < builder.positions.size(); i++) {
+                indices.put(builder.positions.getLong(i), i);
+            }
+
             final var list = tag.getList("actualState", NbtType.COMPOUND);
             for (int i = 0; i < list.size(); i++) {
                 final var compound = list.getCompound(i);
-                final var pos = BlockPos.fromLong(compound.getLong("pos"));
+                final var pos = compound.getLong("pos");
                 if(skippedPositions.contains(pos))
                     continue;
                 final var blockState = compound.getString("blockState");
                 try {
                     final var block = BuildingBlockState.valueOf(blockState);
-                    actualState.put(pos, block);
+                    final var index = indices.get(pos);
+                    if(index != -1 && block == BuildingBlockState.DESTROYED)
+                        builder.destroyed.set(index);
                 }catch (IllegalArgumentException e) {
                     LogManager.getLogger().error("Invalid block state: " + blockState);
                     throw e;
@@ -128,37 +215,39 @@ class FortressBuildingBlockData {
 
             }
         }
-
-        recalculatePreservedPositions();
     }
 
     boolean checkTheNextBlocksState(int blocksAmount, ServerWorld world) {
-        if(referenceState.isEmpty()) return false;
         if(world.getRegistryKey() != World.OVERWORLD)
             throw new IllegalArgumentException("The world must be the overworld");
+        return checkTheNextBlocksState(blocksAmount, (BlockView) world);
+    }
 
+    boolean checkTheNextBlocksState(int blocksAmount, BlockView world) {
+        if(positions.length == 0) return false;
+
+        final var mutable = new BlockPos.Mutable();
         boolean stateUpdated = false;
         for (int i = 0; i < blocksAmount; i++) {
-            blockPointer = blockPointer % referenceState.size();
-            final var state = referenceState.get(blockPointer);
-            final var pos = state.pos;
-            final var referenceBlock = state.blockState;
-
-            final var actualBlock = world.getBlockState(pos);
-
-            final var previousState = actualState.getOrDefault(pos, BuildingBlockState.PRESERVED);
-            final var newState = areBlocksSimilar(referenceBlock, actualBlock) ? BuildingBlockState.PRESERVED : BuildingBlockState.DESTROYED;
-
-            actualState.put(pos, newState);
+            blockPointer = blockPointer % positions.length;
+            final var referenceBlock = palette.get(states[blockPointer]);
+            final var actualBlock = world.getBlockState(mutable.set(positions[blockPointer]));
+
+            final var wasDestroyed = destroyed.get(blockPointer);
+            final var isDestroyed = !areBlocksSimilar(referenceBlock, actualBlock);
+
+            if(wasDestroyed != isDestroyed) {
+                destroyed.set(blockPointer, isDestroyed);
+                final var delta = isDestroyed ? -1 : 1;
+                preservedCount += delta;
+                if(isBedHead(referenceBlock))
+                    preservedBedsCount += delta;
+                stateUpdated = true;
+            }
 
             blockPointer++;
-            stateUpdated = stateUpdated || previousState != newState;
         }
 
-        if(stateUpdated)
-            recalculatePreservedPositions();
-
-
         return stateUpdated;
     }
 
@@ -184,93 +273,91 @@ class FortressBuildingBlockData {
         return a.isIn(blockTag) && b.isIn(blockTag);
     }
 
-    private void recalculatePreservedPositions() {
-        preservedPositions = actualState.entrySet()
-                .stream()
-                .filter(it -> it.getValue() == BuildingBlockState.PRESERVED)
-                .map(Map.Entry::getKey)
-                .toList();
+    private static boolean isBedHead(BlockState state) {
+        return state.isIn(BlockTags.BEDS) && state.get(BedBlock.PART) == BedPart.HEAD;
+    }
+
+    private void recalculatePreservedCounts() {
+        preservedCount = positions.length - destroyed.cardinality();
+        preservedBedsCount = 0;
+        for (int bed : beds) {
+            if(!destroyed.get(bed))
+                preservedBedsCount++;
+        }
     }
 
     int getHealth() {
-        if(actualState.size() == 0) return 0;
-        final var preserved = actualState.values().stream().filter(state -> state == BuildingBlockState.PRESERVED).count();
-        final var delta = (float) preserved / (float) actualState.size();
+        if(positions.length == 0) return 0;
+        final var delta = (float) preservedCount / (float) positions.length;
         return (int)MathHelper.clampedMap(delta, 0.5f, 1, 0, 100);
     }
 
+    int getBedsCount() {
+        return preservedBedsCount;
+    }
+
+    List<BlockPos> getFreeBeds(BlockView world) {
+        final var freeBeds = new ArrayList<BlockPos>();
+        for (int bed : beds) {
+            if(destroyed.get(bed))
+                continue;
+            final var pos = BlockPos.fromLong(positions[bed]);
+            final var blockState = world.getBlockState(pos);
+            if(blockState.isIn(BlockTags.BEDS) && !blockState.get(BedBlock.OCCUPIED))
+                freeBeds.add(pos);
+        }
+        return freeBeds;
+    }
+
     NbtCompound toNbt() {
         final var tag = new NbtCompound();
-        final var preservedStateList = new NbtList();
-        for (PositionedState positionedState : referenceState) {
-            final var compound = new NbtCompound();
-            compound.putLong("pos", positionedState.pos.asLong());
-            final var blockState = positionedState.blockState;
-            compound.put("blockState", NbtHelper.fromBlockState(blockState));
-            preservedStateList.add(compound);
-        }
-        tag.put("referenceState", preservedStateList);
-
-        final var actualStateList = new NbtList();
-        for (Map.Entry<BlockPos, BuildingBlockState> entry : actualState.entrySet()) {
-            final var compound = new NbtCompound();
-            compound.putLong("pos", entry.getKey().asLong());
-            compound.putString("blockState", entry.getValue().name());
-            actualStateList.add(compound);
-        }
+        tag.putLongArray("positions", positions);
+        tag.putIntArray("states", states);
 
-        tag.put("actualState", actualStateList);
+        final var paletteTag = new NbtList();
+        for (BlockState state : palette) {
+            paletteTag.add(NbtHelper.fromBlockState(state));
+        }
+        tag.put("palette", paletteTag);
+        tag.putLongArray("destroyed", destroyed.toLongArray());
         tag.putInt("pointer", blockPointer);
 
         return tag;
     }
 
     boolean attack(HostileEntity attacker) {
+        if(preservedCount <= 0) return false;
+
         final var world = attacker.getWorld();
         final var random = world.random;
-        for (Map.Entry<BlockPos, BuildingBlockState> entries : actualState.entrySet()) {
-            final var pos = entries.getKey();
-            final var state = entries.getValue();
-            if(state == BuildingBlockState.DESTROYED)
-                continue;
-
-
-            if(random.nextFloat() >= 0.6f) {
-                world.syncWorldEvent(
-                        WorldEvents.BLOCK_BROKEN,
-                        pos,
-                        Block.getRawIdFromState(world.getBlockState(pos))
-                );
-                world.setBlockState(pos, Blocks.AIR.getDefaultState());
-                world.emitGameEvent(attacker, GameEvent.BLOCK_DESTROY, pos);
-                return true;
-            }
-            break;
+        final var target = getRandomPreservedIndex(random.nextInt(positions.length));
+        final var targetPos = BlockPos.fromLong(positions[target]);
+        if(random.nextFloat() >= 0.6f) {
+            world.syncWorldEvent(
+                    WorldEvents.BLOCK_BROKEN,
+                    targetPos,
+                    Block.getRawIdFromState(world.getBlockState(targetPos))
+            );
+            world.setBlockState(targetPos, Blocks.AIR.getDefaultState());
+            world.emitGameEvent(attacker, GameEvent.BLOCK_DESTROY, targetPos);
+            return true;
         }
 
-        if(preservedPositions!=null) {
-            final var pos = preservedPositions.get(random.nextInt(preservedPositions.size()));
-            world.setBlockBreakingInfo(attacker.getId(), pos, random.nextInt(10));
-        }
+        final var breakingPos = BlockPos.fromLong(positions[getRandomPreservedIndex(random.nextInt(positions.length))]);
+        world.setBlockBreakingInfo(attacker.getId(), breakingPos, random.nextInt(10));
 
         return false;
     }
 
+    private int getRandomPreservedIndex(int from) {
+        final var index = destroyed.nextClearBit(from);
+        return index < positions.length ? index : destroyed.nextClearBit(0);
+    }
+
     Map<BlockPos, BlockState> getAllBlockStatesToRepairTheBuilding() {
         final var map = new HashMap<BlockPos, BlockState>();
-        for (Map.Entry<BlockPos, BuildingBlockState> entry : actualState.entrySet()) {
-            final var pos = entry.getKey();
-            final var state = entry.getValue();
-            if(state == BuildingBlockState.PRESERVED)
-                continue;
-
-            final var blockState = referenceState
-                    .stream()
-                    .filter(it -> it.pos.equals(pos))
-                    .findFirst()
-                    .orElseThrow()
-                    .blockState;
-            map.put(pos, blockState);
+        for (int i = destroyed.nextSetBit(0); i >= 0 && i < positions.length; i = destroyed.nextSetBit(i + 1)) {
+            map.put(BlockPos.fromLong(positions[i]), palette.get(states[i]));
         }
         return map;
     }
@@ -279,7 +366,31 @@ class FortressBuildingBlockData {
         return new FortressBuildingBlockData(compound);
     }
 
-    private record PositionedState(BlockPos pos, BlockState blockState) {}
+    private static final class Builder {
+        private final LongArrayList positions = new LongArrayList();
+        private final IntArrayList states = new IntArrayList();
+        private final List<BlockState> palette = new ArrayList<>();
+        private final Object2IntOpenHashMap<BlockState> paletteIndices = new Object2IntOpenHashMap<>();
+        private final IntArrayList beds = new IntArrayList();
+        private final BitSet destroyed = new BitSet();
+
+        private Builder() {
+            paletteIndices.defaultReturnValue(-1);
+        }
+
+        private void add(long pos, BlockState state) {
+            var paletteIndex = paletteIndices.getInt(state);
+            if(paletteIndex == -1) {
+                paletteIndex = palette.size();
+                palette.add(state);
+                paletteIndices.put(state, paletteIndex);
+            }
+            if(isBedHead(state))
+                beds.add(positions.size());
+            positions.add(pos);
+            states.add(paletteIndex);
+        }
+    }
 
     private enum BuildingBlockState {
         DESTROYED,
@@ -1,11 +1,11 @@
 package org.minefortress.fortress.buildings;
 
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import net.minecraft.block.BedBlock;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.mob.HostileEntity;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
@@ -23,7 +23,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -34,11 +33,14 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
     private int buildingPointer = 0;
     private final List<IFortressBuilding> buildings = new ArrayList<>();
     private final Supplier<ServerWorld> overworldSupplier;
-    private final Cache<BlockPos, Object> bedsCache =
-            CacheBuilder.newBuilder()
-                    .expireAfterWrite(10, TimeUnit.SECONDS)
-                    .build();
+    private final Map<UUID, BlockPos> reservedBeds = new HashMap<>();
+    private final Set<BlockPos> reservedBedPositions = new HashSet<>();
+    // free beds are collected once per tick and shared between all the pawns looking for a bed in this tick
+    private final List<BlockPos> freeBeds = new ArrayList<>();
+    private long freeBedsTick = -1;
+    private long ticks = 0;
     private boolean needSync = false;
+    private boolean dirty = false;
 
     public FortressBuildingManager(Supplier<ServerWorld> overworldSupplier) {
         this.overworldSupplier = overworldSupplier;
@@ -54,23 +56,72 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
         getBuildingById(id)
                 .ifPresent(it -> {
                     buildings.remove(it);
+                    releaseBedsInside(it);
                     BlockPos.iterate(it.getStart(), it.getEnd())
                             .forEach(pos -> getWorld().setBlockState(pos, Blocks.AIR.getDefaultState()));
                     this.scheduleSync();
                 });
     }
 
-    public Optional<BlockPos> getFreeBed(){
-        final var freeBed = buildings
-                .stream()
-                .map(it -> it.getFreeBed(getWorld()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(it -> !bedsCache.asMap().containsKey(it))
-                .findFirst();
+    @Override
+    public boolean hasFreeBed(UUID pawnId) {
+        final var reservedBed = reservedBeds.get(pawnId);
+        if(reservedBed != null && isFreeBed(reservedBed)) return true;
+        refreshFreeBeds();
+        return !freeBeds.isEmpty();
+    }
+
+    @Override
+    public Optional<BlockPos> reserveBed(UUID pawnId, BlockPos pawnPos) {
+        final var reservedBed = reservedBeds.get(pawnId);
+        if(reservedBed != null) {
+            if(isFreeBed(reservedBed)) return Optional.of(reservedBed);
+            releaseBed(pawnId);
+        }
+
+        refreshFreeBeds();
+        if(freeBeds.isEmpty()) return Optional.empty();
+
+        var nearestIndex = 0;
+        var nearestDistance = Double.MAX_VALUE;
+        for(int i = 0; i < freeBeds.size(); i++) {
+            final var distance = freeBeds.get(i).getSquaredDistance(pawnPos);
+            if(distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestIndex = i;
+            }
+        }
+        final var bed = freeBeds.remove(nearestIndex);
+        reservedBeds.put(pawnId, bed);
+        reservedBedPositions.add(bed);
+        return Optional.of(bed);
+    }
+
+    @Override
+    public void releaseBed(UUID pawnId) {
+        final var bed = reservedBeds.remove(pawnId);
+        if(bed != null) reservedBedPositions.remove(bed);
+    }
 
-        freeBed.ifPresent(it -> bedsCache.put(it, new Object()));
-        return freeBed;
+    private void refreshFreeBeds() {
+        if(freeBedsTick == ticks) return;
+        freeBeds.clear();
+        for(IFortressBuilding building : buildings) {
+            for(BlockPos bed : building.getFreeBeds(getWorld())) {
+                if(!reservedBedPositions.contains(bed)) freeBeds.add(bed);
+            }
+        }
+        freeBedsTick = ticks;
+    }
+
+    private boolean isFreeBed(BlockPos pos) {
+        final var blockState = getWorld().getBlockState(pos);
+        return blockState.isIn(BlockTags.BEDS) && !blockState.get(BedBlock.OCCUPIED);
+    }
+
+    private void releaseBedsInside(IFortressBuilding building) {
+        reservedBeds.values().removeIf(building::isPartOfTheBuilding);
+        reservedBedPositions.removeIf(building::isPartOfTheBuilding);
     }
 
     public long getTotalBedsCount() {
@@ -78,6 +129,13 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
     }
 
     public void tick(ServerPlayerEntity player) {
+        ticks++;
+        // the pawns release their beds when they wake up, this also cleans up after the pawns which were unloaded during the night
+        if(!reservedBeds.isEmpty() && getWorld() != null && getWorld().isDay()) {
+            reservedBeds.clear();
+            reservedBedPositions.clear();
+        }
+
         if(player != null) {
             if (needSync) {
                 final var houses = buildings.stream()
@@ -103,8 +161,10 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
         }
     }
 
+    // the buildings are synced to the client whenever they change, so they are saved as well
     private void scheduleSync() {
         needSync = true;
+        dirty = true;
     }
 
     public boolean hasRequiredBuilding(String requirementId, int minCount) {
@@ -132,6 +192,12 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
     public void write(NbtCompound tag) {
         final var buildingsNbt = this.toNbt();
         tag.put("buildings", buildingsNbt);
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
     }
 
     @Override
@@ -228,7 +294,8 @@ public class FortressBuildingManager implements IAutomationAreaProvider, IServer
 
     private void reset() {
         buildings.clear();
-        bedsCache.invalidateAll();
+        reservedBeds.clear();
+        reservedBedPositions.clear();
         buildingPointer = 0;
         this.scheduleSync();
     }
@@ -8,8 +8,8 @@ import net.remmintan.mods.minefortress.core.interfaces.resources.IItemInfo;
 public class ItemInfoReader implements INetworkingReader<IItemInfo> {
     @Override
     public IItemInfo readBuffer(PacketByteBuf buf) {
-        final int id = buf.readInt();
-        final int amount = buf.readInt();
+        final int id = buf.readVarInt();
+        final int amount = buf.readVarInt();
         return new ItemInfo(Item.byRawId(id), amount);
     }
 
@@ -1,10 +1,13 @@
 package org.minefortress.fortress.resources;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
-import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.registry.tag.ItemTags;
 import net.minecraft.registry.tag.TagKey;
 import org.minefortress.blueprints.data.StructureBlockData;
@@ -13,6 +16,9 @@ import java.util.*;
 
 public class SimilarItemsHelper {
 
+    private static final int[] NO_GROUPS = new int[0];
+    private static volatile SimilarItemsTable table;
+
     private static final List<Item> strippedLogs = Arrays.asList(
             Items.STRIPPED_ACACIA_LOG,
             Items.STRIPPED_BIRCH_LOG,
@@ -122,48 +128,98 @@ public class SimilarItemsHelper {
     }
 
     public static List<Item> getSimilarItems(Item item) {
-        if (strippedLogs.contains(item)) {
-            return strippedLogs.stream().filter(i -> i != item).toList();
-        }
+        return getTable().similarItems().getOrDefault(item, Collections.emptyList());
+    }
 
-        if (strippedWood.contains(item)) {
-            return strippedWood.stream().filter(i -> i != item).toList();
+    public static boolean areSimilar(Item item, Item other) {
+        if(item == other) return false;
+        final var table = getTable();
+        final var group = table.groupByItem().getInt(item);
+        if(group < 0) return false;
+        for(int otherGroup : table.groupsByMember().getOrDefault(other, NO_GROUPS)) {
+            if(otherGroup == group) return true;
         }
+        return false;
+    }
+
+    public static int getGroupId(Item item) {
+        return getTable().groupByItem().getInt(item);
+    }
 
-        if (similarDirt.contains(item)) {
-            return similarDirt.stream().filter(i -> i != item).toList();
+    public static int[] getGroupsContaining(Item item) {
+        return getTable().groupsByMember().getOrDefault(item, NO_GROUPS);
+    }
+
+    public static int getGroupsCount() {
+        return getTable().groupsCount();
+    }
+
+    public static int getVersion() {
+        return getTable().version();
+    }
+
+    public static void rebuild() {
+        table = buildTable(table == null ? 0 : table.version() + 1);
+    }
+
+    private static SimilarItemsTable getTable() {
+        var current = table;
+        if(current == null) {
+            current = buildTable(0);
+            table = current;
         }
+        return current;
+    }
+
+    private static SimilarItemsTable buildTable(int version) {
+        final var groups = new ArrayList<List<Item>>();
+        final var groupByItem = new Reference2IntOpenHashMap<Item>();
+        groupByItem.defaultReturnValue(-1);
 
-        if (similarFenceGate.contains(item)) {
-            return similarFenceGate.stream().filter(i -> i != item).toList();
+        final var explicitGroups = Arrays.asList(strippedLogs, strippedWood, similarDirt, similarFenceGate, similarGlass, similarGlassPanes);
+        for(List<Item> explicitGroup : explicitGroups) {
+            final var groupId = groups.size();
+            groups.add(explicitGroup);
+            for(Item item : explicitGroup) groupByItem.putIfAbsent(item, groupId);
         }
 
-        if (similarGlass.contains(item)) {
-            return similarGlass.stream().filter(i -> i != item).toList();
+        final var excludedFromTags = new ReferenceOpenHashSet<Item>();
+        excludedFromTags.addAll(strippedLogs);
+        excludedFromTags.addAll(strippedWood);
+        excludedFromTags.addAll(similarDirt);
+        excludedFromTags.addAll(similarFenceGate);
+        excludedFromTags.addAll(similarGlass);
+
+        final var firstTagGroup = groups.size();
+        for(TagKey<Item> tag : tags) {
+            groups.add(getItems(tag).stream().filter(it -> !excludedFromTags.contains(it)).toList());
+        }
+        for(Item item : Registries.ITEM) {
+            if(groupByItem.containsKey(item)) continue;
+            for(int i = 0; i < tags.size(); i++) {
+                if(item.getRegistryEntry().isIn(tags.get(i))) {
+                    groupByItem.put(item, firstTagGroup + i);
+                    break;
+                }
+            }
         }
 
-        if (similarGlassPanes.contains(item)) {
-            return similarGlassPanes.stream().filter(i -> i != item).toList();
+        final var groupsByMemberLists = new Reference2ObjectOpenHashMap<Item, IntArrayList>();
+        for(int groupId = 0; groupId < groups.size(); groupId++) {
+            for(Item member : groups.get(groupId)) {
+                groupsByMemberLists.computeIfAbsent(member, k -> new IntArrayList()).add(groupId);
+            }
         }
+        final var groupsByMember = new Reference2ObjectOpenHashMap<Item, int[]>(groupsByMemberLists.size());
+        groupsByMemberLists.forEach((item, groupIds) -> groupsByMember.put(item, groupIds.toIntArray()));
 
-        return getItemTag(item)
-                .map(tag ->
-                        getItems(tag)
-                                .stream()
-                                .filter(it -> it != item)
-                                .filter(it -> !strippedLogs.contains(it))
-                                .filter(it -> !strippedWood.contains(it))
-                                .filter(it -> !similarDirt.contains(it))
-                                .filter(it -> !similarFenceGate.contains(it))
-                                .filter(it -> !similarGlass.contains(it))
-                                .toList()
-                )
-                .orElse(Collections.emptyList());
-    }
+        final var similarItems = new Reference2ObjectOpenHashMap<Item, List<Item>>(groupByItem.size());
+        for(Reference2IntMap.Entry<Item> entry : groupByItem.reference2IntEntrySet()) {
+            final var item = entry.getKey();
+            similarItems.put(item, groups.get(entry.getIntValue()).stream().filter(it -> it != item).toList());
+        }
 
-    private static Optional<TagKey<Item>> getItemTag(Item item) {
-        final var defaultStack = item.getDefaultStack();
-        return defaultStack.streamTags().filter(tags::contains).findFirst();
+        return new SimilarItemsTable(groupByItem, groupsByMember, similarItems, groups.size(), version);
     }
 
     public static List<Item> getItems(TagKey<Item> tag) {
@@ -174,4 +230,12 @@ public class SimilarItemsHelper {
         return Collections.unmodifiableList(items);
     }
 
+    private record SimilarItemsTable(
+            Reference2IntMap<Item> groupByItem,
+            Map<Item, int[]> groupsByMember,
+            Map<Item, List<Item>> similarItems,
+            int groupsCount,
+            int version
+    ) {}
+
 }
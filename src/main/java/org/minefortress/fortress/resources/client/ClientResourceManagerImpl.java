@@ -9,13 +9,13 @@ import org.minefortress.fortress.resources.ItemInfo;
 import org.minefortress.fortress.resources.SimilarItemsHelper;
 import org.minefortress.utils.ModUtils;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class ClientResourceManagerImpl implements IClientResourceManager {
 
     private final StackGroupsManager groupManager = new StackGroupsManager();
+    private int version = 0;
 
     @Override
     public Set<ItemGroup> getGroups() {
@@ -64,9 +64,8 @@ public class ClientResourceManagerImpl implements IClientResourceManager {
                 .map(ItemStack::getCount)
                 .reduce(0, Integer::sum);
 
-        final var similarItemsSet = new HashSet<>(SimilarItemsHelper.getSimilarItems(item));
         final var requiredSimilarItems = items.stream()
-                .filter(it -> similarItemsSet.contains(it.item()))
+                .filter(it -> SimilarItemsHelper.areSimilar(item, it.item()))
                 .mapToInt(IItemInfo::amount)
                 .sum();
 
@@ -83,6 +82,7 @@ public class ClientResourceManagerImpl implements IClientResourceManager {
         final var group = groupManager.getGroup(item);
         final var manager = groupManager.getStacksManager(group);
         manager.getStack(item).setCount(amount);
+        version++;
     }
 
     @Override
@@ -98,6 +98,12 @@ public class ClientResourceManagerImpl implements IClientResourceManager {
     @Override
     public void reset() {
         groupManager.clear();
+        version++;
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
     }
 
 }
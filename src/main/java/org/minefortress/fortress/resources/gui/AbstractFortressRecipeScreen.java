@@ -37,6 +37,7 @@ public abstract class AbstractFortressRecipeScreen<T extends AbstractFortressRec
     @Override
     public void handledScreenTick() {
         super.handledScreenTick();
+        this.handler.sendPendingScroll();
         if(professionRequirementSatisfied())
             getRecipeBookWidget().update();
         else {
@@ -11,6 +11,7 @@ import net.minecraft.screen.AbstractRecipeScreenHandler;
 import net.minecraft.screen.ScreenHandlerType;
 import net.minecraft.screen.slot.Slot;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IScrollableHandler;
 import net.remmintan.mods.minefortress.core.interfaces.resources.IServerResourceManager;
@@ -18,6 +19,8 @@ import net.remmintan.mods.minefortress.core.interfaces.server.IFortressServer;
 import net.remmintan.mods.minefortress.networking.c2s.ServerboundScrollCurrentScreenPacket;
 import net.remmintan.mods.minefortress.networking.helpers.FortressChannelNames;
 import net.remmintan.mods.minefortress.networking.helpers.FortressClientNetworkHelper;
+import net.remmintan.mods.minefortress.networking.helpers.FortressServerNetworkHelper;
+import net.remmintan.mods.minefortress.networking.s2c.S2CSyncScreenRowsPacket;
 import org.minefortress.fortress.resources.ItemInfo;
 import org.minefortress.fortress.resources.client.FortressItemStack;
 import org.minefortress.interfaces.FortressSimpleInventory;
@@ -27,11 +30,21 @@ import java.util.stream.Collectors;
 
 public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> extends AbstractRecipeScreenHandler<T> implements IScrollableHandler {
 
-    private final SimpleInventory screenInventory = new SimpleInventory(999);
+    private static final int VISIBLE_ROWS = 4;
+    private static final int FREE_ROWS = 2;
+
+    private final SimpleInventory screenInventory;
     private final VirtualInventory virtualInventory;
     private final IServerResourceManager IServerResourceManager;
 
-    private int clientCurrentRow = 5;
+    private int rowsOffset = 0;
+    private int rowsCount = VISIBLE_ROWS;
+    private int syncedRowsCount = -1;
+    private int syncedChangeCount = -1;
+    // the amounts of all the session items, the last synced ones on the server and the received ones on the client
+    private final Map<Item, Integer> itemCounts = new HashMap<>();
+    private int itemCountsVersion = 0;
+    private Float pendingScrollPosition;
 
     protected final PlayerEntity player;
     protected final World world;
@@ -42,33 +55,63 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
         this.player = player;
         this.world = player.getWorld();
         this.virtualInventory = Objects.nonNull(IServerResourceManager) ? new VirtualInventory(IServerResourceManager.getAllItems()) : null;
+        // the client only sees the visible rows, the server keeps all the fortress items behind them
+        this.screenInventory = virtualInventory != null ? virtualInventory : new SimpleInventory(VISIBLE_ROWS * 9);
     }
 
     public int getRowsCount() {
-        final var rowsCount = ((virtualInventory != null ? virtualInventory.size() : slots.size())) / 9;
-        return rowsCount + (virtualInventory != null && virtualInventory.full() ? 1 : 0);
+        return virtualInventory != null ? virtualInventory.size() / 9 : rowsCount;
     }
 
     @Override
-    public void setStackInSlot(int slot, int revision, ItemStack stack) {
-        while (slots.size() <= slot) {
-            for (int column = 0; column < 9; ++column) {
-                this.addSlot(new FortressNotInsertableSlot(this.screenInventory, column + clientCurrentRow * 9, 8 + column * 18, 80 + clientCurrentRow * 18));
-            }
-            clientCurrentRow++;
-        }
-        super.setStackInSlot(slot, revision, stack);
+    public void setRowsCount(int rowsCount) {
+        this.rowsCount = rowsCount;
     }
 
     @Override
-    public void updateSlotStacks(int revision, List<ItemStack> stacks, ItemStack cursorStack) {
-        while (slots.size() < stacks.size()) {
-            for (int column = 0; column < 9; ++column) {
-                this.addSlot(new FortressNotInsertableSlot(this.screenInventory, column + clientCurrentRow * 9, 8 + column * 18, 80 + clientCurrentRow * 18));
-            }
-            clientCurrentRow++;
+    public void updateItemCounts(Map<Item, Integer> changedCounts) {
+        changedCounts.forEach((item, count) -> {
+            if(count > 0) itemCounts.put(item, count);
+            else itemCounts.remove(item);
+        });
+        this.itemCountsVersion++;
+    }
+
+    public Map<Item, Integer> getItemCounts() {
+        return itemCounts;
+    }
+
+    public int getItemCountsVersion() {
+        return itemCountsVersion;
+    }
+
+    @Override
+    public void sendContentUpdates() {
+        super.sendContentUpdates();
+        if(virtualInventory == null || !(player instanceof ServerPlayerEntity serverPlayer)) return;
+        // the client only tracks the visible slots, so the recipe book gets the amounts of all the items in the session
+        final var rows = getRowsCount();
+        final var changeCount = ((FortressSimpleInventory) virtualInventory).get_ChangeCount();
+        if(rows == syncedRowsCount && changeCount == syncedChangeCount) return;
+        final var changedCounts = changeCount != syncedChangeCount ? updateServerItemCounts() : Collections.<Item, Integer>emptyMap();
+        if(rows != syncedRowsCount || !changedCounts.isEmpty())
+            FortressServerNetworkHelper.send(serverPlayer, S2CSyncScreenRowsPacket.CHANNEL, new S2CSyncScreenRowsPacket(syncId, rows, changedCounts));
+        syncedRowsCount = rows;
+        syncedChangeCount = changeCount;
+    }
+
+    private Map<Item, Integer> updateServerItemCounts() {
+        final var counts = virtualInventory.getItemCounts();
+        final var changedCounts = new HashMap<Item, Integer>();
+        counts.forEach((item, count) -> {
+            if(!count.equals(itemCounts.get(item))) changedCounts.put(item, count);
+        });
+        for (Item item : itemCounts.keySet()) {
+            if(!counts.containsKey(item)) changedCounts.put(item, 0);
         }
-        super.updateSlotStacks(revision, stacks, cursorStack);
+        itemCounts.clear();
+        itemCounts.putAll(counts);
+        return changedCounts;
     }
 
     @Override
@@ -85,19 +128,6 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
         for (int column = 0; column < 9; ++column) {
             this.addSlot(new FortressNotInsertableSlot(this.screenInventory, column + 27, 8 + column * 18, 142));
         }
-
-        if(this.IServerResourceManager != null) {
-            int rowsCount = getRowsCount();
-            if(rowsCount > 4) {
-                for (int row = 0; row < rowsCount-4; row++) {
-                    for (int column = 0; column < 9; ++column) {
-                        this.addSlot(new FortressNotInsertableSlot(this.screenInventory, column + (row+4) * 9, 8 + column * 18, 150 + row * 18));
-                    }
-                }
-            }
-
-            this.scrollItems(0f);
-        }
     }
 
     @Override
@@ -116,7 +146,7 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
             ItemStack itemStack2 = new FortressItemStack(stack.getItem(), stack.getCount());
             itemStack = itemStack2.copy();
             if (index == 0) {
-                if (!this.insertItem(itemStack2, 10, this.slots.size(), false)) {
+                if (!this.insertIntoScrollableSlots(itemStack2, 10)) {
                     return ItemStack.EMPTY;
                 }
                 slot.onQuickTransfer(itemStack2, itemStack);
@@ -139,6 +169,16 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
         return itemStack;
     }
 
+    protected boolean insertIntoScrollableSlots(ItemStack stack, int firstSlot) {
+        if(virtualInventory == null)
+            return this.insertItem(stack, firstSlot, this.slots.size(), false);
+        // the visible rows can be full while there is still room in the rows scrolled away
+        final var count = stack.getCount();
+        final var remainder = virtualInventory.addStack(new FortressItemStack(stack.getItem(), count));
+        stack.setCount(remainder.getCount());
+        return stack.getCount() != count;
+    }
+
     public SimpleInventory getScreenInventory() {
         return screenInventory;
     }
@@ -176,37 +216,22 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
     @Override
     public void scrollItems(float position) {
         if(IServerResourceManager == null) {
-            final var packet = new ServerboundScrollCurrentScreenPacket(position);
-            FortressClientNetworkHelper.send(FortressChannelNames.SCROLL_CURRENT_SCREEN, packet);
+            // the scroll events are sent once per tick, see sendPendingScroll
+            this.pendingScrollPosition = position;
             return;
         }
 
-        final var totalRows = getRowsCount();
-        int totalAdditionalRows = totalRows - 4;
-        int rowOffset = (int)((double)(position * (float)totalAdditionalRows) + 0.5);
-        if (rowOffset < 0) {
-            rowOffset = 0;
-        }
-        for (int row = 0; row < totalRows; ++row) {
-            for (int column = 0; column < 9; ++column) {
-                var currentRow = row + rowOffset;
-                if (currentRow >= totalRows) {
-                    currentRow -= totalRows;
-                }
-                int m = column + currentRow * 9;
-                if (m >= 0 && m < this.virtualInventory.size()) {
-                    screenInventory.setStack(column + row * 9, virtualInventory.get(m));
-                    continue;
-                }
-                screenInventory.setStack(column + row * 9, ItemStack.EMPTY);
-            }
-        }
-
-        this.virtualInventory.setRowsOffset(rowOffset);
+        final var additionalRows = getRowsCount() - VISIBLE_ROWS;
+        final var offset = (int)((double)(position * (float)additionalRows) + 0.5);
+        // the slots read the items through the offset, only the changed ones are resynced with the next content update
+        this.rowsOffset = MathHelper.clamp(offset, 0, Math.max(additionalRows, 0));
     }
 
-    public VirtualInventory getVirtualInventory() {
-        return virtualInventory;
+    public void sendPendingScroll() {
+        if(pendingScrollPosition == null) return;
+        final var packet = new ServerboundScrollCurrentScreenPacket(pendingScrollPosition);
+        FortressClientNetworkHelper.send(FortressChannelNames.SCROLL_CURRENT_SCREEN, packet);
+        this.pendingScrollPosition = null;
     }
 
     @Override
@@ -239,15 +264,22 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
 
         @Override
         public void setStackNoCallbacks(ItemStack stack) {
-            final var handler = AbstractFortressRecipeScreenHandler.this;
-            if(handler.virtualInventory != null)
-                handler.virtualInventory.set(this.getIndex(), stack);
-            super.setStackNoCallbacks(stack);
+            this.inventory.setStack(getInventoryIndex(), stack);
+            this.markDirty();
         }
 
         @Override
         public ItemStack getStack() {
-            return super.getStack();
+            return this.inventory.getStack(getInventoryIndex());
+        }
+
+        @Override
+        public ItemStack takeStack(int amount) {
+            return this.inventory.removeStack(getInventoryIndex(), amount);
+        }
+
+        private int getInventoryIndex() {
+            return this.getIndex() + AbstractFortressRecipeScreenHandler.this.rowsOffset * 9;
         }
 
         @Override
@@ -266,6 +298,7 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
                     final var i = fortressSimpleInventory.index_Of(stack);
                     if(i != -1) {
                         this.inventory.getStack(i).increment(count);
+                        this.inventory.markDirty();
                         stack.decrement(count);
                     } else {
                         final var split = stack.split(count);
@@ -281,71 +314,46 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
         }
     }
 
-    protected final class VirtualInventory {
+    protected final class VirtualInventory extends SimpleInventory {
 
         private final Map<Item, Integer> itemsBefore;
-        private final List<ItemStack> items;
-
-        private int rowsOffset = 0;
 
         VirtualInventory(List<ItemStack> items) {
-            this.items = new ArrayList<>(items.stream().filter(it -> !it.isEmpty()).toList());
-            this.itemsBefore = this.items
+            super(getSize(items));
+            for (int i = 0; i < items.size(); i++) {
+                this.setStack(i, items.get(i));
+            }
+            this.itemsBefore = items
                     .stream()
                     .collect(Collectors.collectingAndThen(Collectors.toMap(ItemStack::getItem, ItemStack::getCount), Collections::unmodifiableMap));
         }
 
-        boolean full() {
-            return this.items.stream().noneMatch(ItemStack::isEmpty);
-        }
-
-        ItemStack get(int index) {
-            return this.items.get(index);
-        }
-
-        boolean hasItem(Item item) {
-            return this.items.stream().anyMatch(it -> it.getItem().equals(item));
+        @Override
+        public ItemStack addStack(ItemStack stack) {
+            final var remainder = super.addStack(stack);
+            if(remainder.isEmpty()) return remainder;
+            // the rows count is resynced with the next content update
+            ((FortressSimpleInventory) this).grow_To(this.size() + FREE_ROWS * 9);
+            return super.addStack(remainder);
         }
 
-        void addItem(ItemStack itemStack) {
-            for (int i = 0; i < items.size(); i++) {
-                if (items.get(i).isEmpty()) {
-                    items.set(i, itemStack);
-                    return;
-                }
+        Map<Item, Integer> getItemCounts() {
+            final var counts = new HashMap<Item, Integer>();
+            for (int i = 0; i < this.size(); i++) {
+                final var stack = this.getStack(i);
+                if(!stack.isEmpty()) counts.merge(stack.getItem(), stack.getCount(), Integer::sum);
             }
+            return counts;
         }
 
-        void set(int index, ItemStack stack) {
-            final var slots = AbstractFortressRecipeScreenHandler.this.slots;
-
-            final var storageSlotsCount = slots.size() - AbstractFortressRecipeScreenHandler.this.getCraftingSlotCount();
-            while (storageSlotsCount>items.size()) {
-                this.items.add(ItemStack.EMPTY);
+        InventoryDiff getDiff() {
+            final var items = new ArrayList<ItemStack>();
+            for (int i = 0; i < this.size(); i++) {
+                final var stack = this.getStack(i);
+                if(!stack.isEmpty()) items.add(stack);
             }
 
-            final var realIndex = index + rowsOffset * 9;
-            final var itemsCount = this.items.size();
-
-            final var insertIndex = realIndex < itemsCount ? realIndex : (realIndex - itemsCount);
-
-            if(this.items.get(insertIndex).isEmpty() || stack.isEmpty() || this.items.get(insertIndex).equals(stack))
-                this.items.set(insertIndex, stack);
-            else
-                throw new IllegalStateException();
-        }
-
-        void setRowsOffset(int rowsOffset) {
-            this.rowsOffset = rowsOffset;
-        }
-
-        int size() {
-            return this.items.size();
-        }
-
-        InventoryDiff getDiff() {
-            final var itemsAfter = this.items.stream()
-                    .filter(it -> !it.isEmpty())
+            final var itemsAfter = items.stream()
                     .map(ItemStack::getItem)
                     .collect(Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
 
@@ -356,13 +364,11 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
                     .toList();
 
             final var itemsToAdd = items.stream()
-                    .filter(it -> !it.isEmpty())
                     .filter(it -> !itemsBefore.containsKey(it.getItem()))
                     .map(it -> new ItemInfo(it.getItem(), it.getCount()))
                     .toList();
 
             final var itemsToUpdate = items.stream()
-                    .filter(it -> !it.isEmpty())
                     .filter(it -> itemsBefore.containsKey(it.getItem()))
                     .map(it -> new ItemInfo(it.getItem(), it.getCount() - itemsBefore.get(it.getItem())))
                     .toList();
@@ -370,6 +376,12 @@ public abstract class AbstractFortressRecipeScreenHandler<T extends Inventory> e
             return new InventoryDiff(itemsToAdd, itemsToUpdate, itemsToRemove);
         }
 
+        private static int getSize(List<ItemStack> items) {
+            // a few free rows for the returned crafting inputs and the crafted items
+            final var rows = (items.size() + 8) / 9 + FREE_ROWS;
+            return Math.max(rows, VISIBLE_ROWS) * 9;
+        }
+
     }
 
     protected record InventoryDiff(List<ItemInfo> added, List<ItemInfo> updated, List<ItemInfo> removed) {}
@@ -4,6 +4,8 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.recipebook.RecipeBookWidget;
 import net.minecraft.client.recipebook.ClientRecipeBook;
 import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeEntry;
 import net.minecraft.recipe.RecipeType;
@@ -11,9 +13,12 @@ import net.minecraft.screen.AbstractRecipeScreenHandler;
 import org.minefortress.fortress.resources.gui.craft.FortressCraftingScreenHandler;
 import org.minefortress.interfaces.FortressSimpleInventory;
 
+import java.util.Map;
+
 public class FortressRecipeBookWidget extends RecipeBookWidget {
 
     private int cachedInvChangeCount;
+    private int cachedItemCountsVersion;
     private final RecipeType recipeType;
 
     public FortressRecipeBookWidget(RecipeType<? extends Recipe<? extends Inventory>> recipeType) {
@@ -44,14 +49,19 @@ public class FortressRecipeBookWidget extends RecipeBookWidget {
     public void update() {
         super.update();
         if(this.craftingScreenHandler instanceof FortressCraftingScreenHandler fortressHandler) {
+            // the screen only holds the visible rows, so the recipes are matched against the items synced for the whole session
             final var screenInventory = (FortressSimpleInventory) fortressHandler.getScreenInventory();
             final var changeCount = screenInventory.get_ChangeCount();
-            if (this.cachedInvChangeCount != changeCount) {
+            final var itemCountsVersion = fortressHandler.getItemCountsVersion();
+            if (this.cachedInvChangeCount != changeCount || this.cachedItemCountsVersion != itemCountsVersion) {
                 this.recipeFinder.clear();
-                screenInventory.populate_RecipeFinder(this.recipeFinder);
+                for (Map.Entry<Item, Integer> entry : fortressHandler.getItemCounts().entrySet()) {
+                    this.recipeFinder.addInput(new ItemStack(entry.getKey(), entry.getValue()), Integer.MAX_VALUE);
+                }
                 this.craftingScreenHandler.populateRecipeFinder(this.recipeFinder);
                 this.refreshResults(false);
                 this.cachedInvChangeCount = changeCount;
+                this.cachedItemCountsVersion = itemCountsVersion;
             }
         }
     }
@@ -144,7 +144,7 @@ public class FortressFurnaceScreenHandler extends AbstractFortressRecipeScreenHa
             ItemStack itemStack2 = slot.getStack();
             itemStack = itemStack2.copy();
             if (index == 2) {
-                if (!this.insertItem(itemStack2, 3, super.slots.size(), false)) {
+                if (!this.insertIntoScrollableSlots(itemStack2, 3)) {
                     return ItemStack.EMPTY;
                 }
                 slot.onQuickTransfer(itemStack2, itemStack);
@@ -2,21 +2,27 @@ package org.minefortress.fortress.resources.server;
 
 import net.minecraft.item.Item;
 
+import java.util.function.ObjIntConsumer;
+
 class EasyItemStack {
 
     private final Item item;
+    private final ObjIntConsumer<Item> changeListener;
 
-    EasyItemStack(Item item) {
+    EasyItemStack(Item item, ObjIntConsumer<Item> changeListener) {
         this.item = item;
+        this.changeListener = changeListener;
     }
 
     private int amount = 0;
 
     void decrease() {
+        final var oldAmount = amount;
         amount--;
         if (amount < 0) {
             amount = 0;
         }
+        notifyChanged(oldAmount);
     }
 
     int getAmount() {
@@ -24,19 +30,25 @@ class EasyItemStack {
     }
 
     void increaseBy(int amount) {
+        final var oldAmount = this.amount;
         this.amount += amount;
+        notifyChanged(oldAmount);
     }
 
     void decreaseBy(int amount) {
         if(this.amount  < amount) throw new RuntimeException("Tried to decrease by more than the amount of items in the stack");
+        final var oldAmount = this.amount;
         this.amount -= amount;
         if (this.amount < 0) {
             this.amount = 0;
         }
+        notifyChanged(oldAmount);
     }
 
     void setAmount(int amount) {
+        final var oldAmount = this.amount;
         this.amount = amount;
+        notifyChanged(oldAmount);
     }
 
     boolean hasEnough(int amount) {
@@ -47,4 +59,8 @@ class EasyItemStack {
         return item;
     }
 
+    private void notifyChanged(int oldAmount) {
+        if(oldAmount != amount) changeListener.accept(item, amount - oldAmount);
+    }
+
 }
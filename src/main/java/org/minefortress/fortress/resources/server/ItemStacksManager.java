@@ -4,30 +4,40 @@ import net.minecraft.item.Item;
 import org.minefortress.fortress.resources.ItemInfo;
 import org.minefortress.fortress.resources.SimilarItemsHelper;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 class ItemStacksManager {
 
     private final Map<Item, EasyItemStack> stacks = new HashMap<>();
+    private int[] groupAmounts = new int[0];
+    private int groupsVersion = -1;
 
     public void clear() {
         stacks.clear();
+        Arrays.fill(groupAmounts, 0);
     }
 
     public EasyItemStack getStack(Item item) {
-        return stacks.computeIfAbsent(item, EasyItemStack::new);
+        return stacks.computeIfAbsent(item, it -> new EasyItemStack(it, this::onAmountChanged));
+    }
+
+    public int getSimilarItemsAmount(Item item) {
+        final var group = SimilarItemsHelper.getGroupId(item);
+        if(group < 0) return 0;
+        ensureGroupsCounted();
+        final var stack = stacks.get(item);
+        return groupAmounts[group] - (stack == null ? 0 : stack.getAmount());
     }
 
     public List<EasyItemStack> getNonEmptySimilarStacks(Item item) {
-        return SimilarItemsHelper.getSimilarItems(item)
-                .stream()
-                .filter(stacks::containsKey)
-                .map(stacks::get)
-                .filter(it -> it.getAmount() > 0)
-                .toList();
+        if(getSimilarItemsAmount(item) <= 0) return Collections.emptyList();
+        final var nonEmptyStacks = new ArrayList<EasyItemStack>();
+        for(Item similarItem : SimilarItemsHelper.getSimilarItems(item)) {
+            final var stack = stacks.get(similarItem);
+            if(stack != null && stack.getAmount() > 0) nonEmptyStacks.add(stack);
+        }
+        return nonEmptyStacks;
     }
 
     public List<ItemInfo> getAll() {
@@ -38,4 +48,23 @@ class ItemStacksManager {
                 .collect(Collectors.toList());
     }
 
+    private void onAmountChanged(Item item, int delta) {
+        if(groupsVersion != SimilarItemsHelper.getVersion()) return;
+        for(int group : SimilarItemsHelper.getGroupsContaining(item)) {
+            groupAmounts[group] += delta;
+        }
+    }
+
+    private void ensureGroupsCounted() {
+        final var version = SimilarItemsHelper.getVersion();
+        if(groupsVersion == version) return;
+        groupAmounts = new int[SimilarItemsHelper.getGroupsCount()];
+        for(EasyItemStack stack : stacks.values()) {
+            for(int group : SimilarItemsHelper.getGroupsContaining(stack.getItem())) {
+                groupAmounts[group] += stack.getAmount();
+            }
+        }
+        groupsVersion = version;
+    }
+
 }
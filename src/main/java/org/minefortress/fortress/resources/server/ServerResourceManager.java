@@ -1,5 +1,7 @@
 package org.minefortress.fortress.resources.server;
 
+import it.unimi.dsi.fastutil.ints.Int2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import net.minecraft.item.BlockItem;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -24,10 +26,15 @@ import java.util.*;
 
 public class ServerResourceManager implements IServerResourceManager, ITickableManager, IWritableManager {
 
+    private static final int DEFAULT_SYNC_INTERVAL = 5;
+
     private final Synchronizer synchronizer = new Synchronizer();
 
     private final ItemStacksManager resources = new ItemStacksManager();
     private final Map<UUID, ItemStacksManager> reservedResources = new HashMap<>();
+    private boolean dirty = false;
+
+    ServerResourceManager() {}
 
     public ServerResourceManager(MinecraftServer server) {
         final var reader = new ServerStartingInventoryReader(server);
@@ -45,6 +52,7 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
     public void setItemAmount(Item item, int amount) {
         final var stack = resources.getStack(item);
         stack.setAmount(amount);
+        dirty = true;
 
         synchronizer.syncItem(item, stack.getAmount());
     }
@@ -53,6 +61,7 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
     public void increaseItemAmount(Item item, int amount) {
         final var stack = resources.getStack(item);
         stack.increaseBy(amount);
+        dirty = true;
 
         synchronizer.syncItem(item, stack.getAmount());
     }
@@ -63,6 +72,7 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
 
         final var reservedItemsManager = this.getManagerFromTaskId(taskId);
         final var infosToSync = new ArrayList<ItemInfo>();
+        dirty = true;
         for(IItemInfo info : infos) {
             final var item = info.item();
             final var requiredAmount = info.amount();
@@ -141,6 +151,7 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
             final var stack = resources.getStack(itemInfo.item());
             if(stack.getAmount()<=0)return;
             stack.decreaseBy(itemInfo.amount());
+            dirty = true;
             synchronizer.syncItem(itemInfo.item(), stack.getAmount());
         }
     }
@@ -149,6 +160,7 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
     public void returnReservedItems(UUID taskId) {
         if(!reservedResources.containsKey(taskId)) return;
         final var manager = this.getManagerFromTaskId(taskId);
+        dirty = true;
 
         final var infosToSync = new ArrayList<ItemInfo>();
         for(ItemInfo info: manager.getAll()) {
@@ -181,7 +193,14 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
         }
 
         tag.put("resources", stacks);
+        tag.putInt("resourcesSyncInterval", synchronizer.getSyncInterval());
 //        this.resources.clear();
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
     }
 
     @Override
@@ -199,6 +218,9 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
                 this.resources.getStack(item).increaseBy(amount);
             }
         }
+        if(tag.contains("resourcesSyncInterval")) {
+            synchronizer.setSyncInterval(tag.getInt("resourcesSyncInterval"));
+        }
     }
 
     @Override
@@ -222,16 +244,12 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
             final var amount = info.amount();
             final var stack = resources.getStack(item);
             if(!stack.hasEnough(amount)) {
-                final var sumAmountOfSimilarItems = resources.getNonEmptySimilarStacks(item)
-                        .stream()
-                        .map(EasyItemStack::getAmount)
-                        .reduce(0, Integer::sum);
+                final var sumAmountOfSimilarItems = resources.getSimilarItemsAmount(item);
 
-                final var similarItemsSet = new HashSet<>(SimilarItemsHelper.getSimilarItems(item));
-                final var requiredSimilarItems = infos.stream()
-                        .filter(it -> similarItemsSet.contains(it.item()))
-                        .mapToInt(IItemInfo::amount)
-                        .sum();
+                int requiredSimilarItems = 0;
+                for(IItemInfo other : infos) {
+                    if(SimilarItemsHelper.areSimilar(item, other.item())) requiredSimilarItems += other.amount();
+                }
 
                 if(sumAmountOfSimilarItems - requiredSimilarItems + stack.getAmount() < amount) return false;
             }
@@ -243,6 +261,12 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
         return reservedResources.computeIfAbsent(taskId, k -> new ItemStacksManager());
     }
 
+    @Override
+    public void setSyncInterval(int ticks) {
+        this.synchronizer.setSyncInterval(ticks);
+        this.dirty = true;
+    }
+
     public void syncAll() {
         this.synchronizer.reset();
         this.synchronizer.syncAll(resources.getAll());
@@ -250,28 +274,48 @@ public class ServerResourceManager implements IServerResourceManager, ITickableM
 
     private static class Synchronizer {
 
-        private final List<IItemInfo> infosToSync = new ArrayList<>();
+        private final Int2IntMap amountsToSync = new Int2IntLinkedOpenHashMap();
         private boolean needReset = false;
+        private int syncInterval = DEFAULT_SYNC_INTERVAL;
+        private int ticksSinceSync = 0;
 
         void reset() {
-            this.infosToSync.clear();
+            this.amountsToSync.clear();
             this.needReset = true;
         }
 
         void sync(ServerPlayerEntity player) {
-            if(player == null || (infosToSync.isEmpty() && !needReset)) return;
+            ticksSinceSync++;
+            if(player == null || (amountsToSync.isEmpty() && !needReset)) return;
+            if(!needReset && ticksSinceSync < syncInterval) return;
+
+            final var infosToSync = new ArrayList<IItemInfo>(amountsToSync.size());
+            for(Int2IntMap.Entry entry : amountsToSync.int2IntEntrySet()) {
+                infosToSync.add(new ItemInfo(Item.byRawId(entry.getIntKey()), entry.getIntValue()));
+            }
             final var packet = new ClientboundSyncItemsPacket(infosToSync, needReset);
             FortressServerNetworkHelper.send(player, FortressChannelNames.FORTRESS_RESOURCES_SYNC, packet);
-            infosToSync.clear();
+            amountsToSync.clear();
             this.needReset = false;
+            this.ticksSinceSync = 0;
         }
 
         void syncItem(Item item, int amount) {
-            infosToSync.add(new ItemInfo(item, amount));
+            amountsToSync.put(Item.getRawId(item), amount);
         }
 
         void syncAll(List<ItemInfo> items) {
-            infosToSync.addAll(items);
+            for(ItemInfo info : items) {
+                syncItem(info.item(), info.amount());
+            }
+        }
+
+        int getSyncInterval() {
+            return syncInterval;
+        }
+
+        void setSyncInterval(int syncInterval) {
+            this.syncInterval = Math.max(1, syncInterval);
         }
 
     }
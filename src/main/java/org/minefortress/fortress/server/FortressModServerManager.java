@@ -5,10 +5,11 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.PlayerManager;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.remmintan.mods.minefortress.core.interfaces.server.IFortressModServerManager;
+import net.remmintan.mods.minefortress.core.interfaces.server.IFortressTickProfiler;
 import net.remmintan.mods.minefortress.core.interfaces.server.IServerFortressManager;
 import net.remmintan.mods.minefortress.core.interfaces.server.IServerManagersProvider;
-import net.remmintan.mods.minefortress.core.utils.ModPathUtils;
 import org.minefortress.fortress.ServerFortressManager;
 
 import java.util.HashMap;
@@ -22,11 +23,16 @@ public class FortressModServerManager implements IFortressModServerManager {
     private final MinecraftServer server;
     private final Map<UUID, ServerFortressManager> serverManagers = new HashMap<>();
 
+    private final FortressPersistence persistence;
+    private final FortressTickProfiler tickProfiler = new FortressTickProfiler();
+
     private boolean campfireEnabled;
     private boolean borderEnabled;
+    private boolean globalDirty = true;
 
     public FortressModServerManager(MinecraftServer server) {
         this.server = server;
+        this.persistence = new FortressPersistence(server.session, MANAGERS_FILE_NAME);
     }
 
     public IServerManagersProvider getManagersProvider(ServerPlayerEntity player) {
@@ -65,24 +71,54 @@ public class FortressModServerManager implements IFortressModServerManager {
             final var playerId = entry.getKey();
             final var manager = entry.getValue();
             final var player = playerManager.getPlayer(playerId);
-            manager.tick(player);
+            manager.tick(player, tickProfiler.getFortressStats(playerId));
+        }
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos pos) {
+        for (ServerFortressManager manager : serverManagers.values()) {
+            manager.onBlockChanged(pos);
+        }
+    }
+
+    @Override
+    public void onChunkLoaded(ChunkPos pos) {
+        for (ServerFortressManager manager : serverManagers.values()) {
+            manager.onChunkLoaded(pos);
+        }
+    }
+
+    @Override
+    public void onChunkUnloaded(ChunkPos pos) {
+        for (ServerFortressManager manager : serverManagers.values()) {
+            manager.onChunkUnloaded(pos);
         }
     }
 
     public void save() {
-        final var nbt = new NbtCompound();
         for (Map.Entry<UUID, ServerFortressManager> entry : serverManagers.entrySet()) {
-            final var fortressNbt = new NbtCompound();
             final var id = entry.getKey();
             final var manager = entry.getValue();
+            // only the fortresses changed since the last save are serialized
+            if(!manager.isDirty() && !persistence.hasFailed(id)) continue;
+            final var fortressNbt = new NbtCompound();
             manager.writeToNbt(fortressNbt);
-            nbt.put(id.toString(), fortressNbt);
+            persistence.writeFortress(id, fortressNbt);
         }
 
+        if(!globalDirty && !persistence.hasGlobalFailed()) return;
+        globalDirty = false;
+        final var nbt = new NbtCompound();
         nbt.putBoolean("campfireEnabled", campfireEnabled);
         nbt.putBoolean("borderEnabled", borderEnabled);
 
-        ModPathUtils.saveNbt(nbt, MANAGERS_FILE_NAME, server.session);
+        persistence.writeGlobal(nbt);
+    }
+
+    @Override
+    public void close() {
+        persistence.close();
     }
 
     public void load() {
@@ -90,11 +126,12 @@ public class FortressModServerManager implements IFortressModServerManager {
     }
 
     public void load(boolean campfireEnabled, boolean borderEnabled) {
-        final var nbtCompound = ModPathUtils.readNbt(MANAGERS_FILE_NAME, server.session);
+        final var nbtCompound = persistence.readGlobal();
 
         boolean campfireEnabledSet = false;
         boolean borderEnabledSet = false;
 
+        final var fortresses = new HashMap<UUID, NbtCompound>();
         for (String key : nbtCompound.getKeys()) {
             if(key.equals("campfireEnabled")) {
                 this.campfireEnabled = nbtCompound.getBoolean(key);
@@ -108,12 +145,16 @@ public class FortressModServerManager implements IFortressModServerManager {
                 continue;
             }
 
-            final var managerNbt = nbtCompound.getCompound(key);
-            final var masterPlayerId = UUID.fromString(key);
+            // fortresses saved before they were split into separate files
+            fortresses.put(UUID.fromString(key), nbtCompound.getCompound(key));
+        }
+        fortresses.putAll(persistence.readFortresses());
+
+        for (Map.Entry<UUID, NbtCompound> entry : fortresses.entrySet()) {
             final var manager = new ServerFortressManager(server);
-            manager.readFromNbt(managerNbt);
+            manager.readFromNbt(entry.getValue());
 
-            serverManagers.put(masterPlayerId, manager);
+            serverManagers.put(entry.getKey(), manager);
         }
 
         if(!campfireEnabledSet) {
@@ -137,6 +178,11 @@ public class FortressModServerManager implements IFortressModServerManager {
         return Optional.empty();
     }
 
+    @Override
+    public IFortressTickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
     public boolean isCampfireEnabled() {
         return campfireEnabled;
     }
@@ -0,0 +1,102 @@
+package org.minefortress.fortress.server;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.world.level.storage.LevelStorage;
+import net.remmintan.mods.minefortress.core.utils.ModPathUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class FortressPersistence {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String FORTRESSES_FOLDER = "fortresses";
+    private static final String GLOBAL_KEY = "global";
+
+    private final LevelStorage.Session session;
+    private final String globalFileName;
+    // the failed fortresses are written again with the next save even if they didn't change
+    private final Set<String> failedKeys = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        final var thread = new Thread(r, "MineFortress Persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    FortressPersistence(LevelStorage.Session session, String globalFileName) {
+        this.session = session;
+        this.globalFileName = globalFileName;
+    }
+
+    NbtCompound readGlobal() {
+        return ModPathUtils.readNbt(globalFileName, session);
+    }
+
+    Map<UUID, NbtCompound> readFortresses() {
+        final var fortresses = new HashMap<UUID, NbtCompound>();
+        for (Map.Entry<String, NbtCompound> entry : ModPathUtils.readAllTagsByName(FORTRESSES_FOLDER, session).entrySet()) {
+            try {
+                fortresses.put(UUID.fromString(entry.getKey()), entry.getValue());
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Skipping unexpected fortress file {}", entry.getKey());
+            }
+        }
+        return fortresses;
+    }
+
+    void writeGlobal(NbtCompound snapshot) {
+        write(GLOBAL_KEY, globalFileName, snapshot);
+    }
+
+    boolean hasFailed(UUID fortressId) {
+        return failedKeys.contains(fortressId.toString());
+    }
+
+    boolean hasGlobalFailed() {
+        return failedKeys.contains(GLOBAL_KEY);
+    }
+
+    void writeFortress(UUID fortressId, NbtCompound snapshot) {
+        final var key = fortressId.toString();
+        write(key, FORTRESSES_FOLDER + "/" + key + ".nbt", snapshot);
+    }
+
+    private void write(String key, String fileName, NbtCompound snapshot) {
+        failedKeys.remove(key);
+
+        final Runnable writeTask = () -> {
+            try {
+                ModPathUtils.saveNbtAtomically(snapshot, fileName, session);
+            } catch (RuntimeException e) {
+                failedKeys.add(key);
+                LOGGER.error("Failed to save " + fileName, e);
+            }
+        };
+
+        try {
+            executor.execute(writeTask);
+        } catch (RejectedExecutionException e) {
+            writeTask.run();
+        }
+    }
+
+    void close() {
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(1, TimeUnit.MINUTES))
+                LOGGER.error("Timed out while waiting for the fortresses to be saved");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.minefortress.fortress.server;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.remmintan.mods.minefortress.core.interfaces.server.IFortressTickProfiler;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+public class FortressTickProfiler implements IFortressTickProfiler {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private final Map<UUID, FortressStats> statsByFortress = new LinkedHashMap<>();
+    private boolean enabled = false;
+
+    @Nullable
+    public FortressStats getFortressStats(UUID fortressId) {
+        if(!enabled) return null;
+        return statsByFortress.computeIfAbsent(fortressId, it -> new FortressStats());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        statsByFortress.clear();
+    }
+
+    @Override
+    public List<ManagerTickStats> getStats() {
+        final var stats = new ArrayList<ManagerTickStats>();
+        for(Map.Entry<UUID, FortressStats> fortressEntry : statsByFortress.entrySet()) {
+            for(Map.Entry<Class<?>, Stats> entry : fortressEntry.getValue().stats.entrySet()) {
+                final var value = entry.getValue();
+                stats.add(new ManagerTickStats(fortressEntry.getKey(), entry.getKey().getSimpleName(), value.calls, value.totalNanos, value.maxNanos));
+            }
+        }
+        stats.sort(Comparator.comparingLong(ManagerTickStats::totalNanos).reversed());
+        return stats;
+    }
+
+    @Override
+    public Path dumpToCsv() throws IOException {
+        final var dir = FabricLoader.getInstance().getGameDir().resolve("minefortress").resolve("profiler");
+        Files.createDirectories(dir);
+        final var file = dir.resolve("fortress-ticks-" + LocalDateTime.now().format(FILE_NAME_FORMAT) + ".csv");
+
+        final var lines = new ArrayList<String>();
+        lines.add("fortress,manager,calls,total_nanos,max_nanos,avg_nanos");
+        for(ManagerTickStats stats : getStats()) {
+            lines.add(String.join(",",
+                    stats.fortressId().toString(),
+                    stats.manager(),
+                    String.valueOf(stats.calls()),
+                    String.valueOf(stats.totalNanos()),
+                    String.valueOf(stats.maxNanos()),
+                    String.valueOf(stats.averageNanos())
+            ));
+        }
+        Files.write(file, lines);
+        return file;
+    }
+
+    public static final class FortressStats {
+
+        private final Map<Class<?>, Stats> stats = new LinkedHashMap<>();
+
+        public void record(Class<?> manager, long nanos) {
+            final var managerStats = stats.computeIfAbsent(manager, it -> new Stats());
+            managerStats.calls++;
+            managerStats.totalNanos += nanos;
+            managerStats.maxNanos = Math.max(managerStats.maxNanos, nanos);
+        }
+
+    }
+
+    private static final class Stats {
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+    }
+
+}
@@ -13,5 +13,6 @@ public interface FortressSimpleInventory extends Inventory {
     int index_Of(ItemStack stack);
     void populate_RecipeFinder(RecipeMatcher recipeMatcher);
     int get_ChangeCount();
+    void grow_To(int size);
 
 }
@@ -123,7 +123,7 @@ public abstract class FortressMinecraftClientMixin extends ReentrantThreadExecut
         influenceManager = new ClientInfluenceManager(client);
 
 
-        blueprintRenderer = new BlueprintRenderer(this::getProperBlockDataProviderBasedOnState, client, blockBufferBuilderStorage);
+        blueprintRenderer = new BlueprintRenderer(this::getProperBlockDataProviderBasedOnState, client);
         campfireRenderer = new CampfireRenderer(client, blockBufferBuilderStorage);
         Map<RenderLayer, BufferBuilder> selectionBufferBuilderStorage = Map.ofEntries(
                 entry(RenderLayer.getLines(), new BufferBuilder(256)),
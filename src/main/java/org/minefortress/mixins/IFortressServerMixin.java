@@ -80,6 +80,11 @@ public abstract class IFortressServerMixin extends ReentrantThreadExecutor<Serve
         }
     }
 
+    @Inject(method = "saveAll", at = @At("RETURN"))
+    public void saveAll(boolean suppressLogs, boolean flush, boolean force, CallbackInfoReturnable<Boolean> cir) {
+        fortressModServerManager.save();
+    }
+
     @Override
     public BlueprintsWorld get_BlueprintsWorld() {
         return blueprintsWorld;
@@ -3,29 +3,27 @@ package org.minefortress.mixins.renderer;
 
 import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
-import net.minecraft.block.BlockState;
-import net.minecraft.block.ShapeContext;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.*;
 import net.minecraft.client.render.block.entity.BlockEntityRenderDispatcher;
 import net.minecraft.client.render.entity.EntityRenderDispatcher;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.client.world.ClientWorld;
-import net.minecraft.entity.Entity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.border.WorldBorder;
 import net.remmintan.mods.minefortress.core.FortressState;
 import net.remmintan.mods.minefortress.core.interfaces.client.IClientManagersProvider;
 import net.remmintan.mods.minefortress.core.utils.CoreModUtils;
 import org.joml.Matrix4f;
-import org.joml.Vector4f;
 import org.minefortress.fortress.FortressBorder;
 import org.minefortress.interfaces.IFortressMinecraftClient;
+import org.minefortress.renderer.BuildingOutlineRenderer;
 import org.minefortress.renderer.MineFortressLabelsRenderer;
 import org.minefortress.utils.ModUtils;
 import org.spongepowered.asm.mixin.Final;
@@ -36,9 +34,6 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.List;
-import java.util.function.BiFunction;
-
 @Mixin(WorldRenderer.class)
 public abstract class FortressWorldRendererMixin  {
 
@@ -48,6 +43,8 @@ public abstract class FortressWorldRendererMixin  {
     @Shadow @Final private BufferBuilderStorage bufferBuilders;
 
     private MineFortressLabelsRenderer entityRenderer;
+    @Unique
+    private final BuildingOutlineRenderer buildingOutlineRenderer = new BuildingOutlineRenderer();
 
     @Inject(method = "<init>", at = @At("TAIL"))
     public void init(MinecraftClient client, EntityRenderDispatcher entityRenderDispatcher, BlockEntityRenderDispatcher blockEntityRenderDispatcher, BufferBuilderStorage bufferBuilders, CallbackInfo ci) {
@@ -59,6 +56,17 @@ public abstract class FortressWorldRendererMixin  {
         );
     }
 
+    @Inject(method = "setWorld", at = @At("HEAD"))
+    public void setWorld(ClientWorld world, CallbackInfo ci) {
+        // the cached outlines belong to the buildings of the previous world
+        this.buildingOutlineRenderer.close();
+    }
+
+    @Inject(method = "close", at = @At("HEAD"))
+    public void close(CallbackInfo ci) {
+        this.buildingOutlineRenderer.close();
+    }
+
     @Inject(method = "setupTerrain", at = @At("TAIL"))
     public void setupTerrain(Camera camera, Frustum frustum, boolean hasForcedFrustum, boolean spectator, CallbackInfo ci) {
         final IFortressMinecraftClient fortressClient = (IFortressMinecraftClient) this.client;
@@ -80,8 +88,6 @@ public abstract class FortressWorldRendererMixin  {
 
         final var provider = CoreModUtils.getMineFortressManagersProvider();
         final var selectionManager = provider.get_SelectionManager();
-        final var immediate = this.bufferBuilders.getEntityVertexConsumers();
-        final var vertexConsumer = immediate.getBuffer(RenderLayer.getLines());
         final var fcm = provider.get_ClientFortressManager();
         if (!selectionManager.isSelecting() && fcm.getState() == FortressState.BUILD) {
             if(ModUtils.isClientInFortressGamemode()) {
@@ -89,15 +95,17 @@ public abstract class FortressWorldRendererMixin  {
                 if(crosshairTarget instanceof BlockHitResult bhr) {
                     BlockPos pos = bhr.getBlockPos();
                     if(pos != null && !world.getBlockState(pos).isAir()) {
-                        final List<BlockPos> buildingSelection = fcm.getBuildingSelection(pos);
-                        for(BlockPos sel: buildingSelection) {
-                            if(this.world.getWorldBorder().contains(sel)) {
-                                final BlockState blockState = this.world.getBlockState(sel);
-                                if(!blockState.isAir()) {
-                                    this.drawBlockOutline(matrices, vertexConsumer, camera.getFocusedEntity(), cameraPos.x, cameraPos.y, cameraPos.z, sel, blockState);
-                                }
-                            }
-                        }
+                        fcm.findHoveredBuilding(pos).ifPresent(building ->
+                            this.buildingOutlineRenderer.render(
+                                    matrices,
+                                    projectionMatrix,
+                                    cameraPos,
+                                    this.world,
+                                    camera.getFocusedEntity(),
+                                    building,
+                                    selectionManager.getClickColor()
+                            )
+                        );
                     }
                 }
             }
@@ -171,12 +179,12 @@ public abstract class FortressWorldRendererMixin  {
 
 
             bufferBuilder.begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
-            BiFunction<Double, Double, Boolean> shouldRenderBoundFunc = (x, z) -> worldBorder instanceof FortressBorder fb && fb.shouldRenderBound(x, z);
-            renderParticularBorder(camera, bufferBuilder, worldBorder, viewDistance, shouldRenderBoundFunc);
             if(worldBorder instanceof FortressBorder fortressBorder) {
-                fortressBorder
-                        .getAdditionalBorders()
-                        .forEach(border -> renderParticularBorder(camera, bufferBuilder, border, viewDistance, shouldRenderBoundFunc));
+                for(FortressBorder.BorderEdge edge : fortressBorder.getOutline()) {
+                    renderBorderWall(camera, bufferBuilder, edge.side(), edge.getBound(), edge.getFrom(), edge.getTo(), viewDistance);
+                }
+            } else {
+                renderParticularBorder(camera, bufferBuilder, worldBorder, viewDistance);
             }
             BufferRenderer.drawWithGlobalProgram(bufferBuilder.end());
             RenderSystem.enableCull();
@@ -192,87 +200,59 @@ public abstract class FortressWorldRendererMixin  {
         ci.cancel();
     }
 
-    private void renderParticularBorder(Camera camera, BufferBuilder bufferBuilder, WorldBorder worldBorder, double viewDistance, BiFunction<Double, Double, Boolean> shouldRenderBound) {
-        float m = (float) (Util.getMeasuringTimeMs() % 3000L) / 3000.0f;
-        float n = (float) (-MathHelper.fractionalPart(camera.getPos().y * 0.5));
-        double cameraX = camera.getPos().x;
-        double cameraZ = camera.getPos().z;
-        double cameraDistance = this.client.gameRenderer.getFarPlaneDistance();
-        float o = n + (float) cameraDistance;
+    @Unique
+    private void renderParticularBorder(Camera camera, BufferBuilder bufferBuilder, WorldBorder worldBorder, double viewDistance) {
+        final var boundWest = worldBorder.getBoundWest();
+        final var boundEast = worldBorder.getBoundEast();
         final var boundNorth = worldBorder.getBoundNorth();
-        double p = Math.max(MathHelper.floor(cameraZ - viewDistance), boundNorth);
         final var boundSouth = worldBorder.getBoundSouth();
-        double q = Math.min(MathHelper.ceil(cameraZ + viewDistance), boundSouth);
-        float r = (float) (MathHelper.floor(p) & 1) * 0.5f;
-        float v;
-        float s;
-        double t;
-        double u;
+        renderBorderWall(camera, bufferBuilder, Direction.EAST, boundEast, boundNorth, boundSouth, viewDistance);
+        renderBorderWall(camera, bufferBuilder, Direction.WEST, boundWest, boundNorth, boundSouth, viewDistance);
+        renderBorderWall(camera, bufferBuilder, Direction.SOUTH, boundSouth, boundWest, boundEast, viewDistance);
+        renderBorderWall(camera, bufferBuilder, Direction.NORTH, boundNorth, boundWest, boundEast, viewDistance);
+    }
 
-        final var centerX = worldBorder.getCenterX();
-        final var centerZ = worldBorder.getCenterZ();
+    @Unique
+    private void renderBorderWall(Camera camera, BufferBuilder bufferBuilder, Direction side, double bound, double from, double to, double viewDistance) {
+        double cameraX = camera.getPos().x;
+        double cameraZ = camera.getPos().z;
+        final var alongX = side.getAxis() == Direction.Axis.Z;
+        final var cameraAcross = alongX ? cameraZ : cameraX;
+        final var cameraAlong = alongX ? cameraX : cameraZ;
+        final var positiveSide = side.getDirection() == Direction.AxisDirection.POSITIVE;
+        if(positiveSide ? cameraAcross <= bound - viewDistance : cameraAcross >= bound + viewDistance) return;
 
-        final var boundEast = worldBorder.getBoundEast();
-        if (cameraX > boundEast - viewDistance && shouldRenderBound.apply(boundEast, centerZ)) {
-            s = r;
-            t = p;
-            while (t < q) {
-                u = Math.min(1.0, q - t);
-                v = (float) u * 0.5f;
-                bufferBuilder.vertex(boundEast - cameraX, -cameraDistance, t - cameraZ).texture(m - s, m + o).next();
-                bufferBuilder.vertex(boundEast - cameraX, -cameraDistance, t + u - cameraZ).texture(m - (v + s), m + o).next();
-                bufferBuilder.vertex(boundEast - cameraX, cameraDistance, t + u - cameraZ).texture(m - (v + s), m + n).next();
-                bufferBuilder.vertex(boundEast - cameraX, cameraDistance, t - cameraZ).texture(m - s, m + n).next();
-                t += 1.0;
-                s += 0.5f;
-            }
-        }
-        final var boundWest = worldBorder.getBoundWest();
-        if (cameraX < boundWest + viewDistance && shouldRenderBound.apply(boundWest, centerZ)) {
-            s = r;
-            t = p;
-            while (t < q) {
-                u = Math.min(1.0, q - t);
-                v = (float) u * 0.5f;
-                bufferBuilder.vertex(boundWest - cameraX, -cameraDistance, t - cameraZ).texture(m + s, m + o).next();
-                bufferBuilder.vertex(boundWest - cameraX, -cameraDistance, t + u - cameraZ).texture(m + v + s, m + o).next();
-                bufferBuilder.vertex(boundWest - cameraX, cameraDistance, t + u - cameraZ).texture(m + v + s, m + n).next();
-                bufferBuilder.vertex(boundWest - cameraX, cameraDistance, t - cameraZ).texture(m + s, m + n).next();
-                t += 1.0;
-                s += 0.5f;
-            }
-        }
-        p = Math.max(MathHelper.floor(cameraX - viewDistance), boundWest);
-        q = Math.min(MathHelper.ceil(cameraX + viewDistance), boundEast);
-        r = (float) (MathHelper.floor(p) & 1) * 0.5f;
-        if (cameraZ > boundSouth - viewDistance && shouldRenderBound.apply(centerX, boundSouth)) {
-            s = r;
-            t = p;
-            while (t < q) {
-                u = Math.min(1.0, q - t);
-                v = (float) u * 0.5f;
-                bufferBuilder.vertex(t - cameraX, -cameraDistance, boundSouth - cameraZ).texture(m + s, m + o).next();
-                bufferBuilder.vertex(t + u - cameraX, -cameraDistance, boundSouth - cameraZ).texture(m + v + s, m + o).next();
-                bufferBuilder.vertex(t + u - cameraX, cameraDistance, boundSouth - cameraZ).texture(m + v + s, m + n).next();
-                bufferBuilder.vertex(t - cameraX, cameraDistance, boundSouth - cameraZ).texture(m + s, m + n).next();
-                t += 1.0;
-                s += 0.5f;
-            }
-        }
+        double p = Math.max(MathHelper.floor(cameraAlong - viewDistance), from);
+        double q = Math.min(MathHelper.ceil(cameraAlong + viewDistance), to);
+        if(p >= q) return;
 
-        if (cameraZ < boundNorth + viewDistance && shouldRenderBound.apply(centerX, boundNorth)) {
-            s = r;
-            t = p;
-            while (t < q) {
-                u = Math.min(1.0, q - t);
-                v = (float) u * 0.5f;
-                bufferBuilder.vertex(t - cameraX, -cameraDistance, boundNorth - cameraZ).texture(m - s, m + o).next();
-                bufferBuilder.vertex(t + u - cameraX, -cameraDistance, boundNorth - cameraZ).texture(m - (v + s), m + o).next();
-                bufferBuilder.vertex(t + u - cameraX, cameraDistance, boundNorth - cameraZ).texture(m - (v + s), m + n).next();
-                bufferBuilder.vertex(t - cameraX, cameraDistance, boundNorth - cameraZ).texture(m - s, m + n).next();
-                t += 1.0;
-                s += 0.5f;
+        float m = (float) (Util.getMeasuringTimeMs() % 3000L) / 3000.0f;
+        float n = (float) (-MathHelper.fractionalPart(camera.getPos().y * 0.5));
+        double cameraDistance = this.client.gameRenderer.getFarPlaneDistance();
+        float o = n + (float) cameraDistance;
+        // east and north walls scroll the texture in the opposite direction, same as vanilla
+        final var textureSign = side == Direction.EAST || side == Direction.NORTH ? -1f : 1f;
+
+        float s = (float) (MathHelper.floor(p) & 1) * 0.5f;
+        double t = p;
+        while (t < q) {
+            double u = Math.min(1.0, q - t);
+            float v = (float) u * 0.5f;
+            final var startU = m + textureSign * s;
+            final var endU = m + textureSign * (v + s);
+            if(alongX) {
+                bufferBuilder.vertex(t - cameraX, -cameraDistance, bound - cameraZ).texture(startU, m + o).next();
+                bufferBuilder.vertex(t + u - cameraX, -cameraDistance, bound - cameraZ).texture(endU, m + o).next();
+                bufferBuilder.vertex(t + u - cameraX, cameraDistance, bound - cameraZ).texture(endU, m + n).next();
+                bufferBuilder.vertex(t - cameraX, cameraDistance, bound - cameraZ).texture(startU, m + n).next();
+            } else {
+                bufferBuilder.vertex(bound - cameraX, -cameraDistance, t - cameraZ).texture(startU, m + o).next();
+                bufferBuilder.vertex(bound - cameraX, -cameraDistance, t + u - cameraZ).texture(endU, m + o).next();
+                bufferBuilder.vertex(bound - cameraX, cameraDistance, t + u - cameraZ).texture(endU, m + n).next();
+                bufferBuilder.vertex(bound - cameraX, cameraDistance, t - cameraZ).texture(startU, m + n).next();
             }
+            t += 1.0;
+            s += 0.5f;
         }
     }
 
@@ -283,23 +263,4 @@ public abstract class FortressWorldRendererMixin  {
         fortressClient.get_BlueprintRenderer().renderTranslucent(matrices, camera.getPos().x, camera.getPos().y, camera.getPos().z, matrix4f);
     }
 
-    @Unique
-    private void drawBlockOutline(MatrixStack matrices, VertexConsumer vertexConsumer, Entity entity, double d, double e, double f, BlockPos blockPos, BlockState blockState) {
-        final Vector4f clickColors = ((IClientManagersProvider) client).get_SelectionManager().getClickColor();
-        final var outlineShape = blockState.getOutlineShape(this.world, blockPos, ShapeContext.of(entity));
-        WorldRenderer.drawShapeOutline(
-                matrices,
-                vertexConsumer,
-                outlineShape,
-                (double)blockPos.getX() - d,
-                (double)blockPos.getY() - e,
-                (double)blockPos.getZ() - f,
-                clickColors.x(),
-                clickColors.y(),
-                clickColors.z(),
-                clickColors.w(),
-                true
-        );
-    }
-
 }
@@ -10,6 +10,7 @@ import org.minefortress.interfaces.FortressSimpleInventory;
 import org.minefortress.utils.ModUtils;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -22,7 +23,8 @@ public abstract class FortressSimpleInventoryMixin implements FortressSimpleInve
 
     private int changeCount = 0;
 
-    @Shadow @Final private DefaultedList<ItemStack> stacks;
+    @Shadow @Final @Mutable private int size;
+    @Shadow @Final @Mutable private DefaultedList<ItemStack> stacks;
 
     @Override
     public int getMaxCountPerStack() {
@@ -65,6 +67,17 @@ public abstract class FortressSimpleInventoryMixin implements FortressSimpleInve
         }
     }
 
+    @Override
+    public void grow_To(int newSize) {
+        if(newSize <= this.size) return;
+        final var grownStacks = DefaultedList.ofSize(newSize, ItemStack.EMPTY);
+        for (int i = 0; i < this.stacks.size(); i++) {
+            grownStacks.set(i, this.stacks.get(i));
+        }
+        this.stacks = grownStacks;
+        this.size = newSize;
+    }
+
     @Override
     public int get_ChangeCount() {
         return this.changeCount;
@@ -0,0 +1,36 @@
+package org.minefortress.mixins.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.remmintan.mods.minefortress.core.interfaces.server.IFortressServer;
+import org.minefortress.blueprints.manager.ClientChunkVersions;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(World.class)
+public abstract class FortressWorldMixin {
+
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z", at = @At("RETURN"))
+    public void setBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth, CallbackInfoReturnable<Boolean> cir) {
+        if(cir.getReturnValueZ()) {
+            final var world = (World)(Object)this;
+            if(world.isClient()) {
+                ClientChunkVersions.onBlockChanged(pos);
+            } else if(world instanceof ServerWorld serverWorld && isFortressWorld(serverWorld)) {
+                ((IFortressServer) serverWorld.getServer()).get_FortressModServerManager().onBlockChanged(pos);
+            }
+        }
+    }
+
+    @Unique
+    private static boolean isFortressWorld(ServerWorld world) {
+        // the fortress managers live on the server thread and only look at the overworld
+        return world.getRegistryKey() == World.OVERWORLD && world.getServer().isOnThread();
+    }
+
+}
@@ -41,6 +41,7 @@ public final class ServerProfessionManager extends ProfessionManager implements
     private List<ProfessionFullInfo> professionsInfos;
     private String professionsTree;
     private boolean needsUpdate = false;
+    private boolean dirty = false;
 
     private final Map<ProfessionsHireTypes, ServerHireHandler> hireHandlers = new HashMap<>();
     private ServerHireHandler currentHireHandler;
@@ -107,6 +108,7 @@ public final class ServerProfessionManager extends ProfessionManager implements
         }
 
         profession.setAmount(profession.getAmount() + 1);
+        dirty = true;
         scheduleSync();
     }
 
@@ -122,6 +124,7 @@ public final class ServerProfessionManager extends ProfessionManager implements
         if(profession.isHireMenu() && !force) return;
 
         profession.setAmount(profession.getAmount() - 1);
+        dirty = true;
         scheduleSync();
     }
 
@@ -198,6 +201,12 @@ public final class ServerProfessionManager extends ProfessionManager implements
         NbtCompound professionTag = new NbtCompound();
         getProfessions().forEach((key, value) -> professionTag.put(key, value.toNbt()));
         tag.put("profession", professionTag);
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
     }
 
     @Override
@@ -235,20 +244,12 @@ public final class ServerProfessionManager extends ProfessionManager implements
 
     private long countPawnsWithProfession(String professionId) {
         final var fortressServerManager = (ServerFortressManager) super.fortressManagerSupplier.get();
-        return fortressServerManager
-                .getProfessionals()
-                .stream()
-                .filter(colonist -> colonist.getProfessionId().equals(professionId))
-                .count();
+        return fortressServerManager.countProfessionals(professionId);
     }
 
     private List<IProfessional> getPawnsWithProfession(String professionId) {
         final ServerFortressManager serverFortressManager = (ServerFortressManager) super.fortressManagerSupplier.get();
-        return serverFortressManager
-                .getProfessionals()
-                .stream()
-                .filter(colonist -> colonist.getProfessionId().equals(professionId))
-                .collect(Collectors.toList());
+        return new ArrayList<>(serverFortressManager.getProfessionals(professionId));
     }
 
 }
@@ -1,6 +1,7 @@
 package org.minefortress.registries;
 
 
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.minecraft.client.MinecraftClient;
@@ -13,6 +14,7 @@ import net.remmintan.mods.minefortress.core.interfaces.tasks.ITasksInformationHo
 import net.remmintan.mods.minefortress.core.utils.CoreModUtils;
 import net.remmintan.mods.minefortress.networking.c2s.C2SRequestResourcesRefresh;
 import net.remmintan.mods.minefortress.networking.helpers.FortressClientNetworkHelper;
+import org.minefortress.blueprints.manager.ClientChunkVersions;
 import org.minefortress.interfaces.IFortressMinecraftClient;
 import org.minefortress.renderer.gui.ChooseModeScreen;
 import org.minefortress.utils.ModUtils;
@@ -20,8 +22,13 @@ import org.minefortress.utils.ModUtils;
 public class FortressClientEvents {
 
     public static void register() {
-        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> ModUtils.getFortressClientManager().reset());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            ModUtils.getFortressClientManager().reset();
+            ClientChunkVersions.reset();
+        });
         ClientTickEvents.START_CLIENT_TICK.register(FortressClientEvents::startClientTick);
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> ClientChunkVersions.onChunkLoaded(chunk.getPos()));
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> ClientChunkVersions.onChunkUnloaded(chunk.getPos()));
         ClientTickEvents.END_CLIENT_TICK.register(FortressClientEvents::endClientTick);
         ClientPlayConnectionEvents.JOIN.register(((handler, sender, client) -> {
             ItemGroups.updateDisplayContext(handler.getEnabledFeatures(), false, client.world.getRegistryManager());
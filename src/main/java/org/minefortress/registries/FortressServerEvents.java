@@ -2,6 +2,8 @@ package org.minefortress.registries;
 
 
 import net.fabricmc.fabric.api.entity.event.v1.EntitySleepEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
@@ -9,6 +11,7 @@ import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
 import net.remmintan.mods.minefortress.core.interfaces.entities.player.FortressServerPlayerEntity;
 import net.remmintan.mods.minefortress.core.interfaces.server.IFortressServer;
 import net.remmintan.mods.minefortress.networking.helpers.FortressChannelNames;
@@ -16,12 +19,23 @@ import net.remmintan.mods.minefortress.networking.helpers.FortressServerNetworkH
 import net.remmintan.mods.minefortress.networking.s2c.ClientboundFollowColonistPacket;
 import org.minefortress.blueprints.world.BlueprintsWorld;
 import org.minefortress.entity.BasePawnEntity;
+import org.minefortress.fortress.resources.SimilarItemsHelper;
 import org.minefortress.interfaces.FortressWorldCreator;
 import org.minefortress.utils.ModUtils;
 
 public class FortressServerEvents {
 
     public static void register() {
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> SimilarItemsHelper.rebuild());
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            if(world.getRegistryKey() == World.OVERWORLD && world.getServer() instanceof IFortressServer fortressServer)
+                fortressServer.get_FortressModServerManager().onChunkLoaded(chunk.getPos());
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            if(world.getRegistryKey() == World.OVERWORLD && world.getServer() instanceof IFortressServer fortressServer)
+                fortressServer.get_FortressModServerManager().onChunkUnloaded(chunk.getPos());
+        });
+
         EntitySleepEvents.ALLOW_BED.register((entity, sleepingPos, state, vanillaResult) -> {
             if(ModUtils.isFortressGamemode(entity)) {
                 return ActionResult.SUCCESS;
@@ -89,6 +103,12 @@ public class FortressServerEvents {
             }
         });
 
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            if(server instanceof IFortressServer aserver) {
+                aserver.get_FortressModServerManager().close();
+            }
+        });
+
         ServerTickEvents.END_SERVER_TICK.register(server -> {
             if(server instanceof IFortressServer IFortressServer) {
                 IFortressServer.get_FortressModServerManager().tick(server.getPlayerManager());
@@ -0,0 +1,123 @@
+package org.minefortress.renderer;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.remmintan.mods.minefortress.core.interfaces.buildings.IEssentialBuildingInfo;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class BuildingOutlineRenderer {
+
+    private static final int MAX_CACHED_OUTLINES = 32;
+
+    private final BufferBuilder bufferBuilder = new BufferBuilder(RenderLayer.getLines().getExpectedBufferSize());
+    private final Map<UUID, CachedOutline> outlines = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedOutline> eldest) {
+            if(size() > MAX_CACHED_OUTLINES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public void render(MatrixStack matrices, Matrix4f projectionMatrix, Vec3d cameraPos, ClientWorld world, Entity cameraEntity, IEssentialBuildingInfo building, Vector4f color) {
+        final var outline = getOrBuildOutline(world, cameraEntity, building);
+        if(outline == null) return;
+
+        final var start = building.getStart();
+        matrices.push();
+        matrices.translate(start.getX() - cameraPos.x, start.getY() - cameraPos.y, start.getZ() - cameraPos.z);
+
+        final var layer = RenderLayer.getLines();
+        layer.startDrawing();
+        RenderSystem.setShaderColor(color.x(), color.y(), color.z(), color.w());
+        outline.bind();
+        outline.draw(matrices.peek().getPositionMatrix(), projectionMatrix, RenderSystem.getShader());
+        VertexBuffer.unbind();
+        RenderSystem.setShaderColor(1f, 1f, 1f, 1f);
+        layer.endDrawing();
+
+        matrices.pop();
+    }
+
+    public void close() {
+        outlines.values().forEach(CachedOutline::close);
+        outlines.clear();
+    }
+
+    private VertexBuffer getOrBuildOutline(ClientWorld world, Entity cameraEntity, IEssentialBuildingInfo building) {
+        final var cached = outlines.get(building.getId());
+        // building infos are replaced on every buildings sync, so a different instance means a stale mesh
+        if(cached != null && cached.building() == building) return cached.buffer();
+        if(cached != null) {
+            cached.close();
+            outlines.remove(building.getId());
+        }
+
+        final var buffer = buildOutline(world, cameraEntity, building);
+        if(buffer != null) outlines.put(building.getId(), new CachedOutline(building, buffer));
+        return buffer;
+    }
+
+    private VertexBuffer buildOutline(ClientWorld world, Entity cameraEntity, IEssentialBuildingInfo building) {
+        final var start = building.getStart();
+        final var shapeContext = ShapeContext.of(cameraEntity);
+        bufferBuilder.begin(VertexFormat.DrawMode.LINES, VertexFormats.LINES);
+        for(BlockPos pos : BlockPos.iterate(start, building.getEnd())) {
+            if(!world.getWorldBorder().contains(pos)) continue;
+            final var blockState = world.getBlockState(pos);
+            if(blockState.isAir()) continue;
+
+            final var offsetX = pos.getX() - start.getX();
+            final var offsetY = pos.getY() - start.getY();
+            final var offsetZ = pos.getZ() - start.getZ();
+            blockState.getOutlineShape(world, pos, shapeContext).forEachEdge((minX, minY, minZ, maxX, maxY, maxZ) -> {
+                float normalX = (float)(maxX - minX);
+                float normalY = (float)(maxY - minY);
+                float normalZ = (float)(maxZ - minZ);
+                final float length = MathHelper.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+                normalX /= length;
+                normalY /= length;
+                normalZ /= length;
+                bufferBuilder.vertex(offsetX + minX, offsetY + minY, offsetZ + minZ).color(1f, 1f, 1f, 1f).normal(normalX, normalY, normalZ).next();
+                bufferBuilder.vertex(offsetX + maxX, offsetY + maxY, offsetZ + maxZ).color(1f, 1f, 1f, 1f).normal(normalX, normalY, normalZ).next();
+            });
+        }
+
+        final var builtBuffer = bufferBuilder.end();
+        if(builtBuffer.getParameters().vertexCount() == 0) {
+            builtBuffer.release();
+            return null;
+        }
+
+        final var vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+        vertexBuffer.bind();
+        vertexBuffer.upload(builtBuffer);
+        VertexBuffer.unbind();
+        return vertexBuffer;
+    }
+
+    private record CachedOutline(IEssentialBuildingInfo building, VertexBuffer buffer) {
+        void close() {
+            buffer.close();
+        }
+    }
+
+}
@@ -28,7 +28,7 @@ public abstract class AbstractTask implements ITask {
     protected BlockPos startingBlock;
     protected BlockPos endingBlock;
 
-    protected final Queue<Pair<BlockPos, BlockPos>> parts = new ArrayDeque<>();
+    protected final TaskPartsIndex parts = new TaskPartsIndex();
 
     protected int totalParts;
     private int completedParts;
@@ -112,6 +112,10 @@ public abstract class AbstractTask implements ITask {
         taskFinishListeners.add(listener);
     }
 
+    protected Pair<BlockPos, BlockPos> pollNearestPart(IWorkerPawn colonist) {
+        return parts.pollNearest(colonist.getBlockPos());
+    }
+
     protected int getCompletedParts() {
         return completedParts;
     }
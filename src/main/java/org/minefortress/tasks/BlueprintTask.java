@@ -53,13 +53,13 @@ public class BlueprintTask extends AbstractTask {
 
     @Override
     public ITaskPart getNextPart(ServerWorld level, IWorkerPawn colonist) {
-        final Pair<BlockPos, BlockPos> partStartAndEnd = parts.poll();
+        final Pair<BlockPos, BlockPos> partStartAndEnd = pollNearestPart(colonist);
         List<ITaskBlockInfo> blockInfos = getTaskBlockInfos(partStartAndEnd);
         return new TaskPart(partStartAndEnd, blockInfos, this);
     }
 
     @NotNull
-    private List<ITaskBlockInfo> getTaskBlockInfos(Pair<BlockPos, BlockPos> partStartAndEnd) {
+    List<ITaskBlockInfo> getTaskBlockInfos(Pair<BlockPos, BlockPos> partStartAndEnd) {
         final BlockPos start = partStartAndEnd.getFirst();
         final BlockPos delta = start.subtract(startingBlock);
         final Iterable<BlockPos> allPositionsInPart = BlockPos.iterate(start, partStartAndEnd.getSecond());
@@ -68,10 +68,10 @@ public class CutTreesTask implements ITask {
         final ServerWorld world = colonist.getServerWorld();
         if(part != null && part.getStartAndEnd() != null && part.getStartAndEnd().getFirst() != null) {
             final BlockPos root = part.getStartAndEnd().getFirst();
-            final Optional<TreeBlocks> treeOpt = TreeHelper.getTreeBlocks(root.up(), world);
+            final Optional<TreeBlocks> treeOpt = TreeHelper.getTreeBlocks(root.up(), colonist);
             if(treeOpt.isPresent()) {
                 final TreeBlocks tree = treeOpt.get();
-                TreeHelper.removeTheRestOfATree(colonist, tree, world);
+                TreeHelper.removeTheRestOfATree(colonist, tree);
             }
         }
 
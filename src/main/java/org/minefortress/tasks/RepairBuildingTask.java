@@ -25,7 +25,8 @@ public class RepairBuildingTask extends AbstractTask {
 
     @Override
     public ITaskPart getNextPart(ServerWorld level, IWorkerPawn colonist) {
-        final var part = parts.remove();
+        final var part = pollNearestPart(colonist);
+        if(part == null) throw new IllegalStateException("Null part for task!");
         final var taskBlocks = BlockPos.stream(part.getFirst(), part.getSecond())
                 .map(BlockPos::toImmutable)
                 .filter(blocksToRepair::containsKey)
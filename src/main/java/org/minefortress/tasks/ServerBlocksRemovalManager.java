@@ -0,0 +1,171 @@
+package org.minefortress.tasks;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.event.GameEvent;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerFortressManager;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManagersProvider;
+import net.remmintan.mods.minefortress.core.interfaces.server.ITickableManager;
+import net.remmintan.mods.minefortress.core.interfaces.server.IWritableManager;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerBlocksRemovalManager;
+import net.remmintan.gobi.helpers.TreeHelper;
+import net.remmintan.mods.minefortress.core.utils.ResourceUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+public class ServerBlocksRemovalManager implements IServerBlocksRemovalManager, ITickableManager, IWritableManager {
+
+    private static final int MAX_REMOVALS_PER_TICK = 64;
+
+    private final Supplier<ServerWorld> overworldSupplier;
+    private final IServerFortressManager fortressManager;
+    private final IServerManagersProvider managersProvider;
+
+    // the logs notify their neighbours and go first, so a felled trunk disappears before its leaves
+    private final LongArrayFIFOQueue logRemovals = new LongArrayFIFOQueue();
+    // only the leaves touching something outside the scheduled removals notify their neighbours
+    private final LongArrayFIFOQueue leafRemovals = new LongArrayFIFOQueue();
+    private final LongSet scheduled = new LongOpenHashSet();
+    private final Object2IntMap<Item> drops = new Object2IntOpenHashMap<>();
+    private boolean dirty = false;
+
+    public ServerBlocksRemovalManager(Supplier<ServerWorld> overworldSupplier, IServerFortressManager fortressManager, IServerManagersProvider managersProvider) {
+        this.overworldSupplier = overworldSupplier;
+        this.fortressManager = fortressManager;
+        this.managersProvider = managersProvider;
+    }
+
+    @Override
+    public void scheduleLogsRemoval(Collection<BlockPos> positions) {
+        schedule(logRemovals, positions);
+    }
+
+    @Override
+    public void scheduleLeavesRemoval(Collection<BlockPos> positions) {
+        schedule(leafRemovals, positions);
+    }
+
+    private void schedule(LongArrayFIFOQueue queue, Collection<BlockPos> positions) {
+        for(BlockPos pos : positions) {
+            final var key = pos.asLong();
+            if(scheduled.add(key))
+                queue.enqueue(key);
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void tick(@Nullable ServerPlayerEntity player) {
+        if(logRemovals.isEmpty() && leafRemovals.isEmpty()) return;
+        final var world = overworldSupplier.get();
+        if(world == null) return;
+        dirty = true;
+
+        final var pos = new BlockPos.Mutable();
+        for(int i = 0; i < MAX_REMOVALS_PER_TICK; i++) {
+            final boolean log;
+            final long key;
+            if(!logRemovals.isEmpty()) {
+                key = logRemovals.dequeueLong();
+                log = true;
+            } else if(!leafRemovals.isEmpty()) {
+                key = leafRemovals.dequeueLong();
+                log = false;
+            } else {
+                break;
+            }
+            scheduled.remove(key);
+            pos.set(key);
+            if(!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ())))
+                continue;
+            // the block could be replaced after the tree was scheduled, e.g. by a builder or the player
+            final var state = world.getBlockState(pos);
+            if(log ? !TreeHelper.isLog(state) : !TreeHelper.isLeaves(state))
+                continue;
+
+            for(var stack : ResourceUtils.getDrops(world, pos)) {
+                drops.mergeInt(stack.getItem(), stack.getCount(), Integer::sum);
+            }
+            if(log || hasNeighbourOutsideRemovals(world, pos)) {
+                world.setBlockState(pos, Blocks.AIR.getDefaultState(), Block.NOTIFY_ALL);
+                world.emitGameEvent(null, GameEvent.BLOCK_DESTROY, pos);
+            } else {
+                world.setBlockState(pos, Blocks.AIR.getDefaultState(), Block.NOTIFY_LISTENERS);
+            }
+        }
+
+        flushDrops();
+    }
+
+    @Override
+    public void write(NbtCompound tag) {
+        if(!logRemovals.isEmpty())
+            tag.putLongArray("logBlockRemovals", toArray(logRemovals));
+        if(!leafRemovals.isEmpty())
+            tag.putLongArray("leafBlockRemovals", toArray(leafRemovals));
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void read(NbtCompound tag) {
+        // the felled trees which were not removed before the save are finished after the load
+        for(long pos : tag.getLongArray("logBlockRemovals")) {
+            if(scheduled.add(pos)) logRemovals.enqueue(pos);
+        }
+        for(long pos : tag.getLongArray("leafBlockRemovals")) {
+            if(scheduled.add(pos)) leafRemovals.enqueue(pos);
+        }
+    }
+
+    private boolean hasNeighbourOutsideRemovals(ServerWorld world, BlockPos pos) {
+        final var neighbour = new BlockPos.Mutable();
+        for(Direction direction : Direction.values()) {
+            neighbour.set(pos, direction);
+            if(scheduled.contains(neighbour.asLong())) continue;
+            if(!world.getBlockState(neighbour).isAir()) return true;
+        }
+        return false;
+    }
+
+    private static long[] toArray(LongArrayFIFOQueue queue) {
+        final var list = new LongArrayList(queue.size());
+        for(int i = 0; i < queue.size(); i++) {
+            final var value = queue.dequeueLong();
+            list.add(value);
+            queue.enqueue(value);
+        }
+        return list.toLongArray();
+    }
+
+    private void flushDrops() {
+        if(drops.isEmpty()) return;
+        if(fortressManager.isSurvival()) {
+            final var resourceManager = managersProvider.getResourceManager();
+            for(var entry : drops.object2IntEntrySet()) {
+                resourceManager.increaseItemAmount(entry.getKey(), entry.getIntValue());
+            }
+        }
+        drops.clear();
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.minefortress.tasks;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.event.GameEvent;
+import net.remmintan.mods.minefortress.building.FortressBlocks;
+import net.remmintan.mods.minefortress.core.interfaces.server.ITickableManager;
+import net.remmintan.mods.minefortress.core.interfaces.server.IWritableManager;
+import net.remmintan.mods.minefortress.core.interfaces.tasks.IServerScaffoldsManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public class ServerScaffoldsManager implements IServerScaffoldsManager, ITickableManager, IWritableManager {
+
+    private static final int TEMPORARY_SCAFFOLD_TICKS = 25;
+    private static final int MAX_REMOVALS_PER_TICK = 32;
+    private static final int UNLOADED_RETRY_TICKS = 100;
+
+    private final Supplier<ServerWorld> overworldSupplier;
+
+    private final Map<UUID, LongSet> scaffoldsByOwner = new HashMap<>();
+    // temporary scaffolds all live for the same amount of ticks, so the queue is ordered by the removal time
+    private final LongArrayFIFOQueue temporaryScaffolds = new LongArrayFIFOQueue();
+    private final LongArrayFIFOQueue temporaryScaffoldsRemoveAt = new LongArrayFIFOQueue();
+    private final LongArrayFIFOQueue removals = new LongArrayFIFOQueue();
+    private final LongArrayList unloadedRemovals = new LongArrayList();
+
+    private long ticks = 0;
+    private boolean dirty = false;
+
+    public ServerScaffoldsManager(Supplier<ServerWorld> overworldSupplier) {
+        this.overworldSupplier = overworldSupplier;
+    }
+
+    @Override
+    public void addScaffold(UUID ownerId, BlockPos pos) {
+        scaffoldsByOwner.computeIfAbsent(ownerId, it -> new LongOpenHashSet()).add(pos.asLong());
+        dirty = true;
+    }
+
+    @Override
+    public void addTemporaryScaffold(BlockPos pos) {
+        temporaryScaffolds.enqueue(pos.asLong());
+        temporaryScaffoldsRemoveAt.enqueue(ticks + TEMPORARY_SCAFFOLD_TICKS);
+        dirty = true;
+    }
+
+    @Override
+    public void releaseScaffolds(UUID ownerId) {
+        final var scaffolds = scaffoldsByOwner.remove(ownerId);
+        if(scaffolds == null) return;
+        for(long pos : scaffolds) {
+            removals.enqueue(pos);
+        }
+    }
+
+    @Override
+    public void tick(@Nullable ServerPlayerEntity player) {
+        ticks++;
+        while(!temporaryScaffoldsRemoveAt.isEmpty() && temporaryScaffoldsRemoveAt.firstLong() <= ticks) {
+            temporaryScaffoldsRemoveAt.dequeueLong();
+            removals.enqueue(temporaryScaffolds.dequeueLong());
+        }
+        if(ticks % UNLOADED_RETRY_TICKS == 0 && !unloadedRemovals.isEmpty()) {
+            unloadedRemovals.forEach(removals::enqueue);
+            unloadedRemovals.clear();
+        }
+        if(removals.isEmpty()) return;
+
+        final var world = overworldSupplier.get();
+        if(world == null) return;
+        dirty = true;
+        final var pos = new BlockPos.Mutable();
+        for(int i = 0; i < MAX_REMOVALS_PER_TICK && !removals.isEmpty(); i++) {
+            final var key = removals.dequeueLong();
+            pos.set(key);
+            if(!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()))) {
+                unloadedRemovals.add(key);
+                continue;
+            }
+            if(world.getBlockState(pos).isOf(FortressBlocks.SCAFFOLD_OAK_PLANKS)) {
+                world.removeBlock(pos, false);
+                world.emitGameEvent(null, GameEvent.BLOCK_DESTROY, pos);
+            }
+        }
+    }
+
+    @Override
+    public void write(NbtCompound tag) {
+        final var scaffolds = new LongArrayList();
+        scaffoldsByOwner.values().forEach(scaffolds::addAll);
+        addAll(scaffolds, temporaryScaffolds);
+        addAll(scaffolds, removals);
+        scaffolds.addAll(unloadedRemovals);
+        if(!scaffolds.isEmpty())
+            tag.putLongArray("scaffolds", scaffolds.toLongArray());
+        dirty = false;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void read(NbtCompound tag) {
+        // nobody is working on the saved tasks anymore, so all the scaffolds left from them are removed
+        if(!tag.contains("scaffolds")) return;
+        for(long pos : tag.getLongArray("scaffolds")) {
+            removals.enqueue(pos);
+        }
+        dirty = true;
+    }
+
+    private static void addAll(LongArrayList list, LongArrayFIFOQueue queue) {
+        for(int i = 0; i < queue.size(); i++) {
+            final var value = queue.dequeueLong();
+            list.add(value);
+            queue.enqueue(value);
+        }
+    }
+
+}
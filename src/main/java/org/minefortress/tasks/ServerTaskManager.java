@@ -41,14 +41,21 @@ public class ServerTaskManager implements IServerTaskManager, ITickableManager {
     @Override
     public void tick(ServerPlayerEntity player) {
         if(!hasTask()) return;
-        final ITask task = this.getTask();
-        final List<IWorkerPawn> freeColonists = manager.getFreeColonists();
+        final List<IWorkerPawn> freeColonists = new ArrayList<>(manager.getFreeColonists());
         if(freeColonists.isEmpty()) return;
+        final ServerWorld world = player.getServerWorld();
+        for(ITask task : new ArrayList<>(tasks)) {
+            if(freeColonists.isEmpty()) break;
+            assignPawnsToTask(world, task, freeColonists);
+        }
+    }
+
+    private void assignPawnsToTask(ServerWorld world, ITask task, List<IWorkerPawn> freeColonists) {
         final TaskType taskType = task.getTaskType();
         if(taskType == TaskType.BUILD) {
             final List<IWorkerPawn> completelyFreePawns = getCompletelyFreePawns(task, freeColonists);
 
-            boolean fullyCompleted = setPawnsToTask(player.getServerWorld(), task, completelyFreePawns);
+            boolean fullyCompleted = setPawnsToTask(world, task, completelyFreePawns, freeColonists);
             if(fullyCompleted) return;
 
             final List<IWorkerPawn> otherPawns = freeColonists
@@ -58,7 +65,7 @@ public class ServerTaskManager implements IServerTaskManager, ITickableManager {
                     .filter(c -> c.getTaskControl().isDoingEverydayTasks())
 
                     .collect(Collectors.toList());
-            setPawnsToTask(player.getServerWorld(), task, otherPawns);
+            setPawnsToTask(world, task, otherPawns, freeColonists);
         } else {
             final List<String> professions = getProfessionIdFromTask(task);
             final List<IWorkerPawn> professionals = freeColonists
@@ -67,11 +74,11 @@ public class ServerTaskManager implements IServerTaskManager, ITickableManager {
                     .filter(c -> c.getTaskControl().canStartTask(task))
                     .collect(Collectors.toList());
 
-            boolean fullyCompleted = setPawnsToTask(player.getServerWorld(), task, professionals);
+            boolean fullyCompleted = setPawnsToTask(world, task, professionals, freeColonists);
             if(fullyCompleted) return;
 
             final List<IWorkerPawn> completelyFreePawns = getCompletelyFreePawns(task, freeColonists);
-            setPawnsToTask(player.getServerWorld(), task, completelyFreePawns);
+            setPawnsToTask(world, task, completelyFreePawns, freeColonists);
         }
     }
 
@@ -125,13 +132,14 @@ public class ServerTaskManager implements IServerTaskManager, ITickableManager {
         return BUILDER_PROFESSIONS.contains(professionId);
     }
 
-    private boolean setPawnsToTask(ServerWorld world, ITask task, List<IWorkerPawn> completelyFreePawns) {
-        for(IWorkerPawn c : completelyFreePawns) {
+    private boolean setPawnsToTask(ServerWorld world, ITask task, List<IWorkerPawn> pawnsToAssign, List<IWorkerPawn> freeColonists) {
+        for(IWorkerPawn c : pawnsToAssign) {
             if(!task.hasAvailableParts()) break;
             c.getTaskControl().setTask(task, task.getNextPart(world, c), this::returnTaskPart, () -> this.isCancelled(task.getId()));
+            freeColonists.remove(c);
         }
         if(!task.hasAvailableParts()) {
-            tasks.remove();
+            tasks.remove(task);
             return true;
         }
         return false;
@@ -166,10 +174,6 @@ public class ServerTaskManager implements IServerTaskManager, ITickableManager {
         return simpleSelectionTask;
     }
 
-    private ITask getTask() {
-        return tasks.element();
-    }
-
     private void returnTaskPart(ITaskPart taskPart) {
         ITask task = taskPart.getTask();
         task.returnPart(taskPart.getStartAndEnd());
@@ -85,7 +85,7 @@ public class SimpleSelectionTask extends AbstractTask {
 
     @Override
     public ITaskPart getNextPart(ServerWorld world, IWorkerPawn colonist) {
-        Pair<BlockPos, BlockPos> startAndEnd = parts.poll();
+        Pair<BlockPos, BlockPos> startAndEnd = pollNearestPart(colonist);
         if(startAndEnd == null) throw new IllegalStateException("Null part for task!");
         final List<ITaskBlockInfo> blocks = getPartBlocksInfo(startAndEnd, world, colonist);
         return new TaskPart(startAndEnd, blocks, this);
@@ -0,0 +1,164 @@
+package org.minefortress.tasks;
+
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+
+public final class TaskPartsIndex {
+
+    private static final int CELL_BITS = 4;
+    private static final int CELL_SIZE = 1 << CELL_BITS;
+
+    private final Long2ObjectMap<ArrayDeque<Pair<BlockPos, BlockPos>>> cells = new Long2ObjectOpenHashMap<>();
+    private int size = 0;
+
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+
+    public void add(Pair<BlockPos, BlockPos> part) {
+        final var start = part.getFirst();
+        final var cellX = start.getX() >> CELL_BITS;
+        final var cellZ = start.getZ() >> CELL_BITS;
+        cells.computeIfAbsent(ChunkPos.toLong(cellX, cellZ), k -> new ArrayDeque<>()).add(part);
+        size++;
+
+        minCellX = Math.min(minCellX, cellX);
+        minCellZ = Math.min(minCellZ, cellZ);
+        maxCellX = Math.max(maxCellX, cellX);
+        maxCellZ = Math.max(maxCellZ, cellZ);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Nullable
+    public Pair<BlockPos, BlockPos> poll() {
+        if(isEmpty()) return null;
+        final var iterator = cells.long2ObjectEntrySet().iterator();
+        final var entry = iterator.next();
+        final var part = entry.getValue().poll();
+        if(entry.getValue().isEmpty()) {
+            iterator.remove();
+            recalculateBounds();
+        }
+        afterRemove();
+        return part;
+    }
+
+    @Nullable
+    public Pair<BlockPos, BlockPos> pollNearest(@Nullable BlockPos pos) {
+        if(pos == null) return poll();
+        if(isEmpty()) return null;
+
+        final var cellX = pos.getX() >> CELL_BITS;
+        final var cellZ = pos.getZ() >> CELL_BITS;
+        // only the rings crossing the bounding box of the stored parts can contain anything
+        final var minRing = Math.max(
+                Math.max(minCellX - cellX, cellX - maxCellX),
+                Math.max(Math.max(minCellZ - cellZ, cellZ - maxCellZ), 0)
+        );
+        final var maxRing = Math.max(
+                Math.max(Math.abs(cellX - minCellX), Math.abs(cellX - maxCellX)),
+                Math.max(Math.abs(cellZ - minCellZ), Math.abs(cellZ - maxCellZ))
+        );
+
+        Pair<BlockPos, BlockPos> best = null;
+        ArrayDeque<Pair<BlockPos, BlockPos>> bestCell = null;
+        long bestCellKey = 0;
+        double bestDistance = Double.MAX_VALUE;
+
+        for(int ring = minRing; ring <= maxRing; ring++) {
+            if(best != null) {
+                final double ringDistance = (double) (ring - 1) * CELL_SIZE;
+                if(ringDistance * ringDistance > bestDistance) break;
+            }
+            final var fromX = Math.max(cellX - ring, minCellX);
+            final var toX = Math.min(cellX + ring, maxCellX);
+            for(int x = fromX; x <= toX; x++) {
+                final var onEdge = x == cellX - ring || x == cellX + ring;
+                // the inner columns of the ring only have the top and the bottom cells
+                final var fromZ = onEdge ? Math.max(cellZ - ring, minCellZ) : cellZ - ring;
+                final var toZ = onEdge ? Math.min(cellZ + ring, maxCellZ) : cellZ + ring;
+                final var step = onEdge ? 1 : 2 * ring;
+                for(int z = fromZ; z <= toZ; z += step) {
+                    if(z < minCellZ || z > maxCellZ) continue;
+                    final var key = ChunkPos.toLong(x, z);
+                    final var cell = cells.get(key);
+                    if(cell == null) continue;
+                    for(Pair<BlockPos, BlockPos> part : cell) {
+                        final var distance = getSquaredDistance(part, pos);
+                        if(distance < bestDistance) {
+                            bestDistance = distance;
+                            best = part;
+                            bestCell = cell;
+                            bestCellKey = key;
+                        }
+                    }
+                }
+            }
+        }
+
+        if(best == null) return poll();
+
+        bestCell.remove(best);
+        if(bestCell.isEmpty()) {
+            cells.remove(bestCellKey);
+            recalculateBounds();
+        }
+        afterRemove();
+        return best;
+    }
+
+    private void afterRemove() {
+        size--;
+        if(size == 0) {
+            cells.clear();
+            recalculateBounds();
+        }
+    }
+
+    private void recalculateBounds() {
+        minCellX = Integer.MAX_VALUE;
+        minCellZ = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellZ = Integer.MIN_VALUE;
+        for(long key : cells.keySet()) {
+            final var x = ChunkPos.getPackedX(key);
+            final var z = ChunkPos.getPackedZ(key);
+            minCellX = Math.min(minCellX, x);
+            minCellZ = Math.min(minCellZ, z);
+            maxCellX = Math.max(maxCellX, x);
+            maxCellZ = Math.max(maxCellZ, z);
+        }
+    }
+
+    private static double getSquaredDistance(Pair<BlockPos, BlockPos> part, BlockPos pos) {
+        final var start = part.getFirst();
+        final var end = part.getSecond();
+        final double dx = getAxisDistance(pos.getX(), start.getX(), end.getX());
+        final double dy = getAxisDistance(pos.getY(), start.getY(), end.getY());
+        final double dz = getAxisDistance(pos.getZ(), start.getZ(), end.getZ());
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int getAxisDistance(int value, int first, int second) {
+        final var min = Math.min(first, second);
+        final var max = Math.max(first, second);
+        if(value < min) return min - value;
+        if(value > max) return value - max;
+        return 0;
+    }
+
+}
@@ -8,15 +8,20 @@ import net.minecraft.world.World;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.IntBinaryOperator;
 
 public class AreasUtils {
 
     public static List<BlockPos> buildAnAreaOnSurfaceWithinBlocks(Iterable<BlockPos> blocks, World world, Heightmap.Type heightmapType) {
+        return buildAnAreaOnSurfaceWithinBlocks(blocks, (x, z) -> world.getTopY(heightmapType, x, z));
+    }
+
+    public static List<BlockPos> buildAnAreaOnSurfaceWithinBlocks(Iterable<BlockPos> blocks, IntBinaryOperator topYProvider) {
         return Streams
                 .stream(blocks)
                 .map(BlockPos::toImmutable)
                 .flatMap(it -> {
-                    final var topY = world.getTopY(heightmapType, it.getX(), it.getZ());
+                    final var topY = topYProvider.applyAsInt(it.getX(), it.getZ());
                     return Streams.stream(BlockPos.iterate(it.withY(topY-3), it.withY(topY+3))).map(BlockPos::toImmutable);
                 })
                 .sorted(
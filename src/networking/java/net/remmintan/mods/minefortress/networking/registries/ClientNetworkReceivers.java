@@ -32,6 +32,8 @@ public class ClientNetworkReceivers {
         registerReceiver(S2CUpdateInfluenceBorderStage.CHANNEL, S2CUpdateInfluenceBorderStage::new);
         registerReceiver(S2COpenBuildingRepairScreen.CHANNEL, S2COpenBuildingRepairScreen::new);
         registerReceiver(S2CSyncFightManager.CHANNEL, S2CSyncFightManager::new);
+        registerReceiver(S2CUpdateSpecialBlocksPacket.CHANNEL, S2CUpdateSpecialBlocksPacket::new);
+        registerReceiver(S2CSyncScreenRowsPacket.CHANNEL, S2CSyncScreenRowsPacket::new);
     }
 
     private static void registerReceiver(String channelName, Function<PacketByteBuf, FortressS2CPacket> packetConstructor) {
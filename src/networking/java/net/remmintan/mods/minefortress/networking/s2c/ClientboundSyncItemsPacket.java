@@ -24,7 +24,7 @@ public class ClientboundSyncItemsPacket implements FortressS2CPacket {
     }
 
     public ClientboundSyncItemsPacket(PacketByteBuf buf) {
-        final int size = buf.readInt();
+        final int size = buf.readVarInt();
         final var tempList = new ArrayList<IItemInfo>();
         final var reader = NetworkingReadersRegistry.findReader(IItemInfo.class);
         for(int i = 0; i < size; i++) {
@@ -54,13 +54,13 @@ public class ClientboundSyncItemsPacket implements FortressS2CPacket {
 
     @Override
     public void write(PacketByteBuf buf) {
-        buf.writeInt(itemInfo.size());
+        buf.writeVarInt(itemInfo.size());
         for(IItemInfo itemInfo : itemInfo) {
             final var item = itemInfo.item();
             final var amount = itemInfo.amount();
 
-            buf.writeInt(Item.getRawId(item));
-            buf.writeInt(amount);
+            buf.writeVarInt(Item.getRawId(item));
+            buf.writeVarInt(amount);
         }
 
         buf.writeBoolean(needReset);
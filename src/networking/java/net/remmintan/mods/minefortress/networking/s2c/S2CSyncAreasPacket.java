@@ -12,39 +12,58 @@ import net.remmintan.mods.minefortress.networking.registries.NetworkingReadersRe
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class S2CSyncAreasPacket implements FortressS2CPacket {
 
     public static final String CHANNEL = "sync_areas";
 
+    private final boolean fullSync;
     private final List<IAutomationAreaInfo> automationAreaInfos;
+    private final List<UUID> removedAreas;
 
     public S2CSyncAreasPacket(List<IAutomationAreaInfo> automationAreaInfos) {
+        this.fullSync = true;
         this.automationAreaInfos = Collections.unmodifiableList(automationAreaInfos);
+        this.removedAreas = Collections.emptyList();
+    }
+
+    public S2CSyncAreasPacket(List<IAutomationAreaInfo> changedAreas, List<UUID> removedAreas) {
+        this.fullSync = false;
+        this.automationAreaInfos = Collections.unmodifiableList(changedAreas);
+        this.removedAreas = Collections.unmodifiableList(removedAreas);
     }
 
     public S2CSyncAreasPacket(PacketByteBuf buf) {
+        fullSync = buf.readBoolean();
         automationAreaInfos = new ArrayList<>();
         int size = buf.readVarInt();
         for(int i = 0; i < size; i++) {
             final INetworkingReader<IAutomationAreaInfo> reader = NetworkingReadersRegistry.findReader(IAutomationAreaInfo.class);
             automationAreaInfos.add(reader.readBuffer(buf));
         }
+        removedAreas = buf.readList(PacketByteBuf::readUuid);
     }
 
     @Override
     public void write(PacketByteBuf buf) {
+        buf.writeBoolean(fullSync);
         buf.writeVarInt(automationAreaInfos.size());
         for(IAutomationAreaInfo info: automationAreaInfos) {
             info.writeToBuffer(buf);
         }
+        buf.writeCollection(removedAreas, PacketByteBuf::writeUuid);
     }
 
     @Override
     public void handle(MinecraftClient client) {
         client.execute(() -> {
-            final var areasManager = getAutomationAreaManager();
-            areasManager.getSavedAreasHolder().setSavedAreas(automationAreaInfos);
+            final var savedAreasHolder = getAutomationAreaManager().getSavedAreasHolder();
+            if(fullSync) {
+                savedAreasHolder.setSavedAreas(automationAreaInfos);
+            } else {
+                savedAreasHolder.updateSavedAreas(automationAreaInfos, removedAreas);
+            }
         });
     }
 
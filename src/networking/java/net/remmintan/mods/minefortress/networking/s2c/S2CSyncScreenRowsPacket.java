@@ -0,0 +1,60 @@
+package net.remmintan.mods.minefortress.networking.s2c;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.item.Item;
+import net.minecraft.network.PacketByteBuf;
+import net.remmintan.mods.minefortress.core.interfaces.networking.FortressS2CPacket;
+import net.remmintan.mods.minefortress.core.interfaces.resources.IScrollableHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class S2CSyncScreenRowsPacket implements FortressS2CPacket {
+
+    public static final String CHANNEL = "fortress_screen_rows_sync";
+
+    private final int syncId;
+    private final int rowsCount;
+    // only the changed amounts, zero for the items which are gone
+    private final Map<Item, Integer> changedCounts;
+
+    public S2CSyncScreenRowsPacket(int syncId, int rowsCount, Map<Item, Integer> changedCounts) {
+        this.syncId = syncId;
+        this.rowsCount = rowsCount;
+        this.changedCounts = Collections.unmodifiableMap(changedCounts);
+    }
+
+    public S2CSyncScreenRowsPacket(PacketByteBuf buf) {
+        this.syncId = buf.readVarInt();
+        this.rowsCount = buf.readVarInt();
+        final var size = buf.readVarInt();
+        final var tempMap = new HashMap<Item, Integer>();
+        for(int i = 0; i < size; i++) {
+            tempMap.put(Item.byRawId(buf.readVarInt()), buf.readVarInt());
+        }
+        this.changedCounts = Collections.unmodifiableMap(tempMap);
+    }
+
+    @Override
+    public void write(PacketByteBuf buf) {
+        buf.writeVarInt(syncId);
+        buf.writeVarInt(rowsCount);
+        buf.writeVarInt(changedCounts.size());
+        for(var entry : changedCounts.entrySet()) {
+            buf.writeVarInt(Item.getRawId(entry.getKey()));
+            buf.writeVarInt(entry.getValue());
+        }
+    }
+
+    @Override
+    public void handle(MinecraftClient client) {
+        final var player = client.player;
+        if(player == null) return;
+        final var handler = player.currentScreenHandler;
+        if(handler.syncId == syncId && handler instanceof IScrollableHandler scrollableHandler) {
+            scrollableHandler.setRowsCount(rowsCount);
+            scrollableHandler.updateItemCounts(changedCounts);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.remmintan.mods.minefortress.networking.s2c;
+
+import net.minecraft.block.Block;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.remmintan.mods.minefortress.core.interfaces.networking.FortressS2CPacket;
+
+import java.util.*;
+
+public class S2CUpdateSpecialBlocksPacket implements FortressS2CPacket {
+
+    public static final String CHANNEL = "fortress_special_blocks_update";
+
+    private final Map<Block, ? extends Collection<BlockPos>> addedBlocks;
+    private final Map<Block, ? extends Collection<BlockPos>> removedBlocks;
+    private final Map<Block, ? extends Collection<BlockPos>> addedBlueprintBlocks;
+    private final Map<Block, ? extends Collection<BlockPos>> removedBlueprintBlocks;
+
+    public S2CUpdateSpecialBlocksPacket(
+            Map<Block, ? extends Collection<BlockPos>> addedBlocks,
+            Map<Block, ? extends Collection<BlockPos>> removedBlocks,
+            Map<Block, ? extends Collection<BlockPos>> addedBlueprintBlocks,
+            Map<Block, ? extends Collection<BlockPos>> removedBlueprintBlocks
+    ) {
+        this.addedBlocks = addedBlocks;
+        this.removedBlocks = removedBlocks;
+        this.addedBlueprintBlocks = addedBlueprintBlocks;
+        this.removedBlueprintBlocks = removedBlueprintBlocks;
+    }
+
+    public S2CUpdateSpecialBlocksPacket(PacketByteBuf buf) {
+        this.addedBlocks = readBlocks(buf);
+        this.removedBlocks = readBlocks(buf);
+        this.addedBlueprintBlocks = readBlocks(buf);
+        this.removedBlueprintBlocks = readBlocks(buf);
+    }
+
+    @Override
+    public void write(PacketByteBuf buf) {
+        writeBlocks(buf, addedBlocks);
+        writeBlocks(buf, removedBlocks);
+        writeBlocks(buf, addedBlueprintBlocks);
+        writeBlocks(buf, removedBlueprintBlocks);
+    }
+
+    @Override
+    public void handle(MinecraftClient client) {
+        final var provider = getManagersProvider();
+        final var manager = provider.get_ClientFortressManager();
+        manager.updateSpecialBlocks(addedBlocks, removedBlocks, false);
+        manager.updateSpecialBlocks(addedBlueprintBlocks, removedBlueprintBlocks, true);
+    }
+
+    private static Map<Block, List<BlockPos>> readBlocks(PacketByteBuf buf) {
+        final var blocks = new HashMap<Block, List<BlockPos>>();
+        final var size = buf.readVarInt();
+        for (int i = 0; i < size; i++) {
+            final var block = Registries.BLOCK.get(new Identifier(buf.readString()));
+            final var positionsCount = buf.readVarInt();
+            final var positions = blocks.computeIfAbsent(block, k -> new ArrayList<>(positionsCount));
+            for (int j = 0; j < positionsCount; j++) {
+                positions.add(buf.readBlockPos());
+            }
+        }
+        return blocks;
+    }
+
+    private static void writeBlocks(PacketByteBuf buf, Map<Block, ? extends Collection<BlockPos>> blocks) {
+        buf.writeVarInt(blocks.size());
+        for (Map.Entry<Block, ? extends Collection<BlockPos>> entry : blocks.entrySet()) {
+            buf.writeString(Registries.BLOCK.getId(entry.getKey()).toString());
+            buf.writeVarInt(entry.getValue().size());
+            for (BlockPos pos : entry.getValue()) {
+                buf.writeBlockPos(pos);
+            }
+        }
+    }
+
+}
@@ -1,5 +1,11 @@
 package net.remmintan.panama.model;
 
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockRenderType;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.MinecraftClient;
@@ -12,93 +18,191 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.BlockRenderView;
 import net.minecraft.world.biome.ColorResolver;
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.BlueprintDataLayer;
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.IStructureBlockData;
-import net.remmintan.panama.RenderHelper;
 import net.remmintan.panama.view.BlueprintBlockRenderView;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class BuiltBlueprint implements BuiltModel {
 
-    private final Set<RenderLayer> initializedLayers = new HashSet<>();
-    private final Set<RenderLayer> nonEmptyLayers = new HashSet<>();
-    private final Map<RenderLayer, VertexBuffer> vertexBuffers = RenderLayer
-            .getBlockLayers()
-            .stream()
-            .collect(Collectors.toMap(Function.identity(), it -> new VertexBuffer(VertexBuffer.Usage.STATIC)));
-    private final Map<RenderLayer, BufferBuilder.BuiltBuffer> builtBuffers = new HashMap<>();
+    private static final int SECTION_BITS = 4;
+    private static final int SECTION_SIZE = 1 << SECTION_BITS;
 
-
-    private CompletableFuture<Void> uploadsFuture;
+    private final Long2ObjectMap<Section> sections = new Long2ObjectLinkedOpenHashMap<>();
     private final BlockRenderView blueprintData;
     private final Vec3i size;
+    private boolean closed = false;
 
     public BuiltBlueprint(IStructureBlockData blockData, BiFunction<BlockState, ColorResolver, Integer> colorProvider) {
+        this(blockData, colorProvider, null);
+    }
+
+    public BuiltBlueprint(IStructureBlockData blockData, BiFunction<BlockState, ColorResolver, Integer> colorProvider, @Nullable BuiltBlueprint previous) {
         if(blockData == null) throw new IllegalArgumentException("Block data cannot be null");
         if(!blockData.hasLayer(BlueprintDataLayer.GENERAL)) throw new IllegalArgumentException("Block data must have a general layer");
-        this.blueprintData = new BlueprintBlockRenderView(blockData.getLayer(BlueprintDataLayer.GENERAL), colorProvider);
+        final var generalLayer = blockData.getLayer(BlueprintDataLayer.GENERAL);
         this.size = blockData.getSize();
+        final var sectionsX = getSectionsCount(size.getX());
+        final var sectionsY = getSectionsCount(size.getY());
+        final var sectionsZ = getSectionsCount(size.getZ());
+        this.blueprintData = new BlueprintBlockRenderView(generalLayer, sectionsY * SECTION_SIZE, colorProvider);
+
+        final var contentHashes = new Long2LongOpenHashMap();
+        final var nonEmptySections = new LongOpenHashSet();
+        for(Map.Entry<BlockPos, BlockState> entry : generalLayer.entrySet()) {
+            final var state = entry.getValue();
+            if(state == null || state.isAir()) continue;
+            final var pos = entry.getKey();
+            final var blockHash = HashCommon.mix(pos.asLong() * 31 + Block.getRawIdFromState(state));
+            nonEmptySections.add(getSectionKey(pos.getX() >> SECTION_BITS, pos.getY() >> SECTION_BITS, pos.getZ() >> SECTION_BITS));
+
+            // blocks on a section border affect culling and lighting of the neighbour sections too
+            for(int dx = -1; dx <= 1; dx++) {
+                final var sectionX = (pos.getX() + dx) >> SECTION_BITS;
+                if(dx != 0 && sectionX == pos.getX() >> SECTION_BITS) continue;
+                for(int dy = -1; dy <= 1; dy++) {
+                    final var sectionY = (pos.getY() + dy) >> SECTION_BITS;
+                    if(dy != 0 && sectionY == pos.getY() >> SECTION_BITS) continue;
+                    for(int dz = -1; dz <= 1; dz++) {
+                        final var sectionZ = (pos.getZ() + dz) >> SECTION_BITS;
+                        if(dz != 0 && sectionZ == pos.getZ() >> SECTION_BITS) continue;
+                        contentHashes.addTo(getSectionKey(sectionX, sectionY, sectionZ), blockHash);
+                    }
+                }
+            }
+        }
+
+        for(int x = 0; x < sectionsX; x++) {
+            for(int y = 0; y < sectionsY; y++) {
+                for(int z = 0; z < sectionsZ; z++) {
+                    final var key = getSectionKey(x, y, z);
+                    final var contentHash = contentHashes.get(key);
+                    final var empty = !nonEmptySections.contains(key);
+                    final var reused = previous == null ? null : previous.takeSection(key, contentHash);
+                    final var origin = new BlockPos(x << SECTION_BITS, y << SECTION_BITS, z << SECTION_BITS);
+                    sections.put(key, reused != null ? reused : new Section(origin, contentHash, empty));
+                }
+            }
+        }
     }
 
-    public void build(BlockBufferBuilderStorage blockBufferBuilders) {
-        render(blockBufferBuilders);
-        uploadBuffers();
+    public List<BlockPos> getSectionsToBuild() {
+        final var sectionsToBuild = new ArrayList<BlockPos>();
+        for(Section section : sections.values()) {
+            if(!section.uploaded) sectionsToBuild.add(section.origin);
+        }
+        return sectionsToBuild;
+    }
+
+    public CompletableFuture<Void> buildSection(BlockPos origin, BlockBufferBuilderStorage blockBufferBuilders, Executor executor) {
+        final var section = sections.get(origin.asLong());
+        if(section == null || section.uploaded) return CompletableFuture.completedFuture(null);
+        return CompletableFuture
+                .supplyAsync(() -> render(section, blockBufferBuilders), executor)
+                .thenAcceptAsync(builtBuffers -> upload(section, builtBuffers), getClient());
     }
 
     public boolean buffersUploaded() {
-        return uploadsFuture.isDone();
+        for(Section section : sections.values()) {
+            if(!section.uploaded) return false;
+        }
+        return true;
+    }
+
+    public long getVertexBytes() {
+        long bytes = 0;
+        for(Section section : sections.values()) {
+            bytes += section.vertexBytes;
+        }
+        return bytes;
+    }
+
+    public boolean isClosed() {
+        return closed;
     }
 
     @Override
     public VertexBuffer getBuffer(RenderLayer layer) {
-        return vertexBuffers.get(layer);
+        final var originSection = sections.get(BlockPos.ORIGIN.asLong());
+        return originSection == null ? null : originSection.vertexBuffers.get(layer);
+    }
+
+    @Override
+    public void forEachBuffer(RenderLayer layer, BiConsumer<BlockPos, VertexBuffer> consumer) {
+        for(Section section : sections.values()) {
+            final var buffer = section.vertexBuffers.get(layer);
+            if(buffer != null) consumer.accept(section.origin, buffer);
+        }
     }
 
     @Override
     public void close() {
-        this.vertexBuffers.values().forEach(VertexBuffer::close);
+        this.closed = true;
+        sections.values().forEach(Section::close);
     }
 
     @Override
     public boolean hasLayer(RenderLayer layer) {
-        return this.buffersUploaded() && nonEmptyLayers.contains(layer);
+        for(Section section : sections.values()) {
+            if(section.vertexBuffers.containsKey(layer)) return true;
+        }
+        return false;
     }
 
     public Vec3i getSize() {
         return size;
     }
 
-    private void uploadBuffers() {
-        final var uploadFutures = initializedLayers
-                .stream()
-                .map(layer -> {
-                    final var bufferBuilder = builtBuffers.get(layer);
-                    final var vertexBuffer = vertexBuffers.get(layer);
+    @Nullable
+    private Section takeSection(long key, long contentHash) {
+        final var section = sections.get(key);
+        if(section == null || !section.uploaded || section.contentHash != contentHash) return null;
+        sections.remove(key);
+        return section;
+    }
 
-                    return RenderHelper.scheduleUpload(bufferBuilder, vertexBuffer);
-                })
-                .toArray(CompletableFuture[]::new);
+    private void upload(Section section, Map<RenderLayer, BufferBuilder.BuiltBuffer> builtBuffers) {
+        if(closed) {
+            builtBuffers.values().forEach(BufferBuilder.BuiltBuffer::release);
+            return;
+        }
 
-        uploadsFuture = CompletableFuture.allOf(uploadFutures);
+        long bytes = 0;
+        for(Map.Entry<RenderLayer, BufferBuilder.BuiltBuffer> entry : builtBuffers.entrySet()) {
+            final var builtBuffer = entry.getValue();
+            final var parameters = builtBuffer.getParameters();
+            bytes += (long) parameters.vertexCount() * parameters.format().getVertexSizeByte();
+
+            final var vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            vertexBuffer.bind();
+            vertexBuffer.upload(builtBuffer);
+            VertexBuffer.unbind();
+            section.vertexBuffers.put(entry.getKey(), vertexBuffer);
+        }
+        section.vertexBytes = bytes;
+        section.uploaded = true;
     }
 
-
-    private void render(BlockBufferBuilderStorage blockBufferBuilders) {
-        BlockPos minPos = BlockPos.ORIGIN;
-        BlockPos maxPos = minPos.add(15, 15,15);
+    private Map<RenderLayer, BufferBuilder.BuiltBuffer> render(Section section, BlockBufferBuilderStorage blockBufferBuilders) {
+        final Set<RenderLayer> initializedLayers = new HashSet<>();
+        BlockPos minPos = section.origin;
+        BlockPos maxPos = minPos.add(SECTION_SIZE - 1, SECTION_SIZE - 1, SECTION_SIZE - 1);
 
         MatrixStack matrixStack = new MatrixStack();
 
         BlockModelRenderer.enableBrightnessCache();
         final BlockRenderManager blockRenderManager = getClient().getBlockRenderManager();
+        final Random random = Random.create();
 
         for(BlockPos pos : BlockPos.iterate(minPos, maxPos)) {
             final BlockState blockState = blueprintData.getBlockState(pos);
@@ -107,7 +211,7 @@ public class BuiltBlueprint implements BuiltModel {
             if(!fluidState.isEmpty()) {
                 final RenderLayer fluidRenderLayer = RenderLayers.getFluidLayer(fluidState);
                 final BufferBuilder bufferBuilder = blockBufferBuilders.get(fluidRenderLayer);
-                initLayer(fluidRenderLayer, bufferBuilder);
+                initLayer(initializedLayers, fluidRenderLayer, bufferBuilder);
 
                 blockRenderManager.renderFluid(pos, blueprintData, bufferBuilder, blockState, fluidState);
             }
@@ -116,31 +220,43 @@ public class BuiltBlueprint implements BuiltModel {
 
             final RenderLayer blockLayer = RenderLayers.getBlockLayer(blockState);
             final BufferBuilder bufferBuilder = blockBufferBuilders.get(blockLayer);
-            initLayer(blockLayer, bufferBuilder);
+            initLayer(initializedLayers, blockLayer, bufferBuilder);
 
             matrixStack.push();
             matrixStack.translate(pos.getX() & 0xF, pos.getY() & 0xF, pos.getZ() & 0xF);
 
-            final var clientWorld = getClient().world;
-            if(clientWorld != null) {
-                blockRenderManager.renderBlock(blockState, pos, blueprintData, matrixStack, bufferBuilder,  true, clientWorld.random);
+            if(getClient().world != null) {
+                blockRenderManager.renderBlock(blockState, pos, blueprintData, matrixStack, bufferBuilder,  true, random);
             }
-            nonEmptyLayers.add(blockLayer);
             matrixStack.pop();
         }
 
+        final Map<RenderLayer, BufferBuilder.BuiltBuffer> builtBuffers = new HashMap<>();
         for (RenderLayer layer : initializedLayers) {
-            builtBuffers.put(layer, blockBufferBuilders.get(layer).end());
+            final var builtBuffer = blockBufferBuilders.get(layer).end();
+            if(builtBuffer.getParameters().vertexCount() > 0) {
+                builtBuffers.put(layer, builtBuffer);
+            } else {
+                builtBuffer.release();
+            }
         }
 
         BlockModelRenderer.disableBrightnessCache();
+        return builtBuffers;
     }
 
-    private void initLayer(RenderLayer renderLayer, BufferBuilder bufferBuilder) {
+    private void initLayer(Set<RenderLayer> initializedLayers, RenderLayer renderLayer, BufferBuilder bufferBuilder) {
         if(initializedLayers.add(renderLayer))
             beginBufferBuilding(bufferBuilder);
     }
 
+    private static int getSectionsCount(int blocks) {
+        return Math.max(1, (blocks + SECTION_SIZE - 1) >> SECTION_BITS);
+    }
+
+    private static long getSectionKey(int sectionX, int sectionY, int sectionZ) {
+        return BlockPos.asLong(sectionX << SECTION_BITS, sectionY << SECTION_BITS, sectionZ << SECTION_BITS);
+    }
 
     @NotNull
     private MinecraftClient getClient() {
@@ -151,4 +267,25 @@ public class BuiltBlueprint implements BuiltModel {
         buffer.begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL);
     }
 
+    private static final class Section {
+
+        private final BlockPos origin;
+        private final long contentHash;
+        private final Map<RenderLayer, VertexBuffer> vertexBuffers = new HashMap<>();
+        private boolean uploaded;
+        private long vertexBytes = 0;
+
+        private Section(BlockPos origin, long contentHash, boolean empty) {
+            this.origin = origin;
+            this.contentHash = contentHash;
+            this.uploaded = empty;
+        }
+
+        private void close() {
+            vertexBuffers.values().forEach(VertexBuffer::close);
+            vertexBuffers.clear();
+        }
+
+    }
+
 }
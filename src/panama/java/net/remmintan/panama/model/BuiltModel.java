@@ -2,6 +2,9 @@ package net.remmintan.panama.model;
 
 import net.minecraft.client.gl.VertexBuffer;
 import net.minecraft.client.render.RenderLayer;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.function.BiConsumer;
 
 public interface BuiltModel {
 
@@ -9,4 +12,8 @@ public interface BuiltModel {
     VertexBuffer getBuffer(RenderLayer layer);
     void close();
 
+    default void forEachBuffer(RenderLayer layer, BiConsumer<BlockPos, VertexBuffer> consumer) {
+        consumer.accept(BlockPos.ORIGIN, getBuffer(layer));
+    }
+
 }
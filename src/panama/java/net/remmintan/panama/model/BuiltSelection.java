@@ -1,6 +1,7 @@
 package net.remmintan.panama.model;
 
 import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.longs.*;
 import net.minecraft.block.BlockRenderType;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -15,19 +16,20 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.Vec3i;
 import net.remmintan.gobi.renderer.selection.SelectionRenderInfo;
 import net.remmintan.mods.minefortress.building.BuildingHelper;
 import net.remmintan.mods.minefortress.core.interfaces.selections.ClickType;
-import net.remmintan.panama.RenderHelper;
 import net.remmintan.panama.renderer.FortressRenderLayer;
 import net.remmintan.panama.view.SelectionBlockRenderView;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector4f;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 public class BuiltSelection implements BuiltModel {
@@ -36,92 +38,153 @@ public class BuiltSelection implements BuiltModel {
 
     private final SelectionBlockRenderView selectionBlockRenderView;
 
-    private final Set<RenderLayer> initializedLayers = new HashSet<>();
-    private final Set<RenderLayer> nonEmptyLayers = new HashSet<>();
-    private final Map<RenderLayer, VertexBuffer> vertexBuffers = new HashMap<>();
-    private final Map<RenderLayer, BufferBuilder.BuiltBuffer> builtBufferMap = new HashMap<>();
-    private CompletableFuture<Void> upload;
+    private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private final LongSet renderedPositions = new LongOpenHashSet();
+    private VertexBuffer dimensionsBuffer;
 
-    private final SelectionRenderInfo selection;
+    private ClickType clickType;
+    private Vector4f color;
+    private BlockState blockState;
+    private List<Pair<Vec3i, Vec3i>> selectionDimensions = Collections.emptyList();
 
-    public BuiltSelection(SelectionRenderInfo selection) {
+    public BuiltSelection() {
         this.selectionBlockRenderView = new SelectionBlockRenderView(
                 (p, c) -> getWorld().getColor(getBlockPos(), c)
         );
-        this.selection = selection;
-
-        for(RenderLayer layer : RenderLayer.getBlockLayers()) {
-            vertexBuffers.put(layer, new VertexBuffer(VertexBuffer.Usage.STATIC));
-        }
-        vertexBuffers.put(RenderLayer.getLines(), new VertexBuffer(VertexBuffer.Usage.STATIC));
-        vertexBuffers.put(FortressRenderLayer.getLinesNoDepth(), new VertexBuffer(VertexBuffer.Usage.STATIC));
+        this.selectionBlockRenderView.setBlockStateSupplier(pos -> renderedPositions.contains(pos.asLong()) ? blockState : Blocks.AIR.getDefaultState());
     }
 
     private BlockPos getBlockPos() {
         return Optional.ofNullable(getClient().player).map(PlayerEntity::getBlockPos).orElse(getWorld().getSpawnPos());
     }
 
-    public void build(Map<RenderLayer, BufferBuilder> lineBufferBuilderStorage, BlockBufferBuilderStorage blockBufferBuilderStorage) {
-        render(lineBufferBuilderStorage, blockBufferBuilderStorage);
-        uploadBuffers();
-    }
+    public void build(SelectionRenderInfo selection, Map<RenderLayer, BufferBuilder> lineBufferBuilderStorage, BlockBufferBuilderStorage blockBufferBuilderStorage) {
+        final var appearanceChanged = selection.clickType() != clickType ||
+                !Objects.equals(selection.color(), color) ||
+                !Objects.equals(selection.blockState(), blockState);
+        this.clickType = selection.clickType();
+        this.color = selection.color();
+        this.blockState = selection.blockState();
+
+        final Long2ObjectMap<LongSet> positionsBySection = new Long2ObjectOpenHashMap<>();
+        renderedPositions.clear();
+        final var shouldRenderPos = getShouldRenderPosPredicate(clickType);
+        for(BlockPos pos : selection.positions()) {
+            if(!shouldRenderPos.test(pos)) continue;
+            final var packedPos = pos.asLong();
+            if(!renderedPositions.add(packedPos)) continue;
+            positionsBySection
+                    .computeIfAbsent(ChunkSectionPos.fromBlockPos(packedPos), k -> new LongOpenHashSet())
+                    .add(packedPos);
+        }
+
+        final var dirtySections = new LongOpenHashSet();
+        for(Long2ObjectMap.Entry<Section> entry : sections.long2ObjectEntrySet()) {
+            final var newPositions = positionsBySection.get(entry.getLongKey());
+            if(appearanceChanged || newPositions == null || !newPositions.equals(entry.getValue().positions))
+                dirtySections.add(entry.getLongKey());
+        }
+        for(long sectionKey : positionsBySection.keySet()) {
+            if(!sections.containsKey(sectionKey))
+                dirtySections.add(sectionKey);
+        }
+
+        // blocks are culled against their neighbours, so the adjacent sections have to be re-meshed too
+        if(clickType == ClickType.BUILD || clickType == ClickType.ROADS) {
+            final var changedSections = new LongArrayList(dirtySections);
+            for(long sectionKey : changedSections) {
+                for(Direction direction : Direction.values()) {
+                    final var neighbour = ChunkSectionPos.offset(sectionKey, direction);
+                    if(positionsBySection.containsKey(neighbour))
+                        dirtySections.add(neighbour);
+                }
+            }
+        }
 
-    private void render(Map<RenderLayer, BufferBuilder> lineBufferBuilderStorage, BlockBufferBuilderStorage blockBufferBuilderStorage) {
         final MatrixStack matrices = new MatrixStack();
+        for(long sectionKey : dirtySections) {
+            final var positions = positionsBySection.get(sectionKey);
+            if(positions == null) {
+                final var removed = sections.remove(sectionKey);
+                if(removed != null) removed.close();
+                continue;
+            }
+            final var section = sections.computeIfAbsent(sectionKey, k -> new Section(ChunkSectionPos.from(k).getMinPos()));
+            section.positions = positions;
+            renderSection(section, matrices, lineBufferBuilderStorage, blockBufferBuilderStorage);
+        }
+
+        if(appearanceChanged || !selection.selectionDimensions().equals(selectionDimensions)) {
+            this.selectionDimensions = List.copyOf(selection.selectionDimensions());
+            renderDimensions(matrices, lineBufferBuilderStorage);
+        }
+    }
+
+    private void renderSection(Section section, MatrixStack matrices, Map<RenderLayer, BufferBuilder> lineBufferBuilderStorage, BlockBufferBuilderStorage blockBufferBuilderStorage) {
+        final Map<RenderLayer, BufferBuilder> initializedLayers = new HashMap<>();
 
         final RenderLayer lines = RenderLayer.getLines();
         final BufferBuilder linesBufferBuilder = lineBufferBuilderStorage.get(lines);
-        init(lines, linesBufferBuilder);
-        final ClickType clickType = selection.clickType();
-        final Vector4f color = selection.color();
-        final List<BlockPos> positions = selection.positions()
-                .stream()
-                .filter(getShouldRenderPosPredicate(clickType))
-                .toList();
-        final BlockState blockState = selection.blockState();
-        selectionBlockRenderView.setBlockStateSupplier((blockPos) -> positions.contains(blockPos)?blockState: Blocks.AIR.getDefaultState());
-        for (BlockPos pos : positions) {
+        init(initializedLayers, lines, linesBufferBuilder);
+
+        final var origin = section.origin;
+        final var mutable = new BlockPos.Mutable();
+        for(long packedPos : section.positions) {
+            final var pos = mutable.set(packedPos);
+            // the lines shader has no chunk offset uniform, so the lines stay in world coordinates
             matrices.push();
             matrices.translate(pos.getX(), pos.getY(), pos.getZ());
             WorldRenderer.drawBox(matrices, linesBufferBuilder, BOX, color.x(), color.y(), color.z(), color.w());
+            matrices.pop();
             if(clickType == ClickType.BUILD || clickType == ClickType.ROADS) {
-                renderFluid(blockBufferBuilderStorage, pos, blockState);
-                renderBlock(blockBufferBuilderStorage, matrices, pos, blockState);
+                matrices.push();
+                matrices.translate(pos.getX() - origin.getX(), pos.getY() - origin.getY(), pos.getZ() - origin.getZ());
+                renderFluid(initializedLayers, blockBufferBuilderStorage, pos, blockState);
+                renderBlock(initializedLayers, blockBufferBuilderStorage, matrices, pos, blockState);
+                matrices.pop();
             }
-            matrices.pop();
+        }
 
-            nonEmptyLayers.add(RenderLayer.getLines());
+        final var previousBuffers = new HashMap<>(section.vertexBuffers);
+        section.vertexBuffers.clear();
+        for(Map.Entry<RenderLayer, BufferBuilder> entry : initializedLayers.entrySet()) {
+            final var layer = entry.getKey();
+            final var builtBuffer = entry.getValue().end();
+            if(builtBuffer.getParameters().vertexCount() == 0) {
+                builtBuffer.release();
+                continue;
+            }
+            final var vertexBuffer = Optional
+                    .ofNullable(previousBuffers.remove(layer))
+                    .orElseGet(() -> new VertexBuffer(VertexBuffer.Usage.STATIC));
+            upload(vertexBuffer, builtBuffer);
+            section.vertexBuffers.put(layer, vertexBuffer);
         }
+        previousBuffers.values().forEach(VertexBuffer::close);
+    }
 
-        if(clickType == ClickType.REMOVE) {
-            final RenderLayer linesNoDepth = FortressRenderLayer.getLinesNoDepth();
-            final BufferBuilder linesNoDepthBufferBuilder = lineBufferBuilderStorage.get(linesNoDepth);
-            init(linesNoDepth, linesNoDepthBufferBuilder);
+    private void renderDimensions(MatrixStack matrices, Map<RenderLayer, BufferBuilder> lineBufferBuilderStorage) {
+        if(dimensionsBuffer != null) {
+            dimensionsBuffer.close();
+            dimensionsBuffer = null;
+        }
+        if(clickType != ClickType.REMOVE || selectionDimensions.isEmpty()) return;
 
-            final List<Pair<Vec3i, Vec3i>> selectionDimensions = selection.selectionDimensions();
-            for (Pair<Vec3i, Vec3i> dimension : selectionDimensions) {
-                final Vec3i size = dimension.getFirst();
-                final Vec3i start = dimension.getSecond();
+        final BufferBuilder linesNoDepthBufferBuilder = lineBufferBuilderStorage.get(FortressRenderLayer.getLinesNoDepth());
+        linesNoDepthBufferBuilder.begin(VertexFormat.DrawMode.LINES, VertexFormats.LINES);
+        for (Pair<Vec3i, Vec3i> dimension : selectionDimensions) {
+            final Vec3i size = dimension.getFirst();
+            final Vec3i start = dimension.getSecond();
 
-                final Box sizeBox = new Box(0, 0, 0, size.getX(), size.getY(), size.getZ());
-                matrices.push();
-                matrices.translate(start.getX(), start.getY(), start.getZ());
-                WorldRenderer.drawBox(matrices, linesNoDepthBufferBuilder, sizeBox, color.x(), color.y(), color.z(), color.w());
-                matrices.pop();
-
-                nonEmptyLayers.add(FortressRenderLayer.getLinesNoDepth());
-            }
+            final Box sizeBox = new Box(0, 0, 0, size.getX(), size.getY(), size.getZ());
+            matrices.push();
+            matrices.translate(start.getX(), start.getY(), start.getZ());
+            WorldRenderer.drawBox(matrices, linesNoDepthBufferBuilder, sizeBox, color.x(), color.y(), color.z(), color.w());
+            matrices.pop();
         }
 
-        for(var layer : this.initializedLayers) {
-            final BufferBuilder.BuiltBuffer builtBuffer;
-            if(layer == RenderLayer.getLines() || layer == FortressRenderLayer.getLinesNoDepth()) {
-                builtBuffer = lineBufferBuilderStorage.get(layer).end();
-            } else {
-                builtBuffer = blockBufferBuilderStorage.get(layer).end();
-            }
-            this.builtBufferMap.put(layer, builtBuffer);
-        }
+        dimensionsBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+        upload(dimensionsBuffer, linesNoDepthBufferBuilder.end());
     }
 
     @NotNull
@@ -131,33 +194,31 @@ public class BuiltSelection implements BuiltModel {
                 ((clickType == ClickType.REMOVE || clickType == ClickType.ROADS) && BuildingHelper.canRemoveBlock(getWorld(),pos));
     }
 
-    private void renderFluid(BlockBufferBuilderStorage blockBufferBuilderStorage, BlockPos pos, BlockState blockState) {
+    private void renderFluid(Map<RenderLayer, BufferBuilder> initializedLayers, BlockBufferBuilderStorage blockBufferBuilderStorage, BlockPos pos, BlockState blockState) {
         final FluidState fluidState = blockState.getFluidState();
         if(!fluidState.isEmpty()) {
             final RenderLayer fluidRenderLayer = RenderLayers.getFluidLayer(fluidState);
             final BufferBuilder fluidBufferBuilder = blockBufferBuilderStorage.get(fluidRenderLayer);
-            init(fluidRenderLayer, fluidBufferBuilder);
+            init(initializedLayers, fluidRenderLayer, fluidBufferBuilder);
 
             getBlockRenderManager().renderFluid(pos, selectionBlockRenderView, fluidBufferBuilder, blockState, fluidState);
 
         }
     }
 
-    private void renderBlock(BlockBufferBuilderStorage blockBufferBuilderStorage, MatrixStack matrices, BlockPos pos, BlockState blockState) {
+    private void renderBlock(Map<RenderLayer, BufferBuilder> initializedLayers, BlockBufferBuilderStorage blockBufferBuilderStorage, MatrixStack matrices, BlockPos pos, BlockState blockState) {
         if(blockState.getRenderType() != BlockRenderType.INVISIBLE) {
             final RenderLayer blockLayer = RenderLayers.getBlockLayer(blockState);
             final BufferBuilder blockBufferBuilder = blockBufferBuilderStorage.get(blockLayer);
-            init(blockLayer, blockBufferBuilder);
+            init(initializedLayers, blockLayer, blockBufferBuilder);
 
             final BlockRenderManager blockRenderer = getBlockRenderManager();
             blockRenderer.renderBlock(blockState, pos, selectionBlockRenderView, matrices, blockBufferBuilder, true, getWorld().random);
-
-            nonEmptyLayers.add(blockLayer);
         }
     }
 
-    private void init(RenderLayer layer, BufferBuilder bufferBuilder) {
-        if(initializedLayers.add(layer)){
+    private void init(Map<RenderLayer, BufferBuilder> initializedLayers, RenderLayer layer, BufferBuilder bufferBuilder) {
+        if(initializedLayers.putIfAbsent(layer, bufferBuilder) == null){
             if(layer == RenderLayer.LINES || layer == FortressRenderLayer.LINES_NO_DEPTH) {
                 bufferBuilder.begin(VertexFormat.DrawMode.LINES, VertexFormats.LINES);
             } else {
@@ -166,33 +227,54 @@ public class BuiltSelection implements BuiltModel {
         }
     }
 
-    private void uploadBuffers() {
-        final var uploads = initializedLayers
-                .stream()
-                .map(layer -> {
-                    final var vertexBuffer = vertexBuffers.get(layer);
-                    final var builtBuffer = builtBufferMap.get(layer);
-                    return RenderHelper.scheduleUpload(builtBuffer, vertexBuffer);
-                }).toArray(CompletableFuture[]::new);
-        this.upload = CompletableFuture.allOf(uploads);
+    private static void upload(VertexBuffer vertexBuffer, BufferBuilder.BuiltBuffer builtBuffer) {
+        // the buffer builders are shared between sections, so the data has to be uploaded before the next section begins
+        vertexBuffer.bind();
+        vertexBuffer.upload(builtBuffer);
+        VertexBuffer.unbind();
     }
 
     @Override
     public boolean hasLayer(RenderLayer layer) {
-        if(upload.isCompletedExceptionally())
-            throw new IllegalStateException("Render buffers uploads failed");
-
-        return upload.isDone() && nonEmptyLayers.contains(layer);
+        if(layer == FortressRenderLayer.getLinesNoDepth() && dimensionsBuffer != null) return true;
+        for(Section section : sections.values()) {
+            if(section.vertexBuffers.containsKey(layer)) return true;
+        }
+        return false;
     }
 
     @Override
     public VertexBuffer getBuffer(RenderLayer layer) {
-        return vertexBuffers.get(layer);
+        if(layer == FortressRenderLayer.getLinesNoDepth()) return dimensionsBuffer;
+        final var originSection = sections.get(ChunkSectionPos.fromBlockPos(BlockPos.ORIGIN.asLong()));
+        return originSection == null ? null : originSection.vertexBuffers.get(layer);
+    }
+
+    @Override
+    public void forEachBuffer(RenderLayer layer, BiConsumer<BlockPos, VertexBuffer> consumer) {
+        if(layer == FortressRenderLayer.getLinesNoDepth()) {
+            if(dimensionsBuffer != null) consumer.accept(BlockPos.ORIGIN, dimensionsBuffer);
+            return;
+        }
+        for(Section section : sections.values()) {
+            final var buffer = section.vertexBuffers.get(layer);
+            if(buffer != null) consumer.accept(section.origin, buffer);
+        }
     }
 
     @Override
     public void close() {
-        vertexBuffers.values().forEach(VertexBuffer::close);
+        sections.values().forEach(Section::close);
+        sections.clear();
+        if(dimensionsBuffer != null) {
+            dimensionsBuffer.close();
+            dimensionsBuffer = null;
+        }
+        // the next build starts from scratch and renders the dimensions box again
+        clickType = null;
+        color = null;
+        blockState = null;
+        selectionDimensions = Collections.emptyList();
     }
 
     private ClientWorld getWorld() {
@@ -206,4 +288,21 @@ public class BuiltSelection implements BuiltModel {
     private MinecraftClient getClient() {
         return MinecraftClient.getInstance();
     }
+
+    private static final class Section {
+
+        private final BlockPos origin;
+        private final Map<RenderLayer, VertexBuffer> vertexBuffers = new HashMap<>();
+        private LongSet positions = LongSets.EMPTY_SET;
+
+        private Section(BlockPos origin) {
+            this.origin = origin;
+        }
+
+        private void close() {
+            vertexBuffers.values().forEach(VertexBuffer::close);
+            vertexBuffers.clear();
+        }
+
+    }
 }
@@ -5,49 +5,122 @@ import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.render.chunk.BlockBufferBuilderStorage;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.util.BlockRotation;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.BlockPos;
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.IBlockDataProvider;
 import net.remmintan.mods.minefortress.core.interfaces.blueprints.IStructureBlockData;
 import net.remmintan.panama.model.BuiltBlueprint;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Supplier;
 
 public class BlueprintsModelBuilder {
 
-    private final BlockBufferBuilderStorage blockBufferBuilders;
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int BUFFER_BUILDERS_POOL_SIZE = 3;
+    private static final int DEFAULT_MAX_ENTRIES = 128;
+    private static final long DEFAULT_MAX_VERTEX_BYTES = 64L * 1024 * 1024;
+
     private final Supplier<IBlockDataProvider> blockDataManagerSupplier;
+    private final int maxEntries;
+    private final long maxVertexBytes;
 
-    private final Map<String, BuiltBlueprint> builtBlueprints = new HashMap<>();
+    private final Map<String, BuiltBlueprint> builtBlueprints = new LinkedHashMap<>(16, 0.75f, true);
     private final HashSet<BuiltBlueprint> blueprintsToClose = new HashSet<>();
 
-    public BlueprintsModelBuilder(BlockBufferBuilderStorage blockBufferBuilders,
-                                  Supplier<IBlockDataProvider> blockDataProviderSupplier) {
-        this.blockBufferBuilders = blockBufferBuilders;
-        this.blockDataManagerSupplier = blockDataProviderSupplier;
-    }
+    private final Queue<SectionBuild> pendingBuilds = new ArrayDeque<>();
+    private final Queue<BlockBufferBuilderStorage> freeBufferBuilders = new ConcurrentLinkedQueue<>();
+    private int createdBufferBuilders = 0;
+    private volatile boolean needEviction = false;
 
-    public BuiltBlueprint getOrBuildBlueprint(String fileName, BlockRotation rotation) {
-        buildBlueprint(fileName, rotation);
+    public BlueprintsModelBuilder(Supplier<IBlockDataProvider> blockDataProviderSupplier) {
+        this(blockDataProviderSupplier, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_VERTEX_BYTES);
+    }
 
-        return this.builtBlueprints.get(getKey(fileName, rotation));
+    public BlueprintsModelBuilder(Supplier<IBlockDataProvider> blockDataProviderSupplier, int maxEntries, long maxVertexBytes) {
+        this.blockDataManagerSupplier = blockDataProviderSupplier;
+        this.maxEntries = maxEntries;
+        this.maxVertexBytes = maxVertexBytes;
     }
 
-    private void buildBlueprint(String fileName, BlockRotation rotation) {
+    public BuiltBlueprint getOrBuildBlueprint(String fileName, BlockRotation rotation) {
         for(BuiltBlueprint blueprint : this.blueprintsToClose) {
             blueprint.close();
         }
         this.blueprintsToClose.clear();
 
         String key = getKey(fileName, rotation);
-        if(!this.builtBlueprints.containsKey(key)) {
+        BuiltBlueprint builtBlueprint = this.builtBlueprints.get(key);
+        if(builtBlueprint == null) {
             final IStructureBlockData blockData = this.blockDataManagerSupplier.get().getBlockData(fileName, rotation);
-            final BuiltBlueprint builtBlueprint = new BuiltBlueprint(blockData, (p, c) -> getWorld().getColor(getBlockPos(), c));
-            builtBlueprint.build(this.blockBufferBuilders);
+            builtBlueprint = new BuiltBlueprint(blockData, (p, c) -> getWorld().getColor(getBlockPos(), c));
             this.builtBlueprints.put(key, builtBlueprint);
+            scheduleBuild(builtBlueprint);
+            this.needEviction = true;
+        }
+
+        startPendingBuilds();
+        if(needEviction) {
+            needEviction = false;
+            evict(builtBlueprint);
+        }
+
+        return builtBlueprint;
+    }
+
+    private void scheduleBuild(BuiltBlueprint blueprint) {
+        for(BlockPos section : blueprint.getSectionsToBuild()) {
+            pendingBuilds.add(new SectionBuild(blueprint, section));
+        }
+    }
+
+    private void startPendingBuilds() {
+        while(!pendingBuilds.isEmpty()) {
+            final var bufferBuilders = acquireBufferBuilders();
+            if(bufferBuilders == null) return;
+
+            final var build = pendingBuilds.poll();
+            if(build.blueprint().isClosed()) {
+                freeBufferBuilders.add(bufferBuilders);
+                continue;
+            }
+
+            build.blueprint().buildSection(build.section(), bufferBuilders, Util.getMainWorkerExecutor())
+                    .whenComplete((v, throwable) -> {
+                        if(throwable != null) LOGGER.error("Failed to build blueprint model", throwable);
+                        freeBufferBuilders.add(bufferBuilders);
+                        needEviction = true;
+                    });
+        }
+    }
+
+    private BlockBufferBuilderStorage acquireBufferBuilders() {
+        final var bufferBuilders = freeBufferBuilders.poll();
+        if(bufferBuilders != null) return bufferBuilders;
+        if(createdBufferBuilders >= BUFFER_BUILDERS_POOL_SIZE) return null;
+        createdBufferBuilders++;
+        return new BlockBufferBuilderStorage();
+    }
+
+    private void evict(BuiltBlueprint inUse) {
+        long totalVertexBytes = 0;
+        for(BuiltBlueprint blueprint : builtBlueprints.values()) {
+            totalVertexBytes += blueprint.getVertexBytes();
+        }
+
+        final var iterator = builtBlueprints.values().iterator();
+        while(iterator.hasNext() && (builtBlueprints.size() > maxEntries || totalVertexBytes > maxVertexBytes)) {
+            final var eldest = iterator.next();
+            if(eldest == inUse) continue;
+            totalVertexBytes -= eldest.getVertexBytes();
+            iterator.remove();
+            pendingBuilds.removeIf(it -> it.blueprint() == eldest);
+            blueprintsToClose.add(eldest);
         }
     }
 
@@ -65,15 +138,34 @@ public class BlueprintsModelBuilder {
             String key = entry.getKey();
             BuiltBlueprint blueprint = entry.getValue();
             this.blueprintsToClose.add(blueprint);
+            this.pendingBuilds.removeIf(it -> it.blueprint() == blueprint);
             this.builtBlueprints.remove(key);
         }
     }
 
+    public void updateBlueprint(final String fileName) {
+        for(BlockRotation rotation : BlockRotation.values()) {
+            final var key = getKey(fileName, rotation);
+            final var previous = builtBlueprints.get(key);
+            if(previous == null) continue;
+
+            final IStructureBlockData blockData = this.blockDataManagerSupplier.get().getBlockData(fileName, rotation);
+            final var updated = new BuiltBlueprint(blockData, (p, c) -> getWorld().getColor(getBlockPos(), c), previous);
+            this.builtBlueprints.put(key, updated);
+            this.pendingBuilds.removeIf(it -> it.blueprint() == previous);
+            this.blueprintsToClose.add(previous);
+            scheduleBuild(updated);
+        }
+    }
+
     public void reset() {
         this.blueprintsToClose.addAll(this.builtBlueprints.values());
         this.builtBlueprints.clear();
+        this.pendingBuilds.clear();
     }
 
+    private record SectionBuild(BuiltBlueprint blueprint, BlockPos section) {}
+
     public ClientWorld getWorld() {
         return MinecraftClient.getInstance().world;
     }
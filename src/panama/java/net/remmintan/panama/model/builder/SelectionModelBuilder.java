@@ -38,12 +38,11 @@ public class SelectionModelBuilder {
                 infoProvider.getSelectionDimensions()
         );
 
-        if(this.builtSelection != null) {
-            this.builtSelection.close();
+        if(this.builtSelection == null) {
+            this.builtSelection = new BuiltSelection();
         }
 
-        this.builtSelection = new BuiltSelection(activeSelectionInfo);
-        this.builtSelection.build(lineBufferBuilderStorage, blockBufferBuilderStorage);
+        this.builtSelection.build(activeSelectionInfo, lineBufferBuilderStorage, blockBufferBuilderStorage);
     }
 
     public BuiltSelection getBuiltSelection() {
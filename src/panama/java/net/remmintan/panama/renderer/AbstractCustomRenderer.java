@@ -99,15 +99,20 @@ public abstract class AbstractCustomRenderer {
             final BlockPos renderTargetPosition = renderTargetPositionOpt.get();
             final BuiltModel builtModel = builtModelOpt.get();
 
-            if(offset != null) {
-                final Vector3f targetOffset = new Vector3f(renderTargetPosition.getX(), renderTargetPosition.getY(), renderTargetPosition.getZ());
-                offset.set(targetOffset);
-                offset.upload();
-            }
-
-            final VertexBuffer buffer = builtModel.getBuffer(layer);
-            buffer.bind();
-            buffer.draw();
+            builtModel.forEachBuffer(layer, (origin, buffer) -> {
+                if(offset != null) {
+                    final Vector3f targetOffset = new Vector3f(
+                            renderTargetPosition.getX() + origin.getX(),
+                            renderTargetPosition.getY() + origin.getY(),
+                            renderTargetPosition.getZ() + origin.getZ()
+                    );
+                    offset.set(targetOffset);
+                    offset.upload();
+                }
+
+                buffer.bind();
+                buffer.draw();
+            });
         }
 
         if(offset != null) {
@@ -7,7 +7,6 @@ import net.minecraft.client.gl.ShaderProgram;
 import net.minecraft.client.gl.VertexBuffer;
 import net.minecraft.client.render.DiffuseLighting;
 import net.minecraft.client.render.RenderLayer;
-import net.minecraft.client.render.chunk.BlockBufferBuilderStorage;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.BlockRotation;
 import net.minecraft.util.math.BlockPos;
@@ -36,9 +35,9 @@ public final class BlueprintRenderer extends AbstractCustomRenderer {
 
     private final BlueprintsModelBuilder blueprintsModelBuilder;
 
-    public BlueprintRenderer(Supplier<IBlockDataProvider> blockDataProviderSupplier, MinecraftClient client, BlockBufferBuilderStorage blockBufferBuilderStorage) {
+    public BlueprintRenderer(Supplier<IBlockDataProvider> blockDataProviderSupplier, MinecraftClient client) {
         super(client);
-        blueprintsModelBuilder  = new BlueprintsModelBuilder(blockBufferBuilderStorage, blockDataProviderSupplier);
+        blueprintsModelBuilder  = new BlueprintsModelBuilder(blockDataProviderSupplier);
     }
 
     @Override
@@ -212,14 +211,15 @@ public final class BlueprintRenderer extends AbstractCustomRenderer {
 
         final boolean hasLayer = builtBlueprint.hasLayer(renderLayer);
         if(hasLayer) {
-            if (chunkOffset != null) {
-                chunkOffset.set(new Vector3f());
-                chunkOffset.upload();
-            }
-
-            final VertexBuffer buffer = builtBlueprint.getBuffer(renderLayer);
-            buffer.bind();
-            buffer.draw();
+            builtBlueprint.forEachBuffer(renderLayer, (origin, buffer) -> {
+                if (chunkOffset != null) {
+                    chunkOffset.set(new Vector3f(origin.getX(), origin.getY(), origin.getZ()));
+                    chunkOffset.upload();
+                }
+
+                buffer.bind();
+                buffer.draw();
+            });
         }
 
         if(chunkOffset != null) chunkOffset.set(new Vector3f());
@@ -11,10 +11,12 @@ import java.util.function.BiFunction;
 public class BlueprintBlockRenderView extends AbstractCustomBlockRenderView {
 
     private final Map<BlockPos, BlockState> blueprintData;
+    private final int height;
 
-    public BlueprintBlockRenderView(Map<BlockPos, BlockState> blueprintData, BiFunction<BlockState, ColorResolver, Integer> colorProvider) {
+    public BlueprintBlockRenderView(Map<BlockPos, BlockState> blueprintData, int height, BiFunction<BlockState, ColorResolver, Integer> colorProvider) {
         super(colorProvider);
         this.blueprintData = blueprintData;
+        this.height = height;
     }
 
     @Override
@@ -24,7 +26,7 @@ public class BlueprintBlockRenderView extends AbstractCustomBlockRenderView {
 
     @Override
     public int getHeight() {
-        return 16;
+        return height;
     }
 
 }
@@ -11,6 +11,7 @@ import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.World;
 import net.remmintan.gobi.helpers.TreeBlocks;
 import net.remmintan.gobi.helpers.TreeHelper;
+import net.remmintan.gobi.helpers.TreesCache;
 import net.remmintan.mods.minefortress.core.TaskType;
 import net.remmintan.mods.minefortress.core.interfaces.selections.ClickType;
 import net.remmintan.mods.minefortress.core.interfaces.tasks.ITasksInformationHolder;
@@ -28,6 +29,8 @@ public class TreeSelection extends Selection {
 
     private final List<BlockPos> treeRoots = new ArrayList<>();
     private final List<BlockPos> selectedTreeBlocks = new ArrayList<>();
+    // nothing invalidates the trees on the client, so the cache lives only while the selection is made
+    private final TreesCache treesCache = new TreesCache();
 
     @Override
     public boolean isSelecting() {
@@ -86,6 +89,7 @@ public class TreeSelection extends Selection {
         start = null;
         treeRoots.clear();
         selectedTreeBlocks.clear();
+        treesCache.clear();
     }
 
     @Override
@@ -141,7 +145,7 @@ public class TreeSelection extends Selection {
     private void updateTreeData(World world) {
         this.selectedTreeBlocks.clear();
         for(BlockPos root: new ArrayList<>(treeRoots)) {
-            final var treeBlocks = TreeHelper.getTreeBlocks(root, world);
+            final var treeBlocks = TreeHelper.getTreeBlocks(root, world, treesCache);
             if(treeBlocks.isEmpty()){
                 treeRoots.remove(root);
             } else {
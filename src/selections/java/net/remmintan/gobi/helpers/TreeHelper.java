@@ -1,16 +1,14 @@
 package net.remmintan.gobi.helpers;
 
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.block.LeavesBlock;
-import net.minecraft.entity.Entity;
 import net.minecraft.registry.tag.BlockTags;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
-import net.minecraft.world.event.GameEvent;
 import net.remmintan.mods.minefortress.core.interfaces.entities.pawns.IWorkerPawn;
-import net.remmintan.mods.minefortress.core.utils.ResourceUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,7 +17,10 @@ import java.util.Optional;
 
 public class TreeHelper {
 
-    public static Optional<TreeInfo> checkIfTree(BlockPos treeRoot, World world) {
+    static final int MAX_TREE_BLOCKS = 4096;
+    static final int MAX_LEAVES_DISTANCE = 3;
+
+    public static Optional<TreeInfo> checkIfTree(BlockPos treeRoot, BlockView world) {
         int logCount = 0;
         int leavesCount = 0;
 
@@ -62,13 +63,22 @@ public class TreeHelper {
         return blockState.isIn(BlockTags.LEAVES)  || blockState.getBlock() instanceof LeavesBlock;
     }
 
-    public static Optional<TreeBlocks> getTreeBlocks(BlockPos root, World world) {
+    public static Optional<TreeBlocks> getTreeBlocks(BlockPos root, IWorkerPawn pawn) {
+        final var cache = pawn.getManagersProvider().orElseThrow().getManager(TreesCache.class);
+        return getTreeBlocks(root, pawn.getServerWorld(), cache);
+    }
+
+    public static Optional<TreeBlocks> getTreeBlocks(BlockPos root, World world, TreesCache cache) {
+        return cache.getOrDetect(root.toImmutable(), MAX_LEAVES_DISTANCE, () -> detectTreeBlocks(root, world));
+    }
+
+    static Optional<TreeBlocks> detectTreeBlocks(BlockPos root, BlockView world) {
         final Optional<TreeInfo> treeInfoOpt = checkIfTree(root, world);
         if(treeInfoOpt.isPresent()) {
             BlockState rootBlockState = world.getBlockState(root);
             final ArrayList<BlockPos> treeBlocks = new ArrayList<>();
             final ArrayList<BlockPos> leavesBlocks = new ArrayList<>();
-            updateTreeDataForOneTree(world, treeBlocks, leavesBlocks, root, rootBlockState, root);
+            collectTreeBlocks(world, treeBlocks, leavesBlocks, rootBlockState, root);
             return Optional.of(new TreeBlocks(treeBlocks, leavesBlocks));
         } else {
             return Optional.empty();
@@ -114,41 +124,43 @@ public class TreeHelper {
         return Optional.empty();
     }
 
-    private static void updateTreeDataForOneTree(World world, List<BlockPos> treeBlocks, List<BlockPos> leavesBlocks, BlockPos cursor, BlockState rootBlockState, BlockPos root) {
+    private static void collectTreeBlocks(BlockView world, List<BlockPos> treeBlocks, List<BlockPos> leavesBlocks, BlockState rootBlockState, BlockPos root) {
         if(!isLog(rootBlockState)) return;
-        BlockPos areaStart = new BlockPos(cursor.getX() - 1, cursor.getY(), cursor.getZ() - 1);
-        BlockPos areaEnd = new BlockPos(cursor.getX() + 1, cursor.getY() + 1, cursor.getZ() + 1);
-        List<BlockPos> neighbors = new ArrayList<>();
-        for(BlockPos pos: BlockPos.iterate(areaStart, areaEnd)) {
-            pos = pos.toImmutable();
-            if(treeBlocks.contains(pos) || leavesBlocks.contains(pos)) continue;
-            final BlockState blockState = world.getBlockState(pos);
-            if(rootBlockState.equals(blockState)) {
-                treeBlocks.add(pos);
-                neighbors.add(pos);
-            } else if(isLeaves(blockState)) {
-                final double distanceToRoot = Math.sqrt(Math.pow(pos.getX() - root.getX(), 2) + Math.pow(pos.getZ() - root.getZ(), 2));
-                if(distanceToRoot <= 3) {
-                    leavesBlocks.add(pos);
-                    neighbors.add(pos);
+        final var visited = new LongOpenHashSet();
+        final var queue = new LongArrayFIFOQueue();
+        queue.enqueue(root.asLong());
+        final var cursor = new BlockPos.Mutable();
+        final var pos = new BlockPos.Mutable();
+        while(!queue.isEmpty() && treeBlocks.size() + leavesBlocks.size() < MAX_TREE_BLOCKS) {
+            cursor.set(queue.dequeueLong());
+            for(int dx = -1; dx <= 1; dx++) {
+                for(int dy = 0; dy <= 1; dy++) {
+                    for(int dz = -1; dz <= 1; dz++) {
+                        pos.set(cursor.getX() + dx, cursor.getY() + dy, cursor.getZ() + dz);
+                        if(!visited.add(pos.asLong())) continue;
+                        final BlockState blockState = world.getBlockState(pos);
+                        if(rootBlockState.equals(blockState)) {
+                            treeBlocks.add(pos.toImmutable());
+                            queue.enqueue(pos.asLong());
+                        } else if(isLeaves(blockState)) {
+                            final int distanceX = pos.getX() - root.getX();
+                            final int distanceZ = pos.getZ() - root.getZ();
+                            if(distanceX * distanceX + distanceZ * distanceZ <= MAX_LEAVES_DISTANCE * MAX_LEAVES_DISTANCE) {
+                                leavesBlocks.add(pos.toImmutable());
+                                queue.enqueue(pos.asLong());
+                            }
+                        }
+                    }
                 }
             }
         }
-
-        for (BlockPos neighbor : neighbors) {
-            updateTreeDataForOneTree(world, treeBlocks, leavesBlocks, neighbor, rootBlockState, root);
-        }
-    }
-
-    public static void removeTheRestOfATree(IWorkerPawn pawn, TreeBlocks tree, ServerWorld world) {
-        tree.getTreeBlocks().forEach(blockPos -> removeBlockAddDropToTheResources(pawn, world, blockPos));
-        tree.getLeavesBlocks().forEach(blockPos -> removeBlockAddDropToTheResources(pawn, world, blockPos));
     }
 
-    private static void removeBlockAddDropToTheResources(IWorkerPawn pawn, ServerWorld world, BlockPos blockPos) {
-        ResourceUtils.addDropToTheResourceManager(world, blockPos,  pawn);
-        world.setBlockState(blockPos, Blocks.AIR.getDefaultState(), 3);
-        world.emitGameEvent((Entity) pawn, GameEvent.BLOCK_DESTROY, blockPos);
+    public static void removeTheRestOfATree(IWorkerPawn pawn, TreeBlocks tree) {
+        final var removalManager = pawn.getManagersProvider().orElseThrow().getBlocksRemovalManager();
+        removalManager.scheduleLogsRemoval(tree.getTreeBlocks());
+        // the leaves inside the canopy only touch each other, so just the outer ones notify their neighbours
+        removalManager.scheduleLeavesRemoval(tree.getLeavesBlocks());
     }
 
     record TreeInfo(int logsCount, BlockPos highestLeaf) {}
@@ -0,0 +1,82 @@
+package net.remmintan.gobi.helpers;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.remmintan.mods.minefortress.core.interfaces.server.IBlockChangeListener;
+import net.remmintan.mods.minefortress.core.interfaces.server.IServerManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public final class TreesCache implements IServerManager, IBlockChangeListener {
+
+    private static final int MAX_CACHED_ROOTS = 2048;
+
+    private final Long2ObjectMap<Optional<TreeBlocks>> treesByRoot = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<LongSet> rootsByChunk = new Long2ObjectOpenHashMap<>();
+
+    Optional<TreeBlocks> getOrDetect(BlockPos root, int detectionRadius, Supplier<Optional<TreeBlocks>> detector) {
+        final var rootKey = root.asLong();
+        final var cached = treesByRoot.get(rootKey);
+        if(cached != null) return cached;
+
+        final var tree = detector.get();
+        if(treesByRoot.size() >= MAX_CACHED_ROOTS) clear();
+        treesByRoot.put(rootKey, tree);
+
+        // the entry depends on every block which was looked at during the detection
+        final var chunks = new LongOpenHashSet();
+        final var minChunkX = ChunkSectionPos.getSectionCoord(root.getX() - detectionRadius);
+        final var maxChunkX = ChunkSectionPos.getSectionCoord(root.getX() + detectionRadius);
+        final var minChunkZ = ChunkSectionPos.getSectionCoord(root.getZ() - detectionRadius);
+        final var maxChunkZ = ChunkSectionPos.getSectionCoord(root.getZ() + detectionRadius);
+        for(int x = minChunkX; x <= maxChunkX; x++)
+            for(int z = minChunkZ; z <= maxChunkZ; z++)
+                chunks.add(ChunkPos.toLong(x, z));
+        tree.ifPresent(it -> {
+            it.getTreeBlocks().forEach(pos -> chunks.add(ChunkPos.toLong(pos)));
+            it.getLeavesBlocks().forEach(pos -> chunks.add(ChunkPos.toLong(pos)));
+        });
+        for(long chunk : chunks) {
+            rootsByChunk.computeIfAbsent(chunk, k -> new LongOpenHashSet()).add(rootKey);
+        }
+        return tree;
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos pos) {
+        if(treesByRoot.isEmpty()) return;
+        // the tree search looks one block around every tree block
+        final var minChunkX = ChunkSectionPos.getSectionCoord(pos.getX() - 1);
+        final var maxChunkX = ChunkSectionPos.getSectionCoord(pos.getX() + 1);
+        final var minChunkZ = ChunkSectionPos.getSectionCoord(pos.getZ() - 1);
+        final var maxChunkZ = ChunkSectionPos.getSectionCoord(pos.getZ() + 1);
+        for(int x = minChunkX; x <= maxChunkX; x++)
+            for(int z = minChunkZ; z <= maxChunkZ; z++)
+                invalidateChunk(ChunkPos.toLong(x, z));
+    }
+
+    @Override
+    public void onChunkUnloaded(ChunkPos pos) {
+        invalidateChunk(pos.toLong());
+    }
+
+    public void clear() {
+        treesByRoot.clear();
+        rootsByChunk.clear();
+    }
+
+    private void invalidateChunk(long chunk) {
+        final var roots = rootsByChunk.remove(chunk);
+        if(roots == null) return;
+        for(long root : roots) {
+            treesByRoot.remove(root);
+        }
+    }
+
+}
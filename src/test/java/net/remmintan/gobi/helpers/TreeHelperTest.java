@@ -0,0 +1,133 @@
+package net.remmintan.gobi.helpers;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.minefortress.benchmarks.BenchmarkBootstrap;
+import org.minefortress.benchmarks.SyntheticBlockView;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeHelperTest {
+
+    private static final int GROUND_LEVEL = 64;
+    private static final int JUNGLE_TREE_HEIGHT = 24;
+    // checkIfTree() looks at 5x5 layers up to 32 blocks high
+    private static final int TREE_CHECK_LOOKUPS = 5 * 5 * 32;
+
+    @BeforeAll
+    static void bootstrap() {
+        BenchmarkBootstrap.initialize();
+    }
+
+    @Test
+    void detectsTheWholeJungleTree() {
+        final var world = new SyntheticBlockView();
+        final var root = new BlockPos(0, GROUND_LEVEL, 0);
+        world.fill(new BlockPos(-16, GROUND_LEVEL - 1, -16), new BlockPos(16, GROUND_LEVEL - 1, 16), Blocks.GRASS_BLOCK.getDefaultState());
+
+        final var top = GROUND_LEVEL + JUNGLE_TREE_HEIGHT - 1;
+        final var canopyStart = top - 3;
+        world.fill(new BlockPos(-5, canopyStart, -5), new BlockPos(6, top + 1, 6), Blocks.JUNGLE_LEAVES.getDefaultState());
+        final var expectedLogs = new HashSet<BlockPos>();
+        for(BlockPos pos : BlockPos.iterate(root, new BlockPos(1, top, 1))) {
+            world.setBlockState(pos, Blocks.JUNGLE_LOG.getDefaultState());
+            expectedLogs.add(pos.toImmutable());
+        }
+        final var expectedLeaves = new HashSet<BlockPos>();
+        for(BlockPos pos : BlockPos.iterate(-5, canopyStart, -5, 6, top + 1, 6)) {
+            if(!world.getBlockState(pos).isOf(Blocks.JUNGLE_LEAVES)) continue;
+            final var distanceSq = pos.getX() * pos.getX() + pos.getZ() * pos.getZ();
+            if(distanceSq <= TreeHelper.MAX_LEAVES_DISTANCE * TreeHelper.MAX_LEAVES_DISTANCE)
+                expectedLeaves.add(pos.toImmutable());
+        }
+        // the neighbouring tree must not be taken with the measured one
+        world.fill(new BlockPos(10, GROUND_LEVEL, 10), new BlockPos(10, top, 10), Blocks.JUNGLE_LOG.getDefaultState());
+
+        final var tree = TreeHelper.detectTreeBlocks(root, world).orElseThrow();
+
+        assertEquals(expectedLogs, Set.copyOf(tree.getTreeBlocks()));
+        assertEquals(expectedLogs.size(), tree.getTreeBlocks().size(), "every log is collected once");
+        assertEquals(expectedLeaves, Set.copyOf(tree.getLeavesBlocks()));
+        assertEquals(expectedLeaves.size(), tree.getLeavesBlocks().size(), "every leaf is collected once");
+    }
+
+    @Test
+    void notATreeWithoutLeaves() {
+        final var world = new SyntheticBlockView();
+        final var root = new BlockPos(0, GROUND_LEVEL, 0);
+        world.fill(root, new BlockPos(1, GROUND_LEVEL + JUNGLE_TREE_HEIGHT, 1), Blocks.JUNGLE_LOG.getDefaultState());
+
+        assertTrue(TreeHelper.detectTreeBlocks(root, world).isEmpty());
+    }
+
+    @Test
+    void hugeTreeSearchIsBounded() {
+        final var synthetic = new SyntheticBlockView();
+        final var root = new BlockPos(0, GROUND_LEVEL, 0);
+        // far more logs than a tree can have, all connected to the root
+        final var size = 24;
+        synthetic.fill(new BlockPos(-size, GROUND_LEVEL, -size), new BlockPos(size, GROUND_LEVEL + size, size), Blocks.JUNGLE_LOG.getDefaultState());
+        synthetic.fill(new BlockPos(-2, GROUND_LEVEL + size + 1, -2), new BlockPos(2, GROUND_LEVEL + size + 1, 2), Blocks.JUNGLE_LEAVES.getDefaultState());
+        final var world = new CountingBlockView(synthetic);
+
+        final var tree = TreeHelper.detectTreeBlocks(root, world).orElseThrow();
+
+        // a block of the queue adds at most its 18 neighbours before the size is checked again
+        final var neighbours = 3 * 2 * 3;
+        final var collected = tree.getTreeBlocks().size() + tree.getLeavesBlocks().size();
+        assertTrue(collected >= TreeHelper.MAX_TREE_BLOCKS, "the search stops only at the limit");
+        assertTrue(collected < TreeHelper.MAX_TREE_BLOCKS + neighbours, "collected " + collected + " blocks");
+        // every visited position is looked up exactly once, so the lookups bound the visited set
+        final var maxVisited = (long) collected * neighbours;
+        assertTrue(world.lookups <= TREE_CHECK_LOOKUPS + maxVisited, "looked up " + world.lookups + " blocks");
+    }
+
+    private static final class CountingBlockView implements BlockView {
+
+        private final BlockView delegate;
+        private long lookups = 0;
+
+        private CountingBlockView(BlockView delegate) {
+            this.delegate = delegate;
+        }
+
+        @Nullable
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return delegate.getBlockEntity(pos);
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            lookups++;
+            return delegate.getBlockState(pos);
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return delegate.getFluidState(pos);
+        }
+
+        @Override
+        public int getHeight() {
+            return delegate.getHeight();
+        }
+
+        @Override
+        public int getBottomY() {
+            return delegate.getBottomY();
+        }
+
+    }
+
+}